@@ -13,11 +13,14 @@ import io.cloudslang.lang.compiler.PrecompileStrategy;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.modeller.model.Metadata;
 import io.cloudslang.lang.compiler.modeller.result.CompilationModellingResult;
+import io.cloudslang.lang.compiler.modeller.result.SystemPropertyModellingResult;
 import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.entities.SensitivityLevel;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.score.events.ScoreEventListener;
+import java.io.File;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -52,6 +55,32 @@ public interface Slang {
             Set<SlangSource> dependencies,
             PrecompileStrategy precompileStrategy);
 
+    /**
+     * Compile a CloudSlang source together with the dependencies it references, directly or through other
+     * dependencies. The other sources of the dependencies are not compiled.
+     *
+     * @param source the CloudSlang source file
+     * @param dependencies  a set of CloudSlang sources to look for the source dependencies in
+     * @param precompileStrategy with / without cache
+     * @return the model (may be partially correct) and the accumulated errors
+     */
+    CompilationModellingResult compileReferencedSource(
+            SlangSource source,
+            Set<SlangSource> dependencies,
+            PrecompileStrategy precompileStrategy);
+
+    /**
+     * Compile all the CloudSlang sources of a repository, every source using the whole repository as its path.
+     * Every source is pre-compiled once and every dependency is compiled to an execution plan once.
+     *
+     * @param sources the CloudSlang sources of the repository
+     * @param precompileStrategy with / without cache
+     * @return the model (may be partially correct) and the accumulated errors of every source
+     */
+    Map<SlangSource, CompilationModellingResult> compileSources(
+            Set<SlangSource> sources,
+            PrecompileStrategy precompileStrategy);
+
     /**
      * Extract the metadata of a flow or operation written in CloudSlang
      *
@@ -153,4 +182,28 @@ public interface Slang {
 
     Set<SystemProperty> loadSystemProperties(SlangSource source);
 
+    /**
+     * Load the system properties of several CloudSlang sources
+     *
+     * @param sources the system properties sources
+     * @return the system properties and the accumulated errors of every source, in the order of the given sources
+     */
+    List<SystemPropertyModellingResult> loadSystemPropertiesFromSources(List<SlangSource> sources);
+
+    /**
+     * Save a compiled artifact, so it can be loaded and run later without its sources
+     *
+     * @param compilationArtifact the compiled artifact of the flow or operation
+     * @param file                the file to save the artifact to
+     */
+    void saveArtifact(CompilationArtifact compilationArtifact, File file);
+
+    /**
+     * Load a compiled artifact saved by {@link #saveArtifact(CompilationArtifact, File)}
+     *
+     * @param file the file the artifact was saved to
+     * @return the compiled artifact of the flow or operation
+     */
+    CompilationArtifact loadArtifact(File file);
+
 }
@@ -15,7 +15,9 @@ import io.cloudslang.lang.compiler.SlangCompiler;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.modeller.model.Metadata;
 import io.cloudslang.lang.compiler.modeller.result.CompilationModellingResult;
+import io.cloudslang.lang.compiler.modeller.result.SystemPropertyModellingResult;
 import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.lang.entities.CompilationArtifactFormat;
 import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.SensitivityLevel;
 import io.cloudslang.lang.entities.SystemProperty;
@@ -26,9 +28,18 @@ import io.cloudslang.score.api.TriggeringProperties;
 import io.cloudslang.score.events.EventBus;
 import io.cloudslang.score.events.EventConstants;
 import io.cloudslang.score.events.ScoreEventListener;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.apache.commons.lang.Validate;
@@ -126,6 +137,39 @@ public class SlangImpl implements Slang {
         }
     }
 
+    @Override
+    public CompilationModellingResult compileReferencedSource(
+            SlangSource source,
+            Set<SlangSource> dependencies,
+            PrecompileStrategy precompileStrategy) {
+        Validate.notNull(source, "Source can not be null");
+        Validate.notNull(precompileStrategy, "Pre-compile strategy can not be null");
+        Set<SlangSource> dependencySources = filterOutNullSources(dependencies);
+
+        try {
+            return compiler.compileReferencedSource(source, dependencySources, precompileStrategy);
+        } catch (Exception e) {
+            logger.error("Failed compilation for source : " + source.getName() + " ,Exception is : " + e.getMessage());
+            throw new RuntimeException("Failed compilation for source : " + source.getName() +
+                    " ,Exception is : " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<SlangSource, CompilationModellingResult> compileSources(
+            Set<SlangSource> sources,
+            PrecompileStrategy precompileStrategy) {
+        Validate.notNull(precompileStrategy, "Pre-compile strategy can not be null");
+        Set<SlangSource> repositorySources = filterOutNullSources(sources);
+
+        try {
+            return compiler.compileSources(repositorySources, precompileStrategy);
+        } catch (Exception e) {
+            logger.error("Failed compilation for sources, Exception is : " + e.getMessage());
+            throw new RuntimeException("Failed compilation for sources, Exception is : " + e.getMessage(), e);
+        }
+    }
+
     private Set<SlangSource> filterOutNullSources(Set<SlangSource> dependencies) {
         Set<SlangSource> dependencySources = new HashSet<>();
         if (dependencies != null) {
@@ -202,6 +246,36 @@ public class SlangImpl implements Slang {
         return compiler.loadSystemProperties(source);
     }
 
+    @Override
+    public List<SystemPropertyModellingResult> loadSystemPropertiesFromSources(List<SlangSource> sources) {
+        Validate.notNull(sources, "Sources can not be null");
+        Validate.noNullElements(sources, "Source can not be null");
+        return compiler.loadSystemPropertiesFromSources(sources);
+    }
+
+    @Override
+    public void saveArtifact(CompilationArtifact compilationArtifact, File file) {
+        Validate.notNull(compilationArtifact, "Compilation artifact can not be null");
+        Validate.notNull(file, "File can not be null");
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            CompilationArtifactFormat.write(compilationArtifact, out);
+        } catch (IOException e) {
+            logger.error("Failed saving compilation artifact to : " + file + " ,Exception is : " + e.getMessage());
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public CompilationArtifact loadArtifact(File file) {
+        Validate.notNull(file, "File can not be null");
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            return CompilationArtifactFormat.read(in);
+        } catch (IOException e) {
+            logger.error("Failed loading compilation artifact from : " + file + " ,Exception is : " + e.getMessage());
+            throw new RuntimeException(e);
+        }
+    }
+
     private Set<String> getAllEventTypes() {
         Set<String> eventTypes = new HashSet<>();
         eventTypes.add(EventConstants.SCORE_FINISHED_EVENT);
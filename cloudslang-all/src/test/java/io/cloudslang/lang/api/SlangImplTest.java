@@ -235,6 +235,23 @@ public class SlangImplTest {
 
     // tests for subscribeOnEvents() method
 
+    @Test
+    public void testSaveAndLoadArtifact() throws IOException {
+        File artifactFile = File.createTempFile("artifact", ".slc");
+        artifactFile.deleteOnExit();
+        slang.saveArtifact(emptyCompilationArtifact, artifactFile);
+        CompilationArtifact compilationArtifact = slang.loadArtifact(artifactFile);
+        Assert.assertEquals(emptyCompilationArtifact.getInputs(), compilationArtifact.getInputs());
+        Assert.assertEquals(emptyCompilationArtifact.getSystemProperties(), compilationArtifact.getSystemProperties());
+        Assert.assertNotNull(compilationArtifact.getExecutionPlan());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testLoadArtifactFromNonArtifactFile() throws IOException {
+        SlangSource tempFile = createTempFile();
+        slang.loadArtifact(new File(tempFile.getFilePath()));
+    }
+
     @Test
     public void testSubscribeOnEventsWithListener() {
         ScoreEventListener eventListener = new EventListener();
@@ -19,8 +19,10 @@ import io.cloudslang.lang.compiler.modeller.result.CompilationModellingResult;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.IOFileFilter;
@@ -45,18 +47,25 @@ public class SlangCompilationServiceImpl implements SlangCompilationService {
         List<CompilationModellingResult> results = new ArrayList<>();
         try {
             Set<SlangSource> dependencySources = getSourcesFromFolders(foldersPaths);
+            Map<SlangSource, File> files = new HashMap<>();
             for (SlangSource dependencySource : dependencySources) {
                 File file = getFile(dependencySource.getFilePath());
                 compilationHelper.onEveryFile(file);
-                try {
-                    CompilationModellingResult result =
-                            slang.compileSource(dependencySource, dependencySources, PrecompileStrategy.WITH_CACHE);
-                    result.setFile(file);
-                    results.add(result);
-                } catch (Exception e) {
-                    logger.error("Failed compilation for file : " + file.getName() +
-                            " ,Exception is : " + e.getMessage());
-                }
+                files.put(dependencySource, file);
+            }
+            // the whole repository is compiled at once, so every dependency is modelled and planned only once
+            Map<SlangSource, CompilationModellingResult> compiledSources;
+            try {
+                compiledSources = slang.compileSources(dependencySources, PrecompileStrategy.WITH_CACHE);
+            } catch (Exception e) {
+                logger.error("Failed compilation for folders : " + foldersPaths +
+                        " ,Exception is : " + e.getMessage() + ". Compiling every file separately");
+                compiledSources = compileEverySource(dependencySources, files);
+            }
+            for (Map.Entry<SlangSource, CompilationModellingResult> entry : compiledSources.entrySet()) {
+                CompilationModellingResult result = entry.getValue();
+                result.setFile(files.get(entry.getKey()));
+                results.add(result);
             }
         } finally {
             compilationHelper.onCompilationFinish();
@@ -65,6 +74,21 @@ public class SlangCompilationServiceImpl implements SlangCompilationService {
         return results;
     }
 
+    private Map<SlangSource, CompilationModellingResult> compileEverySource(Set<SlangSource> dependencySources,
+                                                                            Map<SlangSource, File> files) {
+        Map<SlangSource, CompilationModellingResult> compiledSources = new HashMap<>();
+        for (SlangSource dependencySource : dependencySources) {
+            try {
+                compiledSources.put(dependencySource,
+                        slang.compileSource(dependencySource, dependencySources, PrecompileStrategy.WITH_CACHE));
+            } catch (Exception e) {
+                logger.error("Failed compilation for file : " + files.get(dependencySource).getName() +
+                        " ,Exception is : " + e.getMessage());
+            }
+        }
+        return compiledSources;
+    }
+
     @Override
     public File getFile(final String filePath) {
         Validate.notNull(filePath, "File path can not be null");
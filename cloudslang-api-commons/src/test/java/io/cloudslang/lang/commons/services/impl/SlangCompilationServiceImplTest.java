@@ -14,15 +14,20 @@ import io.cloudslang.lang.commons.services.api.CompilationHelper;
 import io.cloudslang.lang.commons.services.api.SlangCompilationService;
 import io.cloudslang.lang.compiler.PrecompileStrategy;
 import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.modeller.result.CompilationModellingResult;
 import java.io.File;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -30,12 +35,16 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration(classes = SlangCompilationServiceImplTest.Config.class)
@@ -50,6 +59,11 @@ public class SlangCompilationServiceImplTest {
     @Autowired
     private Slang slang;
 
+    @Before
+    public void setUp() {
+        reset(slang, compilationHelper);
+    }
+
     @Test
     public void testLoadInputsFromFile() throws URISyntaxException {
         File folder = new File(getClass().getResource("/executables").toURI().getPath());
@@ -79,12 +93,45 @@ public class SlangCompilationServiceImplTest {
         inOrderHelper.verifyNoMoreInteractions();
 
         InOrder inOrder = inOrder(slang);
-        inOrder.verify(slang, atLeastOnce()).compileSource(
-                any(SlangSource.class), any(Set.class), eq(PrecompileStrategy.WITH_CACHE));
+        inOrder.verify(slang).compileSources(any(Set.class), eq(PrecompileStrategy.WITH_CACHE));
         inOrder.verify(slang).invalidateAllInPreCompileCache();
         inOrder.verifyNoMoreInteractions();
     }
 
+    @Test
+    public void testCompileFoldersFallsBackToEveryFile() throws Exception {
+        List<String> folders = new ArrayList<>();
+        folders.add(getClass().getResource("/executables").toURI().getPath());
+        when(slang.compileSources(any(Set.class), eq(PrecompileStrategy.WITH_CACHE)))
+                .thenThrow(new RuntimeException("batch failure"));
+        final File failingFile = new File(getClass().getResource("/executables/dir3/flow.sl").toURI())
+                .getCanonicalFile();
+        when(slang.compileSource(any(SlangSource.class), any(Set.class), eq(PrecompileStrategy.WITH_CACHE)))
+                .thenAnswer(new Answer<CompilationModellingResult>() {
+                    @Override
+                    public CompilationModellingResult answer(InvocationOnMock invocation) {
+                        SlangSource source = (SlangSource) invocation.getArguments()[0];
+                        if (new File(source.getFilePath()).equals(failingFile)) {
+                            throw new RuntimeException("file failure");
+                        }
+                        return new CompilationModellingResult(null, new ArrayList<RuntimeException>());
+                    }
+                });
+
+        List<CompilationModellingResult> results = slangCompilationService.compileFolders(folders, compilationHelper);
+
+        assertEquals(3, results.size());
+        Set<File> compiledFiles = new HashSet<>();
+        for (CompilationModellingResult result : results) {
+            compiledFiles.add(result.getFile());
+        }
+        assertEquals(3, compiledFiles.size());
+        assertFalse(compiledFiles.contains(failingFile));
+        verify(slang, times(4)).compileSource(any(SlangSource.class), any(Set.class),
+                eq(PrecompileStrategy.WITH_CACHE));
+        verify(compilationHelper).onCompilationFinish();
+    }
+
     @Configuration
     static class Config {
 
@@ -15,8 +15,10 @@ import io.cloudslang.lang.commons.services.api.CompilationHelper;
 import io.cloudslang.lang.commons.services.api.SlangCompilationService;
 import io.cloudslang.lang.commons.services.api.SlangSourceService;
 import io.cloudslang.lang.compiler.Extension;
+import io.cloudslang.lang.compiler.PrecompileStrategy;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.modeller.result.CompilationModellingResult;
+import io.cloudslang.lang.compiler.modeller.result.SystemPropertyModellingResult;
 import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.values.Value;
@@ -73,12 +75,19 @@ public class CompilerHelperImpl implements CompilerHelper {
     @Autowired
     private SlangCompilationService slangCompilationService;
 
+    @Autowired
+    private SlangSourceIndex slangSourceIndex;
+
     @Override
     public CompilationArtifact compile(String filePath, List<String> dependencies) {
         File file = slangCompilationService.getFile(filePath);
 
         try {
-            return slang.compile(SlangSource.fromFile(file), getDependencySources(dependencies, file));
+            CompilationModellingResult result = compileReferencedSource(file, dependencies);
+            if (!result.getErrors().isEmpty()) {
+                throw result.getErrors().get(0);
+            }
+            return result.getCompilationArtifact();
         } catch (Exception e) {
             handleException(file, e);
             return null;
@@ -89,13 +98,22 @@ public class CompilerHelperImpl implements CompilerHelper {
     public CompilationModellingResult compileSource(String filePath, List<String> dependencies) {
         File file = slangCompilationService.getFile(filePath);
         try {
-            return slang.compileSource(SlangSource.fromFile(file), getDependencySources(dependencies, file));
+            return compileReferencedSource(file, dependencies);
         } catch (Exception e) {
             handleException(file, e);
             return null;
         }
     }
 
+    /**
+     * Only the dependencies the file references are compiled, and the sources unchanged since an earlier command
+     * of the session are answered from the precompile cache.
+     */
+    private CompilationModellingResult compileReferencedSource(File file, List<String> dependencies) {
+        return slang.compileReferencedSource(slangSourceIndex.getSource(file),
+                getDependencySources(dependencies, file), PrecompileStrategy.WITH_CACHE);
+    }
+
     private void handleException(File file, Exception e) {
         logger.error("Failed compilation for file : " + file.getName() + " ,Exception is : " + e.getMessage());
         throw new RuntimeException("Failed compilation for file : " + file.getName() +
@@ -123,7 +141,7 @@ public class CompilerHelperImpl implements CompilerHelper {
 
     private Set<SlangSource> getDependencySources(List<String> dependencies, File file) {
         dependencies = getDependenciesIfEmpty(dependencies, file);
-        return slangCompilationService.getSourcesFromFolders(dependencies);
+        return slangSourceIndex.getSourcesFromFolders(dependencies);
     }
 
     private List<String> getDependenciesIfEmpty(List<String> dependencies, File file) {
@@ -194,22 +212,41 @@ public class CompilerHelperImpl implements CompilerHelper {
                 Extension.validatePropertiesFileExtension(propertyFileCandidate.getName());
             }
         }
+        List<File> propFiles = new ArrayList<>(fileCollection);
+        List<SlangSource> sources = new ArrayList<>(propFiles.size());
+        for (File propFile : propFiles) {
+            try {
+                sources.add(SlangSource.fromFile(propFile));
+            } catch (Throwable ex) {
+                throw propertiesFileLoadingError(propFile, ex);
+            }
+        }
+
+        // all the files are loaded at once, so the compiler can process them in parallel
+        List<SystemPropertyModellingResult> results = slang.loadSystemPropertiesFromSources(sources);
         Map<File, Set<SystemProperty>> loadedProperties = new HashMap<>();
-        for (File propFile : fileCollection) {
+        for (int i = 0; i < propFiles.size(); i++) {
+            File propFile = propFiles.get(i);
             try {
-                SlangSource source = SlangSource.fromFile(propFile);
                 logger.info("Loading file: " + propFile);
-                Set<SystemProperty> propsFromFile = slang.loadSystemProperties(source);
-                mergeSystemProperties(loadedProperties, propsFromFile, propFile);
+                SystemPropertyModellingResult result = results.get(i);
+                if (!result.getErrors().isEmpty()) {
+                    throw result.getErrors().get(0);
+                }
+                mergeSystemProperties(loadedProperties, result.getSystemProperties(), propFile);
             } catch (Throwable ex) {
-                String errorMessage = "Error loading file: " + propFile + " nested exception is " + ex.getMessage();
-                logger.error(errorMessage, ex);
-                throw new RuntimeException(errorMessage, ex);
+                throw propertiesFileLoadingError(propFile, ex);
             }
         }
         return SetUtils.mergeSets(loadedProperties.values());
     }
 
+    private RuntimeException propertiesFileLoadingError(File propFile, Throwable ex) {
+        String errorMessage = "Error loading file: " + propFile + " nested exception is " + ex.getMessage();
+        logger.error(errorMessage, ex);
+        return new RuntimeException(errorMessage, ex);
+    }
+
     private void mergeSystemProperties(
             Map<File, Set<SystemProperty>> target,
             Set<SystemProperty> propertiesFromFile,
@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.cli.utils;
+
+import io.cloudslang.lang.compiler.SlangSource;
+
+import java.io.File;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Index of the CloudSlang files used by the commands of a CLI session.
+ * <p>
+ * Folders are scanned once, later commands only check the size and modification time of the indexed files and
+ * list again the directories that changed. The sources are read lazily, so a source the precompile cache still
+ * holds is not read again.
+ */
+public interface SlangSourceIndex {
+
+    /**
+     * @param file a CloudSlang file
+     * @return the source of the file, the same instance as long as the file is not changed
+     */
+    SlangSource getSource(File file);
+
+    /**
+     * @param folders paths of the folders to look for CloudSlang files in, recursively
+     * @return the sources of the CloudSlang files of the folders
+     */
+    Set<SlangSource> getSourcesFromFolders(List<String> folders);
+
+}
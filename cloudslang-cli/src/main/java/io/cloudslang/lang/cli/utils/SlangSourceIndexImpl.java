@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.cli.utils;
+
+import io.cloudslang.lang.compiler.Extension;
+import io.cloudslang.lang.compiler.SlangSource;
+import org.apache.commons.lang3.Validate;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.cloudslang.lang.commons.services.api.SlangCompilationService.INVALID_DIRECTORY_ERROR_MESSAGE_SUFFIX;
+
+@Component
+public class SlangSourceIndexImpl implements SlangSourceIndex {
+
+    /**
+     * indexed files by absolute path
+     */
+    private final Map<String, IndexedFile> files = new HashMap<>();
+
+    /**
+     * indexed directories by absolute path
+     */
+    private final Map<String, IndexedDirectory> directories = new HashMap<>();
+
+    @Override
+    public synchronized SlangSource getSource(File file) {
+        Validate.notNull(file, "File cannot be null");
+        String absolutePath = file.getAbsolutePath();
+        long length = file.length();
+        long lastModified = file.lastModified();
+
+        IndexedFile indexedFile = files.get(absolutePath);
+        if (indexedFile == null || !indexedFile.isUnchanged(length, lastModified)) {
+            String canonicalPath = indexedFile == null ? getCanonicalPath(file) : indexedFile.canonicalPath;
+            indexedFile = new IndexedFile(canonicalPath, length, lastModified,
+                    SlangSource.fromFileLazily(file, canonicalPath, length, lastModified));
+            files.put(absolutePath, indexedFile);
+        }
+        return indexedFile.source;
+    }
+
+    @Override
+    public synchronized Set<SlangSource> getSourcesFromFolders(List<String> folders) {
+        Set<SlangSource> sources = new HashSet<>();
+        for (String folder : folders) {
+            File directory = new File(folder);
+            Validate.isTrue(directory.isDirectory(), "Parameter '" + directory.getPath() +
+                    INVALID_DIRECTORY_ERROR_MESSAGE_SUFFIX);
+            collectSources(directory, sources);
+        }
+        return sources;
+    }
+
+    private void collectSources(File directory, Set<SlangSource> sources) {
+        IndexedDirectory indexedDirectory = getDirectory(directory);
+        for (File slangFile : indexedDirectory.slangFiles) {
+            sources.add(getSource(slangFile));
+        }
+        for (File subdirectory : indexedDirectory.subdirectories) {
+            collectSources(subdirectory, sources);
+        }
+    }
+
+    /**
+     * A directory is listed again only when its modification time changed, which happens when one of its entries
+     * is added, removed or renamed.
+     */
+    private IndexedDirectory getDirectory(File directory) {
+        String absolutePath = directory.getAbsolutePath();
+        long lastModified = directory.lastModified();
+        IndexedDirectory indexedDirectory = directories.get(absolutePath);
+        if (indexedDirectory != null && indexedDirectory.lastModified == lastModified) {
+            return indexedDirectory;
+        }
+
+        List<File> slangFiles = new ArrayList<>();
+        List<File> subdirectories = new ArrayList<>();
+        File[] entries = directory.listFiles();
+        if (entries != null) {
+            for (File entry : entries) {
+                if (entry.isDirectory()) {
+                    subdirectories.add(entry);
+                } else if (Extension.SL == Extension.findExtension(entry.getName())) {
+                    slangFiles.add(entry);
+                }
+            }
+        }
+        if (indexedDirectory != null) {
+            for (File removedFile : indexedDirectory.slangFiles) {
+                if (!slangFiles.contains(removedFile)) {
+                    files.remove(removedFile.getAbsolutePath());
+                }
+            }
+        }
+        indexedDirectory = new IndexedDirectory(lastModified, slangFiles, subdirectories);
+        directories.put(absolutePath, indexedDirectory);
+        return indexedDirectory;
+    }
+
+    private String getCanonicalPath(File file) {
+        try {
+            return file.getCanonicalPath();
+        } catch (IOException e) {
+            throw new RuntimeException("There was a problem reading the file path for: " + file.getName(), e);
+        }
+    }
+
+    private static class IndexedFile {
+
+        private final String canonicalPath;
+        private final long length;
+        private final long lastModified;
+        private final SlangSource source;
+
+        IndexedFile(String canonicalPath, long length, long lastModified, SlangSource source) {
+            this.canonicalPath = canonicalPath;
+            this.length = length;
+            this.lastModified = lastModified;
+            this.source = source;
+        }
+
+        boolean isUnchanged(long currentLength, long currentLastModified) {
+            return length == currentLength && lastModified == currentLastModified;
+        }
+    }
+
+    private static class IndexedDirectory {
+
+        private final long lastModified;
+        private final List<File> slangFiles;
+        private final List<File> subdirectories;
+
+        IndexedDirectory(long lastModified, List<File> slangFiles, List<File> subdirectories) {
+            this.lastModified = lastModified;
+            this.slangFiles = slangFiles;
+            this.subdirectories = subdirectories;
+        }
+    }
+}
@@ -20,6 +20,8 @@ import io.cloudslang.lang.commons.services.impl.SlangCompilationServiceImpl;
 import io.cloudslang.lang.commons.services.impl.SlangSourceServiceImpl;
 import io.cloudslang.lang.compiler.PrecompileStrategy;
 import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.modeller.result.CompilationModellingResult;
+import io.cloudslang.lang.compiler.modeller.result.SystemPropertyModellingResult;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.entities.encryption.DummyEncryptor;
@@ -56,6 +58,8 @@ import static com.google.common.collect.Sets.newHashSet;
 import static io.cloudslang.lang.commons.services.api.SlangCompilationService.INVALID_DIRECTORY_ERROR_MESSAGE_SUFFIX;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anySetOf;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
@@ -95,6 +99,9 @@ public class CompilerHelperTest {
     @Before
     public void resetMocks() {
         reset(slang);
+        when(slang.compileReferencedSource(any(SlangSource.class), anySetOf(SlangSource.class),
+                any(PrecompileStrategy.class)))
+                .thenReturn(new CompilationModellingResult(null, new ArrayList<RuntimeException>()));
     }
 
     @Test
@@ -113,12 +120,13 @@ public class CompilerHelperTest {
         final URI opPath = getClass().getResource("/executables/dir3/dir3_1/test_op.sl").toURI();
         compilerHelper.compile(flowPath.getPath(), null);
         InOrder inOrder = inOrder(slang);
-        inOrder.verify(slang).compile(
+        inOrder.verify(slang).compileReferencedSource(
                 SlangSource.fromFile(flowPath),
                 newHashSet(
                         SlangSource.fromFile(opPath),
                         SlangSource.fromFile(flowPath)
-                )
+                ),
+                PrecompileStrategy.WITH_CACHE
         );
         inOrder.verifyNoMoreInteractions();
     }
@@ -164,8 +172,8 @@ public class CompilerHelperTest {
         final URI flow2FilePath = getClass().getResource("/executables/dir1/flow2.sl").toURI();
         compilerHelper.compile(flowFilePath.getPath(), Lists.newArrayList(folderPath.getPath()));
         InOrder inOrder = inOrder(slang);
-        inOrder.verify(slang).compile(SlangSource.fromFile(flowFilePath),
-                newHashSet(SlangSource.fromFile(flow2FilePath)));
+        inOrder.verify(slang).compileReferencedSource(SlangSource.fromFile(flowFilePath),
+                newHashSet(SlangSource.fromFile(flow2FilePath)), PrecompileStrategy.WITH_CACHE);
         inOrder.verifyNoMoreInteractions();
     }
 
@@ -179,12 +187,13 @@ public class CompilerHelperTest {
                 .getResource("/mixed_sl_files/configuration/properties/executables/test_op.sl").toURI();
         compilerHelper.compile(flowFilePath.getPath(), Lists.newArrayList(folderPath.getPath()));
         InOrder inOrder = inOrder(slang);
-        inOrder.verify(slang).compile(
+        inOrder.verify(slang).compileReferencedSource(
                 SlangSource.fromFile(flowFilePath),
                 newHashSet(
                         SlangSource.fromFile(dependency1),
                         SlangSource.fromFile(dependency2)
-                )
+                ),
+                PrecompileStrategy.WITH_CACHE
         );
         inOrder.verifyNoMoreInteractions();
     }
@@ -200,9 +209,10 @@ public class CompilerHelperTest {
                 .getResource("/executables/dir2/flowprop.sl").toURI();
         compilerHelper.compile(flowFilePath.getPath(), Lists.newArrayList(folderPath.getPath()));
         InOrder inOrder = inOrder(slang);
-        inOrder.verify(slang).compile(
+        inOrder.verify(slang).compileReferencedSource(
                 SlangSource.fromFile(flowFilePath),
-                newHashSet(SlangSource.fromFile(flow2FilePath))
+                newHashSet(SlangSource.fromFile(flow2FilePath)),
+                PrecompileStrategy.WITH_CACHE
         );
         inOrder.verifyNoMoreInteractions();
     }
@@ -237,11 +247,14 @@ public class CompilerHelperTest {
                         new SystemProperty("user.sys", "props.alla", "balla", ""));
         final URI systemPropertyUri = getClass().getResource("/properties/system_properties.prop.sl").toURI();
         final SlangSource source = SlangSource.fromFile(systemPropertyUri);
-        when(slang.loadSystemProperties(eq(source))).thenReturn(systemProperties);
+        Map<SlangSource, Set<SystemProperty>> propertiesBySource = new HashMap<>();
+        propertiesBySource.put(source, systemProperties);
+        mockLoadSystemProperties(propertiesBySource);
 
-        compilerHelper.loadSystemProperties(Collections.singletonList(systemPropertyUri.getPath()));
+        Assert.assertEquals(systemProperties,
+                compilerHelper.loadSystemProperties(Collections.singletonList(systemPropertyUri.getPath())));
 
-        verify(slang).loadSystemProperties(eq(source));
+        verify(slang).loadSystemPropertiesFromSources(eq(Collections.singletonList(source)));
     }
 
     @Test
@@ -252,8 +265,10 @@ public class CompilerHelperTest {
                 newHashSet(new SystemProperty("user.sys", "props.host", "localhost", ""));
         Set<SystemProperty> systemProperties2 =
                 newHashSet(new SystemProperty("user.SYS", "props.host", "localhost", ""));
-        when(slang.loadSystemProperties(eq(SlangSource.fromFile(props1)))).thenReturn(systemProperties1);
-        when(slang.loadSystemProperties(eq(SlangSource.fromFile(props2)))).thenReturn(systemProperties2);
+        Map<SlangSource, Set<SystemProperty>> propertiesBySource = new HashMap<>();
+        propertiesBySource.put(SlangSource.fromFile(props1), systemProperties1);
+        propertiesBySource.put(SlangSource.fromFile(props2), systemProperties2);
+        mockLoadSystemProperties(propertiesBySource);
 
         RuntimeException exception = assertThrows(RuntimeException.class, () ->
                 compilerHelper.loadSystemProperties(Lists.newArrayList(props1.getPath(), props2.getPath())));
@@ -266,13 +281,15 @@ public class CompilerHelperTest {
         final String initialValue = System.getProperty(APP_HOME, "");
         String defaultDirPath = getClass().getResource("/mixed_sl_files/").getPath();
         System.setProperty(APP_HOME, defaultDirPath);
+        mockLoadSystemProperties(Collections.<SlangSource, Set<SystemProperty>>emptyMap());
 
         compilerHelper.loadSystemProperties(Collections.<String>emptyList());
 
-        ArgumentCaptor<SlangSource> sourceCaptor = ArgumentCaptor.forClass(SlangSource.class);
-        verify(slang, times((2))).loadSystemProperties(sourceCaptor.capture());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SlangSource>> sourcesCaptor = ArgumentCaptor.forClass((Class) List.class);
+        verify(slang).loadSystemPropertiesFromSources(sourcesCaptor.capture());
 
-        Set<SlangSource> capturedSources = new HashSet<>(sourceCaptor.getAllValues());
+        Set<SlangSource> capturedSources = new HashSet<>(sourcesCaptor.getValue());
         Set<SlangSource> expectedSources = newHashSet(
                 SlangSource.fromFile(getClass()
                         .getResource("/mixed_sl_files/configuration/properties/properties/ubuntu.prop.sl").toURI()),
@@ -284,6 +301,21 @@ public class CompilerHelperTest {
         System.setProperty(APP_HOME, initialValue);
     }
 
+    private void mockLoadSystemProperties(final Map<SlangSource, Set<SystemProperty>> propertiesBySource) {
+        when(slang.loadSystemPropertiesFromSources(anyListOf(SlangSource.class))).thenAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            List<SlangSource> sources = (List<SlangSource>) invocation.getArguments()[0];
+            List<SystemPropertyModellingResult> results = new ArrayList<>();
+            for (SlangSource source : sources) {
+                Set<SystemProperty> systemProperties = propertiesBySource.get(source);
+                results.add(new SystemPropertyModellingResult(systemProperties == null ?
+                        Collections.<SystemProperty>emptySet() : systemProperties,
+                        new ArrayList<RuntimeException>()));
+            }
+            return results;
+        });
+    }
+
     @Test
     public void testLoadInputsFromFile() throws Exception {
         Map<String, Serializable> expected = new HashMap<>();
@@ -379,6 +411,11 @@ public class CompilerHelperTest {
             return new SlangCompilationServiceImpl();
         }
 
+        @Bean
+        public SlangSourceIndex slangSourceIndex() {
+            return new SlangSourceIndexImpl();
+        }
+
     }
 
     private Matcher<String> containsIgnoreCase(final String element) {
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.cli.utils;
+
+import io.cloudslang.lang.compiler.SlangSource;
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class SlangSourceIndexImplTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SlangSourceIndex slangSourceIndex;
+
+    private File flowFile;
+
+    private File opFile;
+
+    @Before
+    public void setUp() throws Exception {
+        slangSourceIndex = new SlangSourceIndexImpl();
+        flowFile = folder.newFile("flow.sl");
+        FileUtils.writeStringToFile(flowFile, "namespace: user.flows");
+        File opsFolder = folder.newFolder("ops");
+        opFile = new File(opsFolder, "op.sl");
+        FileUtils.writeStringToFile(opFile, "namespace: user.ops");
+        FileUtils.writeStringToFile(new File(opsFolder, "inputs.yaml"), "host: localhost");
+    }
+
+    @Test
+    public void testUnchangedFilesKeepTheirSources() throws Exception {
+        List<String> folders = Collections.singletonList(folder.getRoot().getPath());
+        Set<SlangSource> sources = slangSourceIndex.getSourcesFromFolders(folders);
+
+        assertEquals(2, sources.size());
+        assertEquals(identitySet(sources), identitySet(slangSourceIndex.getSourcesFromFolders(folders)));
+        assertTrue(sources.contains(SlangSource.fromFile(opFile)));
+        assertSame(slangSourceIndex.getSource(flowFile), slangSourceIndex.getSource(flowFile));
+    }
+
+    @Test
+    public void testChangedFileGetsNewSource() throws Exception {
+        SlangSource source = slangSourceIndex.getSource(opFile);
+        FileUtils.writeStringToFile(opFile, "namespace: user.ops.changed");
+        opFile.setLastModified(opFile.lastModified() + 2000);
+
+        SlangSource changedSource = slangSourceIndex.getSource(opFile);
+
+        assertNotSame(source, changedSource);
+        assertEquals("namespace: user.ops.changed", changedSource.getContent());
+    }
+
+    @Test
+    public void testAddedAndRemovedFilesAreFound() throws Exception {
+        List<String> folders = Collections.singletonList(folder.getRoot().getPath());
+        slangSourceIndex.getSourcesFromFolders(folders);
+        File opsFolder = opFile.getParentFile();
+        File addedFile = new File(opsFolder, "added_op.sl");
+        FileUtils.writeStringToFile(addedFile, "namespace: user.ops");
+        FileUtils.forceDelete(opFile);
+        opsFolder.setLastModified(opsFolder.lastModified() + 2000);
+
+        Set<SlangSource> sources = slangSourceIndex.getSourcesFromFolders(folders);
+
+        assertEquals(2, sources.size());
+        assertTrue(sources.contains(SlangSource.fromFile(addedFile)));
+        assertTrue(sources.contains(SlangSource.fromFile(flowFile)));
+    }
+
+    @Test
+    public void testFileIsNotAFolder() throws Exception {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                slangSourceIndex.getSourcesFromFolders(Collections.singletonList(flowFile.getPath())));
+        assertTrue(exception.getMessage().endsWith("' is not a directory"));
+    }
+
+    private Set<Integer> identitySet(Set<SlangSource> sources) {
+        Set<Integer> identities = new HashSet<>();
+        for (SlangSource source : sources) {
+            identities.add(System.identityHashCode(source));
+        }
+        return identities;
+    }
+}
@@ -15,6 +15,7 @@ import io.cloudslang.lang.compiler.modeller.result.MetadataModellingResult;
 import io.cloudslang.lang.compiler.parser.MetadataParser;
 import io.cloudslang.lang.compiler.parser.model.ParsedDescriptionData;
 import io.cloudslang.lang.compiler.parser.utils.MetadataValidator;
+import io.cloudslang.lang.compiler.utils.SlangSourceUtils;
 import java.util.List;
 import org.apache.commons.lang.Validate;
 
@@ -48,9 +49,15 @@ public class MetadataExtractorImpl implements MetadataExtractor {
     public MetadataModellingResult extractMetadataModellingResult(
             SlangSource source,
             boolean shouldValidateCheckstyle) {
-        MetadataModellingResult metadataModellingResult = extractMetadataModellingResult(source);
+        validateSlangSource(source);
+        Validate.notNull(source.getContent(), "Source " + source.getName() + " cannot be null");
+        // the source is split into lines and parsed once for both the metadata and the checkstyle
+        List<String> lines = SlangSourceUtils.readLines(source);
+        ParsedDescriptionData parsedDescriptionData = metadataParser.parse(source, lines);
+        MetadataModellingResult metadataModellingResult = metadataModeller.createModel(parsedDescriptionData);
         if (shouldValidateCheckstyle) {
-            metadataModellingResult.getErrors().addAll(validateCheckstyle(source));
+            metadataModellingResult.getErrors()
+                    .addAll(metadataValidator.validateCheckstyle(source, lines, parsedDescriptionData));
         }
         return metadataModellingResult;
     }
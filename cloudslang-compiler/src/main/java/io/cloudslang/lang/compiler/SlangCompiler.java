@@ -17,6 +17,7 @@ import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.entities.SensitivityLevel;
 import io.cloudslang.lang.entities.SystemProperty;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public interface SlangCompiler {
@@ -73,6 +74,36 @@ public interface SlangCompiler {
             SlangSource source, Set<SlangSource> path,
             PrecompileStrategy precompileStrategy);
 
+    /**
+     * Compile a CloudSlang source and the sources of its path it references, directly or through its
+     *     dependencies, to a {@link io.cloudslang.lang.entities.CompilationArtifact} object.
+     * The references are matched with the sources declaring them by their namespace and file name, so the other
+     *     sources of the path are neither parsed nor validated.
+     *
+     * @param source the CloudSlang source file
+     * @param path   a set of CloudSlang sources containing the source dependencies, typically a whole repository
+     * @param precompileStrategy with / without cache
+     * @return the compiled {@link CompilationModellingResult} object, containing an compilation artifact, and a list
+     *     of all the errors that were found(if any).
+     */
+    CompilationModellingResult compileReferencedSource(
+            SlangSource source, Set<SlangSource> path,
+            PrecompileStrategy precompileStrategy);
+
+    /**
+     * Compile every CloudSlang source of a repository against all the other sources of the repository.
+     * Every source is pre-compiled once and the {@link io.cloudslang.score.api.ExecutionPlan} of every dependency
+     * is created once and shared by all the {@link io.cloudslang.lang.entities.CompilationArtifact}s requiring it.
+     *
+     * @param sources            the CloudSlang sources of the repository
+     * @param precompileStrategy with / without cache
+     * @return the {@link CompilationModellingResult} of every source, in the iteration order of the given sources.
+     *     Every result holds the errors that were found for its own source.
+     */
+    Map<SlangSource, CompilationModellingResult> compileSources(
+            Set<SlangSource> sources,
+            PrecompileStrategy precompileStrategy);
+
     /**
      * Pre-compile a CloudSlang source into an {@link io.cloudslang.lang.compiler.modeller.model.Executable}.
      * If an error is found, an exception is thrown
@@ -153,4 +184,14 @@ public interface SlangCompiler {
     Set<SystemProperty> loadSystemProperties(SlangSource source);
 
     SystemPropertyModellingResult loadSystemPropertiesFromSource(SlangSource source);
+
+    /**
+     * Load the system properties of several CloudSlang sources.
+     * The sources are processed in parallel when a precompile thread count is configured.
+     *
+     * @param sources the system properties sources
+     * @return the {@link SystemPropertyModellingResult} of every source, in the order of the given sources.
+     *     All errors that are found are collected in the result of their source (an exception is not thrown)
+     */
+    List<SystemPropertyModellingResult> loadSystemPropertiesFromSources(List<SlangSource> sources);
 }
@@ -9,6 +9,8 @@
  *******************************************************************************/
 package io.cloudslang.lang.compiler;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.cloudslang.lang.compiler.caching.CacheResult;
 import io.cloudslang.lang.compiler.caching.CacheValueState;
 import io.cloudslang.lang.compiler.caching.CachedPrecompileService;
@@ -21,6 +23,8 @@ import io.cloudslang.lang.compiler.modeller.result.SystemPropertyModellingResult
 import io.cloudslang.lang.compiler.parser.YamlParser;
 import io.cloudslang.lang.compiler.parser.model.ParsedSlang;
 import io.cloudslang.lang.compiler.scorecompiler.ScoreCompiler;
+import io.cloudslang.lang.compiler.utils.ExecutorUtils;
+import io.cloudslang.lang.compiler.utils.SlangSourceUtils;
 import io.cloudslang.lang.compiler.validator.CompileValidator;
 import io.cloudslang.lang.compiler.validator.SystemPropertyValidator;
 import io.cloudslang.lang.entities.CompilationArtifact;
@@ -32,14 +36,22 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang.Validate;
 import org.apache.commons.lang3.NotImplementedException;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 
 import static io.cloudslang.lang.compiler.SlangTextualKeys.SENSITIVE_KEY;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.VALUE_KEY;
@@ -49,6 +61,14 @@ import static io.cloudslang.lang.compiler.SlangTextualKeys.VALUE_KEY;
  */
 public class SlangCompilerImpl implements SlangCompiler {
 
+    /**
+     * Number of threads used to precompile the dependency sources of a compilation and to load system
+     * properties sources in bulk. Values lower than 2 keep the processing serial.
+     */
+    public static final String SLANG_PRECOMPILE_THREAD_COUNT = "slang.compiler.precompile.thread.count";
+
+    private static final String UNKNOWN_ID = "";
+
     public static final String NOT_A_VALID_SYSTEM_PROPERTY_FILE_ERROR_MESSAGE_SUFFIX =
             "is not a valid system property file.";
     public static final String ERROR_LOADING_PROPERTIES_FILE_MESSAGE =
@@ -76,6 +96,26 @@ public class SlangCompilerImpl implements SlangCompiler {
 
     private MetadataExtractor metadataExtractor;
 
+    private ExecutorService precompileExecutor;
+
+    /**
+     * ids declared by the sources of earlier compilations, so an unchanged source is not read again to index it
+     */
+    private final Cache<SlangSource, String> declaredIds = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    @PostConstruct
+    public void initializePrecompileExecutor() {
+        precompileExecutor = ExecutorUtils.newExecutor(SLANG_PRECOMPILE_THREAD_COUNT, "slang-precompile-%d");
+    }
+
+    @PreDestroy
+    public void destroy() {
+        ExecutorUtils.shutdown(precompileExecutor);
+        precompileExecutor = null;
+    }
+
     @Override
     public CompilationArtifact compile(SlangSource source, Set<SlangSource> dependencySources) {
         return compile(source, dependencySources, PrecompileStrategy.WITHOUT_CACHE);
@@ -127,25 +167,42 @@ public class SlangCompilerImpl implements SlangCompiler {
                                                                      SensitivityLevel sensitivityLevel) {
         ExecutableModellingResult executableModellingResult = preCompileSource(source, precompileStrategy,
                 sensitivityLevel);
-        List<RuntimeException> errors = executableModellingResult.getErrors();
 
         // we transform also all of the files in the given dependency sources to model objects
+        List<SlangSource> dependencySources = new ArrayList<>();
+        List<ExecutableModellingResult> dependencyResults = new ArrayList<>();
+        if (CollectionUtils.isNotEmpty(path)) {
+            dependencySources.addAll(path);
+            dependencyResults.addAll(processSources(dependencySources,
+                dependencySource -> preCompileSource(dependencySource, precompileStrategy, sensitivityLevel)));
+        }
+        return getCompilationModellingResult(source, executableModellingResult, dependencySources,
+                dependencyResults);
+    }
+
+    private CompilationModellingResult getCompilationModellingResult(
+            SlangSource source,
+            ExecutableModellingResult executableModellingResult,
+            List<SlangSource> dependencySources,
+            List<ExecutableModellingResult> dependencyResults) {
+        // copied, since a cached modelling result is shared with later compilations
+        List<RuntimeException> errors = new ArrayList<>(executableModellingResult.getErrors());
+
         Map<Executable, SlangSource> executablePairs = new HashMap<>();
         executablePairs.put(executableModellingResult.getExecutable(), source);
 
-        if (CollectionUtils.isNotEmpty(path)) {
-            for (SlangSource currentSource : path) {
-                ExecutableModellingResult result = preCompileSource(currentSource, precompileStrategy,
-                        sensitivityLevel);
-                Executable preCompiledCurrentSource = result.getExecutable();
-                errors.addAll(result.getErrors());
+        // results are merged in source order, so errors do not depend on the precompile mode
+        for (int i = 0; i < dependencySources.size(); i++) {
+            SlangSource currentSource = dependencySources.get(i);
+            ExecutableModellingResult result = dependencyResults.get(i);
+            Executable preCompiledCurrentSource = result.getExecutable();
+            errors.addAll(result.getErrors());
 
-                List<RuntimeException> validatorErrors = compileValidator
-                        .validateNoDuplicateExecutables(preCompiledCurrentSource, currentSource, executablePairs);
-                errors.addAll(validatorErrors);
+            List<RuntimeException> validatorErrors = compileValidator
+                    .validateNoDuplicateExecutables(preCompiledCurrentSource, currentSource, executablePairs);
+            errors.addAll(validatorErrors);
 
-                executablePairs.put(preCompiledCurrentSource, currentSource);
-            }
+            executablePairs.put(preCompiledCurrentSource, currentSource);
         }
 
         CompilationModellingResult result = scoreCompiler
@@ -154,6 +211,174 @@ public class SlangCompilerImpl implements SlangCompiler {
         return new CompilationModellingResult(result.getCompilationArtifact(), errors);
     }
 
+    @Override
+    public CompilationModellingResult compileReferencedSource(SlangSource source, Set<SlangSource> path,
+                                                              PrecompileStrategy precompileStrategy) {
+        ExecutableModellingResult executableModellingResult = preCompileSource(source, precompileStrategy);
+        Executable executable = executableModellingResult.getExecutable();
+
+        List<SlangSource> dependencySources = new ArrayList<>();
+        List<ExecutableModellingResult> dependencyResults = new ArrayList<>();
+        if (CollectionUtils.isNotEmpty(path) && executable != null) {
+            Function<SlangSource, ExecutableModellingResult> preCompiler =
+                dependencySource -> preCompileSource(dependencySource, precompileStrategy);
+            boolean allReferencesFound = loadReferencedSources(executable, source, path, preCompiler,
+                    dependencySources, dependencyResults);
+            if (!allReferencesFound) {
+                // a reference the index cannot match is looked for in the whole path, as by compileSource
+                Set<SlangSource> loadedSources = Collections.newSetFromMap(new IdentityHashMap<>());
+                loadedSources.addAll(dependencySources);
+                List<SlangSource> remainingSources = new ArrayList<>();
+                for (SlangSource dependencySource : path) {
+                    if (!loadedSources.contains(dependencySource)) {
+                        remainingSources.add(dependencySource);
+                    }
+                }
+                dependencyResults.addAll(processSources(remainingSources, preCompiler));
+                dependencySources.addAll(remainingSources);
+            }
+        }
+        return getCompilationModellingResult(source, executableModellingResult, dependencySources,
+                dependencyResults);
+    }
+
+    /**
+     * Pre-compiles the closure of the sources referenced by the executable, level by level. A reference is matched
+     * with the sources of the path declaring its id, found by the namespace line and the file name of the sources.
+     *
+     * @return false if a reference was not matched with any source of the path
+     */
+    private boolean loadReferencedSources(Executable executable, SlangSource source, Set<SlangSource> path,
+                                          Function<SlangSource, ExecutableModellingResult> preCompiler,
+                                          List<SlangSource> loadedSources,
+                                          List<ExecutableModellingResult> loadedResults) {
+        Map<String, List<SlangSource>> sourcesById = new HashMap<>();
+        for (SlangSource dependencySource : path) {
+            if (dependencySource != null && !dependencySource.equals(source)) {
+                sourcesById.computeIfAbsent(getDeclaredId(dependencySource), key -> new ArrayList<>())
+                        .add(dependencySource);
+            }
+        }
+        // a source whose namespace line cannot be read is only pre-compiled if a reference is not matched
+        sourcesById.remove(UNKNOWN_ID);
+        List<SlangSource> nextSources = new ArrayList<>();
+
+        boolean allReferencesFound = true;
+        Set<String> resolvedIds = new HashSet<>();
+        resolvedIds.add(getDuplicateKey(executable));
+        List<Executable> referencingExecutables = Collections.singletonList(executable);
+        while (true) {
+            for (Executable referencingExecutable : referencingExecutables) {
+                for (String refId : referencingExecutable.getExecutableDependencies()) {
+                    String id = refId.toLowerCase(Locale.ENGLISH);
+                    if (resolvedIds.add(id)) {
+                        List<SlangSource> referencedSources = sourcesById.get(id);
+                        if (referencedSources == null) {
+                            allReferencesFound = false;
+                        } else {
+                            nextSources.addAll(referencedSources);
+                        }
+                    }
+                }
+            }
+            if (nextSources.isEmpty()) {
+                return allReferencesFound;
+            }
+
+            List<ExecutableModellingResult> results = processSources(nextSources, preCompiler);
+            loadedSources.addAll(nextSources);
+            loadedResults.addAll(results);
+            referencingExecutables = new ArrayList<>();
+            for (ExecutableModellingResult result : results) {
+                if (result.getExecutable() != null) {
+                    referencingExecutables.add(result.getExecutable());
+                }
+            }
+            nextSources = new ArrayList<>();
+        }
+    }
+
+    /**
+     * @return the lower case id the source declares by its namespace line and file name, without parsing it
+     */
+    private String getDeclaredId(SlangSource source) {
+        String declaredId = declaredIds.getIfPresent(source);
+        if (declaredId == null) {
+            String namespace = SlangSourceUtils.readNamespace(source);
+            declaredId = namespace == null || source.getName() == null ? UNKNOWN_ID :
+                    (namespace + "." + Extension.removeExtension(source.getName())).toLowerCase(Locale.ENGLISH);
+            declaredIds.put(source, declaredId);
+        }
+        return declaredId;
+    }
+
+    @Override
+    public Map<SlangSource, CompilationModellingResult> compileSources(Set<SlangSource> sources,
+                                                                      PrecompileStrategy precompileStrategy) {
+        Validate.notNull(sources, "Sources can not be null");
+        Validate.notNull(precompileStrategy, "Pre-compile strategy can not be null");
+
+        // every source of the repository is transformed to a model object once
+        List<SlangSource> repositorySources = new ArrayList<>(sources);
+        Function<SlangSource, ExecutableModellingResult> preCompiler =
+            source -> preCompileRepositorySource(source, precompileStrategy);
+        List<ExecutableModellingResult> modellingResults = processSources(repositorySources, preCompiler);
+
+        // executables are grouped by id, so duplicates are only looked for among executables sharing the same id
+        Map<String, Map<Executable, SlangSource>> executablesById = new HashMap<>();
+        List<Executable> executables = new ArrayList<>();
+        for (int i = 0; i < repositorySources.size(); i++) {
+            Executable executable = modellingResults.get(i).getExecutable();
+            if (executable != null) {
+                executablesById.computeIfAbsent(getDuplicateKey(executable), key -> new HashMap<>())
+                        .put(executable, repositorySources.get(i));
+                executables.add(executable);
+            }
+        }
+
+        List<CompilationModellingResult> compiledResults = scoreCompiler.compileSources(executables);
+
+        Map<SlangSource, CompilationModellingResult> results = new LinkedHashMap<>();
+        int compiledIndex = 0;
+        for (int i = 0; i < repositorySources.size(); i++) {
+            SlangSource source = repositorySources.get(i);
+            ExecutableModellingResult modellingResult = modellingResults.get(i);
+            Executable executable = modellingResult.getExecutable();
+            // copied, since a cached modelling result is shared with later compilations
+            List<RuntimeException> errors = new ArrayList<>(modellingResult.getErrors());
+            CompilationArtifact compilationArtifact = null;
+            if (executable != null) {
+                errors.addAll(compileValidator.validateNoDuplicateExecutables(executable, source,
+                        executablesById.get(getDuplicateKey(executable))));
+                CompilationModellingResult compiledResult = compiledResults.get(compiledIndex++);
+                errors.addAll(compiledResult.getErrors());
+                compilationArtifact = compiledResult.getCompilationArtifact();
+            }
+            results.put(source, new CompilationModellingResult(compilationArtifact, errors));
+        }
+        return results;
+    }
+
+    private ExecutableModellingResult preCompileRepositorySource(SlangSource source,
+                                                                 PrecompileStrategy precompileStrategy) {
+        try {
+            return preCompileSource(source, precompileStrategy, CompilerConstants.DEFAULT_SENSITIVITY_LEVEL);
+        } catch (RuntimeException ex) {
+            // a source that cannot be parsed fails only its own result
+            List<RuntimeException> errors = new ArrayList<>();
+            errors.add(ex);
+            return new ExecutableModellingResult(null, errors);
+        }
+    }
+
+    private String getDuplicateKey(Executable executable) {
+        return executable.getId().toLowerCase(Locale.ENGLISH);
+    }
+
+    private <T> List<T> processSources(List<SlangSource> sources, Function<SlangSource, T> processor) {
+        return ExecutorUtils.processAll(precompileExecutor, sources, processor);
+    }
+
     @Override
     public Executable preCompile(SlangSource source) {
         return preCompile(source, PrecompileStrategy.WITHOUT_CACHE);
@@ -232,6 +457,11 @@ public class SlangCompilerImpl implements SlangCompiler {
         return extractProperties(parseModellingResult.getParsedSlang(), source, parseModellingResult.getErrors());
     }
 
+    @Override
+    public List<SystemPropertyModellingResult> loadSystemPropertiesFromSources(List<SlangSource> sources) {
+        return processSources(sources, this::loadSystemPropertiesFromSource);
+    }
+
     private void precompileCachePostExecute(
             SlangSource source,
             PrecompileStrategy precompileStrategy,
@@ -328,6 +558,10 @@ public class SlangCompilerImpl implements SlangCompiler {
 
             List<Map<String, Object>> parsedSystemProperties =
                     convertRawProperties(parsedSlang.getProperties(), source, exceptions);
+            // the descriptions of all the properties are extracted from the source at once
+            Map<String, String> propertyDescriptions = parsedSystemProperties.isEmpty() ?
+                    Collections.<String, String>emptyMap() :
+                    metadataExtractor.extractMetadataModellingResult(source).getMetadata().getSystemProperties();
             for (Map<String, Object> propertyAsMap : parsedSystemProperties) {
                 Map.Entry<String, Object> propertyAsEntry = propertyAsMap.entrySet().iterator().next();
                 String propertyKey = getPropertyKey(propertyAsEntry, source, exceptions);
@@ -339,11 +573,7 @@ public class SlangCompilerImpl implements SlangCompiler {
                 }
 
                 Object propertyValue = propertyAsEntry.getValue();
-                String propDesc = metadataExtractor
-                        .extractMetadataModellingResult(source)
-                        .getMetadata()
-                        .getSystemProperties()
-                        .get(propertyKey);
+                String propDesc = propertyDescriptions.get(propertyKey);
                 SystemProperty property =
                         transformSystemProperty(parsedSlang.getNamespace(), propertyKey, propertyValue, propDesc);
                 modelledSystemProperties.add(property);
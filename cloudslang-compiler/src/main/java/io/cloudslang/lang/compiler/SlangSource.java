@@ -10,24 +10,41 @@
 package io.cloudslang.lang.compiler;
 
 import io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.net.URI;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
 public class SlangSource {
 
-    private final String content;
+    private volatile String content;
     private final String name;
     private final String filePath;
     private final Extension fileExtension;
+    /**
+     * the file the content is read from on first use, null once the content is read
+     */
+    private volatile File contentFile;
+    /**
+     * size and modification time of the file a lazy source reads its content from, null for other sources
+     */
+    private final String fileStamp;
+    /**
+     * SHA-256 of the content, computed on first use
+     */
+    private volatile String contentDigest;
 
     public SlangSource(String content, String name) {
         Validate.notNull(content, "Source cannot be null");
@@ -35,6 +52,7 @@ public class SlangSource {
         this.name = name;
         this.filePath = null;
         this.fileExtension = null;
+        this.fileStamp = null;
     }
 
     private SlangSource(String content, String name, String filePath, Extension fileExtension) {
@@ -44,6 +62,15 @@ public class SlangSource {
         this.name = name;
         this.filePath = filePath;
         this.fileExtension = fileExtension;
+        this.fileStamp = null;
+    }
+
+    private SlangSource(File contentFile, String filePath, String fileStamp) {
+        this.contentFile = contentFile;
+        this.name = contentFile.getName();
+        this.filePath = filePath;
+        this.fileExtension = Extension.findExtension(name);
+        this.fileStamp = fileStamp;
     }
 
     public static SlangSource fromFile(File file) {
@@ -70,6 +97,25 @@ public class SlangSource {
         return fromFile(new File(uri));
     }
 
+    /**
+     * Creates a source whose content is only read when it is first needed, so a source that is answered from the
+     * precompile cache is never read.
+     * <p>
+     * The size and modification time of the file identify the content to the cache, they are taken before the
+     * content is read, so a file changed in between is read and compiled again the next time it is used.
+     *
+     * @param file         the file to read the content from
+     * @param filePath     the canonical path of the file
+     * @param length       the size of the file
+     * @param lastModified the modification time of the file
+     * @return the source of the file
+     */
+    public static SlangSource fromFileLazily(File file, String filePath, long length, long lastModified) {
+        Validate.notNull(file, "File cannot be null");
+        Validate.notNull(filePath, "File path cannot be null");
+        return new SlangSource(file, filePath, length + ":" + lastModified);
+    }
+
     public static SlangSource fromBytes(byte[] bytes, String name) {
         return new SlangSource(new String(bytes, getCloudSlangCharset()), name);
     }
@@ -97,9 +143,40 @@ public class SlangSource {
     }
 
     public String getContent() {
+        String currentContent = content;
+        if (currentContent == null) {
+            currentContent = loadContent();
+        }
+        return currentContent;
+    }
+
+    private synchronized String loadContent() {
+        if (content == null) {
+            File file = contentFile;
+            try {
+                content = readFileToString(file);
+            } catch (IOException e) {
+                throw new RuntimeException("There was a problem reading the file: " + file.getName(), e);
+            }
+            contentFile = null;
+        }
         return content;
     }
 
+    /**
+     * Reads the content without keeping it, so a lazy source can be scanned without loading it.
+     *
+     * @return a reader of the content, streamed from the file if the content was not loaded yet
+     * @throws IOException if the file cannot be read
+     */
+    public BufferedReader openContentReader() throws IOException {
+        File file = contentFile;
+        if (content == null && file != null) {
+            return new BufferedReader(new InputStreamReader(new FileInputStream(file), getCloudSlangCharset()));
+        }
+        return new BufferedReader(new StringReader(getContent()));
+    }
+
     public String getName() {
         return name;
     }
@@ -112,10 +189,32 @@ public class SlangSource {
         return filePath;
     }
 
+    /**
+     * @return the size and modification time of the file of a lazy source, or null if the source was not created
+     *     from a file lazily
+     */
+    public String getFileStamp() {
+        return fileStamp;
+    }
+
+    /**
+     * The digest is memoized, so validating a source against a cached entry costs a single hash per source.
+     *
+     * @return hex encoded SHA-256 digest of the content
+     */
+    public String getContentDigest() {
+        String digest = contentDigest;
+        if (digest == null) {
+            digest = DigestUtils.sha256Hex(getContent());
+            contentDigest = digest;
+        }
+        return digest;
+    }
+
     @Override
     public String toString() {
         return "SlangSource{" +
-                "content='" + content + '\'' +
+                "content='" + getContent() + '\'' +
                 ", name='" + name + '\'' +
                 ", filePath='" + filePath + '\'' +
                 ", fileExtension=" + fileExtension +
@@ -134,18 +233,22 @@ public class SlangSource {
 
         SlangSource that = (SlangSource) o;
 
+        // the content is compared last, so a lazy source is not read to tell it from a source of another file
         return new EqualsBuilder()
-                .append(content, that.content)
                 .append(name, that.name)
                 .append(filePath, that.filePath)
                 .append(fileExtension, that.fileExtension)
-                .isEquals();
+                .isEquals() &&
+                getContent().equals(that.getContent());
     }
 
+    /**
+     * The content of a file source is left out, so file sources can be put in sets and maps without being read.
+     */
     @Override
     public int hashCode() {
         return new HashCodeBuilder(17, 37)
-                .append(content)
+                .append(filePath == null ? getContent() : null)
                 .append(name)
                 .append(filePath)
                 .append(fileExtension)
@@ -9,7 +9,6 @@
  *******************************************************************************/
 package io.cloudslang.lang.compiler.caching;
 
-import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -20,21 +19,35 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  */
 public class CacheValue {
     /**
-     * to calculate changes
+     * content digest of the cached source, to calculate changes
      */
-    private SlangSource source;
+    private String sourceDigest;
+    /**
+     * file stamp of the cached source, it identifies an unchanged file without reading it
+     */
+    private String sourceFileStamp;
     /**
      * actual value
      */
     private ExecutableModellingResult executableModellingResult;
 
-    public CacheValue(SlangSource source, ExecutableModellingResult executableModellingResult) {
-        this.source = source;
+    public CacheValue(String sourceDigest, ExecutableModellingResult executableModellingResult) {
+        this(sourceDigest, null, executableModellingResult);
+    }
+
+    public CacheValue(String sourceDigest, String sourceFileStamp,
+                      ExecutableModellingResult executableModellingResult) {
+        this.sourceDigest = sourceDigest;
+        this.sourceFileStamp = sourceFileStamp;
         this.executableModellingResult = executableModellingResult;
     }
 
-    public SlangSource getSource() {
-        return source;
+    public String getSourceDigest() {
+        return sourceDigest;
+    }
+
+    public String getSourceFileStamp() {
+        return sourceFileStamp;
     }
 
     public ExecutableModellingResult getExecutableModellingResult() {
@@ -44,7 +57,8 @@ public class CacheValue {
     @Override
     public String toString() {
         return "CacheValue{" +
-                "source=" + source +
+                "sourceDigest='" + sourceDigest + '\'' +
+                ", sourceFileStamp='" + sourceFileStamp + '\'' +
                 ", executableModellingResult=" + executableModellingResult +
                 '}';
     }
@@ -62,7 +76,8 @@ public class CacheValue {
         CacheValue that = (CacheValue) o;
 
         return new EqualsBuilder()
-                .append(source, that.source)
+                .append(sourceDigest, that.sourceDigest)
+                .append(sourceFileStamp, that.sourceFileStamp)
                 .append(executableModellingResult, that.executableModellingResult)
                 .isEquals();
     }
@@ -70,7 +85,8 @@ public class CacheValue {
     @Override
     public int hashCode() {
         return new HashCodeBuilder(17, 37)
-                .append(source)
+                .append(sourceDigest)
+                .append(sourceFileStamp)
                 .append(executableModellingResult)
                 .toHashCode();
     }
@@ -12,16 +12,31 @@ package io.cloudslang.lang.compiler.caching;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
+import io.cloudslang.lang.compiler.scorecompiler.ExecutionPlanCache;
+import java.io.File;
 import java.util.concurrent.TimeUnit;
-import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.PostConstruct;
 
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_PRECOMPILE_CACHE_DIR;
+
 public class CachedPrecompileServiceImpl implements CachedPrecompileService {
 
     private Cache<String, CacheValue> cache;
 
+    /**
+     * optional on-disk tier, enabled by setting the cache directory system property
+     */
+    private PersistentPrecompileStore persistentStore;
+
+    /**
+     * optional cache of the execution plans compiled from the cached models, the plan of a replaced model is dropped
+     */
+    private ExecutionPlanCache executionPlanCache;
+
     @PostConstruct
     public void init() {
         cache = CacheBuilder.newBuilder()
@@ -29,13 +44,23 @@ public class CachedPrecompileServiceImpl implements CachedPrecompileService {
                 .concurrencyLevel(2 * Runtime.getRuntime().availableProcessors())
                 .expireAfterWrite(60, TimeUnit.MINUTES)
                 .build();
+
+        String persistentCacheDir = System.getProperty(CSLANG_PRECOMPILE_CACHE_DIR.getValue());
+        if (StringUtils.isNotBlank(persistentCacheDir)) {
+            persistentStore = new PersistentPrecompileStore(new File(persistentCacheDir));
+            persistentStore.warmUp();
+        }
     }
 
     @Override
     public void cacheValue(String path, ExecutableModellingResult modellingResult, SlangSource source) {
         if (path != null) {
-            CacheValue cacheValue = new CacheValue(source, modellingResult);
+            CacheValue cacheValue = new CacheValue(source.getContentDigest(), source.getFileStamp(), modellingResult);
+            invalidateExecutionPlan(cache.getIfPresent(path));
             cache.put(path, cacheValue);
+            if (persistentStore != null) {
+                persistentStore.store(path, source.getContentDigest(), modellingResult);
+            }
         }
     }
 
@@ -49,9 +74,13 @@ public class CachedPrecompileServiceImpl implements CachedPrecompileService {
         ExecutableModellingResult executableModellingResult = null;
 
         if (cachedValue == null) {
+            if (persistentStore != null) {
+                return getValueFromPersistentStore(path, currentSource);
+            }
             state = CacheValueState.MISSING;
         } else {
-            if (hasChangedSinceCached(currentSource, cachedValue.getSource())) {
+            if (!isSameFile(currentSource, cachedValue) &&
+                    hasChangedSinceCached(currentSource, cachedValue.getSourceDigest())) {
                 state = CacheValueState.OUTDATED;
             } else {
                 state = CacheValueState.VALID;
@@ -64,21 +93,64 @@ public class CachedPrecompileServiceImpl implements CachedPrecompileService {
     @Override
     public void invalidateEntry(String path) {
         if (path != null) {
+            invalidateExecutionPlan(cache.getIfPresent(path));
             cache.invalidate(path);
+            if (persistentStore != null) {
+                persistentStore.remove(path);
+            }
         }
     }
 
     @Override
     public void invalidateAll() {
         cache.invalidateAll();
+        if (executionPlanCache != null) {
+            executionPlanCache.invalidateAll();
+        }
+        if (persistentStore != null) {
+            persistentStore.clear();
+        }
+    }
+
+    public void setPersistentStore(PersistentPrecompileStore persistentStore) {
+        this.persistentStore = persistentStore;
+    }
+
+    public void setExecutionPlanCache(ExecutionPlanCache executionPlanCache) {
+        this.executionPlanCache = executionPlanCache;
+    }
+
+    private void invalidateExecutionPlan(CacheValue replacedValue) {
+        if (executionPlanCache == null || replacedValue == null ||
+                replacedValue.getExecutableModellingResult() == null) {
+            return;
+        }
+        Executable executable = replacedValue.getExecutableModellingResult().getExecutable();
+        if (executable != null) {
+            executionPlanCache.invalidate(executable);
+        }
+    }
+
+    private CacheResult getValueFromPersistentStore(String path, SlangSource currentSource) {
+        CacheResult persistedResult = persistentStore.load(path, currentSource.getContentDigest());
+        if (persistedResult.getState() == CacheValueState.VALID) {
+            cache.put(path, new CacheValue(currentSource.getContentDigest(), currentSource.getFileStamp(),
+                    persistedResult.getExecutableModellingResult()));
+        }
+        return persistedResult;
+    }
+
+    /**
+     * A lazy file source whose file still has the size and modification time it had when it was cached is not
+     * read again.
+     */
+    private boolean isSameFile(SlangSource currentSource, CacheValue cachedValue) {
+        String fileStamp = currentSource.getFileStamp();
+        return fileStamp != null && fileStamp.equals(cachedValue.getSourceFileStamp());
     }
 
-    boolean hasChangedSinceCached(SlangSource source1, SlangSource source2) {
-        String source1AsStr = source1.toString();
-        String source2AsStr = source2.toString();
-        return (source1AsStr.length() != source2AsStr.length()) ||
-                (!DigestUtils.md5Hex(source1AsStr).equals(DigestUtils.md5Hex(source2AsStr))) ||
-                (!DigestUtils.sha256Hex(source1AsStr).equals(DigestUtils.sha256Hex(source2AsStr)));
+    boolean hasChangedSinceCached(SlangSource currentSource, String cachedSourceDigest) {
+        return !currentSource.getContentDigest().equals(cachedSourceDigest);
     }
 
 }
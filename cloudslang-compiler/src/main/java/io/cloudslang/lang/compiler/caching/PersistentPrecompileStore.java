@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.caching;
+
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
+import io.cloudslang.lang.entities.RestrictedObjectInputStream;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.Validate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * On-disk tier of the precompile cache.
+ * <p>
+ * Every entry is a single file holding a small uncompressed header (format marker, format version, canonical
+ * source path and content hash) followed by the deflated, serialized {@link Executable}.
+ * Only the headers are read when the store is warmed up, models are deserialized on first lookup, with a
+ * {@link RestrictedObjectInputStream}.
+ * The store is best effort: unreadable or outdated entries are dropped and treated as missing.
+ */
+public class PersistentPrecompileStore {
+
+    static final int FORMAT_MARKER = 0x43534C43;
+    static final int FORMAT_VERSION = 1;
+    static final String ENTRY_EXTENSION = ".slc";
+
+    private final File directory;
+
+    /**
+     * canonical source path -> content hash of every entry currently on disk
+     */
+    private final Map<String, String> index = new ConcurrentHashMap<>();
+
+    public PersistentPrecompileStore(File directory) {
+        Validate.notNull(directory, "Cache directory cannot be null");
+        this.directory = directory;
+    }
+
+    /**
+     * Scan the cache directory and index the headers of all valid entries.
+     */
+    public void warmUp() {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            return;
+        }
+        File[] entryFiles = directory.listFiles((dir, name) -> name.endsWith(ENTRY_EXTENSION));
+        if (entryFiles == null) {
+            return;
+        }
+        for (File entryFile : entryFiles) {
+            try (DataInputStream in = openEntry(entryFile)) {
+                EntryHeader header = readHeader(in);
+                if (header == null) {
+                    deleteQuietly(entryFile);
+                } else {
+                    index.put(header.path, header.contentHash);
+                }
+            } catch (IOException ignore) {
+                deleteQuietly(entryFile);
+            }
+        }
+    }
+
+    /**
+     * Load an entry from disk.
+     *
+     * @param path        canonical path of the source
+     * @param contentHash content hash of the current source
+     * @return {@link CacheResult} carrying the stored model if it is still valid for the given content hash
+     */
+    public CacheResult load(String path, String contentHash) {
+        String indexedHash = index.get(path);
+        if (indexedHash == null) {
+            return new CacheResult(CacheValueState.MISSING, null);
+        }
+        File entryFile = getEntryFile(path);
+        if (!indexedHash.equals(contentHash)) {
+            remove(path);
+            return new CacheResult(CacheValueState.OUTDATED, null);
+        }
+        try (DataInputStream in = openEntry(entryFile)) {
+            EntryHeader header = readHeader(in);
+            if (header == null || !path.equals(header.path) || !contentHash.equals(header.contentHash)) {
+                remove(path);
+                return new CacheResult(CacheValueState.OUTDATED, null);
+            }
+            Executable executable = readExecutable(in);
+            return new CacheResult(CacheValueState.VALID, new ExecutableModellingResult(executable, new ArrayList<>()));
+        } catch (IOException | ClassNotFoundException | ClassCastException ex) {
+            remove(path);
+            return new CacheResult(CacheValueState.MISSING, null);
+        }
+    }
+
+    /**
+     * Persist a successfully modelled executable.
+     *
+     * @param path            canonical path of the source
+     * @param contentHash     content hash of the source
+     * @param modellingResult modelling result to persist, results with errors are not persisted
+     */
+    public void store(String path, String contentHash, ExecutableModellingResult modellingResult) {
+        if (modellingResult == null || modellingResult.getExecutable() == null ||
+                !modellingResult.getErrors().isEmpty()) {
+            return;
+        }
+        File tempFile = null;
+        try {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                return;
+            }
+            tempFile = File.createTempFile("entry", ".tmp", directory);
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                out.writeInt(FORMAT_MARKER);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(path);
+                out.writeUTF(contentHash);
+                DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out);
+                ObjectOutputStream objectOut = new ObjectOutputStream(deflaterOut);
+                objectOut.writeObject(modellingResult.getExecutable());
+                objectOut.flush();
+                deflaterOut.finish();
+            }
+            Files.move(tempFile.toPath(), getEntryFile(path).toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            index.put(path, contentHash);
+        } catch (IOException ex) {
+            // the persistent tier is only an optimization, a failed write leaves the entry missing
+            if (tempFile != null) {
+                deleteQuietly(tempFile);
+            }
+        }
+    }
+
+    public void remove(String path) {
+        index.remove(path);
+        deleteQuietly(getEntryFile(path));
+    }
+
+    public void clear() {
+        index.clear();
+        File[] entryFiles = directory.listFiles((dir, name) -> name.endsWith(ENTRY_EXTENSION));
+        if (entryFiles != null) {
+            for (File entryFile : entryFiles) {
+                deleteQuietly(entryFile);
+            }
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    File getEntryFile(String path) {
+        return new File(directory, DigestUtils.sha256Hex(path) + ENTRY_EXTENSION);
+    }
+
+    private DataInputStream openEntry(File entryFile) throws IOException {
+        return new DataInputStream(new BufferedInputStream(new FileInputStream(entryFile)));
+    }
+
+    private EntryHeader readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != FORMAT_MARKER || in.readInt() != FORMAT_VERSION) {
+            return null;
+        }
+        return new EntryHeader(in.readUTF(), in.readUTF());
+    }
+
+    private Executable readExecutable(InputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream objectIn = new RestrictedObjectInputStream(new InflaterInputStream(in),
+                getClass().getClassLoader());
+        return (Executable) objectIn.readObject();
+    }
+
+    private void deleteQuietly(File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException ignore) {
+            // will be overwritten or dropped on the next warm up
+        }
+    }
+
+    private static class EntryHeader {
+        private final String path;
+        private final String contentHash;
+
+        private EntryHeader(String path, String contentHash) {
+            this.path = path;
+            this.contentHash = contentHash;
+        }
+    }
+}
@@ -10,8 +10,6 @@
 package io.cloudslang.lang.compiler.configuration;
 
 
-import static io.cloudslang.lang.compiler.SlangTextualKeys.OBJECT_REPOSITORY_KEY;
-
 import com.google.common.collect.Lists;
 import configuration.SlangEntitiesSpringConfig;
 import io.cloudslang.lang.compiler.MetadataExtractor;
@@ -20,6 +18,7 @@ import io.cloudslang.lang.compiler.SlangCompiler;
 import io.cloudslang.lang.compiler.SlangCompilerImpl;
 import io.cloudslang.lang.compiler.caching.CachedPrecompileService;
 import io.cloudslang.lang.compiler.caching.CachedPrecompileServiceImpl;
+import io.cloudslang.lang.compiler.modeller.BindingInterner;
 import io.cloudslang.lang.compiler.modeller.DependenciesHelper;
 import io.cloudslang.lang.compiler.modeller.ExecutableBuilder;
 import io.cloudslang.lang.compiler.modeller.MetadataModeller;
@@ -56,8 +55,10 @@ import io.cloudslang.lang.compiler.parser.model.ParsedSlang;
 import io.cloudslang.lang.compiler.parser.utils.MetadataValidator;
 import io.cloudslang.lang.compiler.parser.utils.MetadataValidatorImpl;
 import io.cloudslang.lang.compiler.parser.utils.ParserExceptionHandler;
+import io.cloudslang.lang.compiler.parser.utils.SlangPropertyUtils;
 import io.cloudslang.lang.compiler.scorecompiler.DefaultExternalExecutionStepFactory;
 import io.cloudslang.lang.compiler.scorecompiler.ExecutionPlanBuilder;
+import io.cloudslang.lang.compiler.scorecompiler.ExecutionPlanCache;
 import io.cloudslang.lang.compiler.scorecompiler.ExecutionStepFactory;
 import io.cloudslang.lang.compiler.scorecompiler.ExternalExecutionStepFactory;
 import io.cloudslang.lang.compiler.scorecompiler.ScoreCompiler;
@@ -83,8 +84,6 @@ import org.springframework.context.annotation.Scope;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.Constructor;
 import org.yaml.snakeyaml.introspector.BeanAccess;
-import org.yaml.snakeyaml.introspector.Property;
-import org.yaml.snakeyaml.introspector.PropertyUtils;
 
 
 import java.util.List;
@@ -94,8 +93,6 @@ import java.util.List;
 @Import(SlangEntitiesSpringConfig.class)
 public class SlangCompilerSpringConfig {
 
-    private static final String OBJECT_REPOSITORY_CAMEL_CASE = "objectRepository";
-
     @Bean
     @Scope("prototype")
     public Yaml yaml() {
@@ -104,6 +101,11 @@ public class SlangCompilerSpringConfig {
         return yaml;
     }
 
+    @Bean
+    public SlangPropertyUtils slangPropertyUtils() {
+        return new SlangPropertyUtils();
+    }
+
     @Bean
     public DummyEncryptor dummyEncryptor() {
         return new DummyEncryptor();
@@ -111,10 +113,12 @@ public class SlangCompilerSpringConfig {
 
     @Bean
     public YamlParser yamlParser() {
+        // Yaml instances are not thread safe, every parsing thread keeps its own
+        final ThreadLocal<Yaml> threadYaml = ThreadLocal.withInitial(this::yaml);
         YamlParser yamlParser = new YamlParser() {
             @Override
             public Yaml getYaml() {
-                return yaml();
+                return threadYaml.get();
             }
         };
         yamlParser.setExecutableValidator(executableValidator());
@@ -124,7 +128,9 @@ public class SlangCompilerSpringConfig {
 
     @Bean
     public CachedPrecompileService cachedPrecompileService() {
-        return new CachedPrecompileServiceImpl();
+        CachedPrecompileServiceImpl cachedPrecompileService = new CachedPrecompileServiceImpl();
+        cachedPrecompileService.setExecutionPlanCache(executionPlanCache());
+        return cachedPrecompileService;
     }
 
     @Bean
@@ -163,7 +169,14 @@ public class SlangCompilerSpringConfig {
 
     @Bean
     public ExecutionStepFactory stepFactory() {
-        return new ExecutionStepFactory();
+        ExecutionStepFactory stepFactory = new ExecutionStepFactory();
+        stepFactory.setBindingInterner(bindingInterner());
+        return stepFactory;
+    }
+
+    @Bean
+    public BindingInterner bindingInterner() {
+        return new BindingInterner();
     }
 
     @Bean
@@ -237,10 +250,16 @@ public class SlangCompilerSpringConfig {
         scoreCompiler.setCompileValidator(compileValidator());
         scoreCompiler.setDependenciesHelper(dependenciesHelper());
         scoreCompiler.setExecutionPlanBuilder(executionPlanBuilder());
+        scoreCompiler.setExecutionPlanCache(executionPlanCache());
 
         return scoreCompiler;
     }
 
+    @Bean
+    public ExecutionPlanCache executionPlanCache() {
+        return new ExecutionPlanCache();
+    }
+
     @Bean
     public SlangCompiler slangCompiler() {
         SlangCompilerImpl slangCompiler = new SlangCompilerImpl();
@@ -431,7 +450,9 @@ public class SlangCompilerSpringConfig {
 
     @Bean
     public TransformersHandler transformersHandler() {
-        return new TransformersHandler();
+        TransformersHandler transformersHandler = new TransformersHandler();
+        transformersHandler.setBindingInterner(bindingInterner());
+        return transformersHandler;
     }
 
     @Bean
@@ -459,15 +480,7 @@ public class SlangCompilerSpringConfig {
 
     private Constructor getConstructor() {
         Constructor constructor = new Constructor(ParsedSlang.class);
-        constructor.setPropertyUtils(new PropertyUtils() {
-            @Override
-            public Property getProperty(Class<? extends Object> type, String name) {
-                if (name.equals(OBJECT_REPOSITORY_KEY)) {
-                    name = OBJECT_REPOSITORY_CAMEL_CASE;
-                }
-                return super.getProperty(type, name);
-            }
-        });
+        constructor.setPropertyUtils(slangPropertyUtils());
         return constructor;
     }
 
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.modeller;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.collect.MapMaker;
+import io.cloudslang.lang.entities.bindings.Argument;
+import io.cloudslang.lang.entities.bindings.InOutParam;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.Result;
+import io.cloudslang.lang.entities.bindings.values.SimpleValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Canonical instances of the inputs, outputs, results and arguments of the compiled models, so the many identical
+ * bindings of a content pack (the same <code>host: ${host}</code> argument or <code>SUCCESS</code> result in
+ * every flow) share a single instance in the models and in the execution plans built from them.
+ * <p>
+ * Bindings are compared by all their fields, including the ones their <code>equals</code> leaves out, and only
+ * bindings with a plain value and no prompt are shared. The canonical instances are weakly referenced, so they
+ * only live as long as a model or a plan uses them.
+ */
+public class BindingInterner {
+
+    private final ConcurrentMap<List<Object>, InOutParam> bindings = new MapMaker()
+            .weakValues()
+            .concurrencyLevel(2 * Runtime.getRuntime().availableProcessors())
+            .makeMap();
+
+    private final Interner<String> strings = Interners.newWeakInterner();
+
+    /**
+     * Replaces the bindings of the list with their canonical instances.
+     *
+     * @param data the data of a transformer or of an execution step, anything else than a list of bindings is
+     *             left as is
+     * @return the data, a modifiable list is changed in place while an unmodifiable one is copied
+     */
+    public Object internBindings(Object data) {
+        if (!(data instanceof List)) {
+            return data;
+        }
+        @SuppressWarnings("unchecked")
+        List<Object> list = (List<Object>) data;
+        List<Object> canonicalList = data instanceof ArrayList ? list : null;
+        for (int i = 0; i < list.size(); i++) {
+            Object element = list.get(i);
+            if (element instanceof InOutParam) {
+                InOutParam canonical = intern((InOutParam) element);
+                if (canonical != element) {
+                    if (canonicalList == null) {
+                        canonicalList = new ArrayList<>(list);
+                    }
+                    canonicalList.set(i, canonical);
+                }
+            }
+        }
+        if (canonicalList == null || canonicalList == list) {
+            return data;
+        }
+        return Collections.unmodifiableList(canonicalList);
+    }
+
+    public <T extends InOutParam> T intern(T binding) {
+        List<Object> key = getKey(binding);
+        if (key == null) {
+            return binding;
+        }
+        InOutParam canonical = bindings.putIfAbsent(key, binding);
+        @SuppressWarnings("unchecked")
+        T result = canonical == null ? binding : (T) canonical;
+        return result;
+    }
+
+    public String intern(String value) {
+        return value == null ? null : strings.intern(value);
+    }
+
+    private List<Object> getKey(InOutParam binding) {
+        if (binding.getValue() != null && binding.getValue().getClass() != SimpleValue.class) {
+            return null;
+        }
+        Class<?> type = binding.getClass();
+        if (type == Input.class) {
+            Input input = (Input) binding;
+            return input.hasPrompt() ? null :
+                    createKey(input, input.isRequired(), input.isPrivateInput());
+        } else if (type == Argument.class) {
+            Argument argument = (Argument) binding;
+            return argument.hasPrompt() ? null :
+                    createKey(argument, argument.isPrivateArgument(), false);
+        } else if (type == Output.class) {
+            Output output = (Output) binding;
+            return createKey(output, output.hasRobotProperty(), output.isRobot());
+        } else if (type == Result.class) {
+            return createKey(binding, false, false);
+        }
+        return null;
+    }
+
+    private List<Object> createKey(InOutParam binding, boolean firstFlag, boolean secondFlag) {
+        return Arrays.asList(binding.getClass(), binding.getName(), binding.getValue(),
+                binding.getFunctionDependencies(), binding.getSystemPropertyDependencies(), firstFlag, secondFlag);
+    }
+}
@@ -40,11 +40,7 @@ import java.util.Set;
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.commons.lang3.Validate;
 
-import static ch.lambdaj.Lambda.having;
-import static ch.lambdaj.Lambda.on;
-import static ch.lambdaj.Lambda.selectFirst;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
-import static org.hamcrest.Matchers.equalTo;
 
 public class DependenciesHelper {
 
@@ -87,20 +83,36 @@ public class DependenciesHelper {
      */
     public Map<String, Executable> matchReferences(Executable executable,
                                                    Collection<Executable> availableDependencies) {
+        return matchReferences(executable, new ExecutablesIndex(availableDependencies));
+    }
+
+    /**
+     * recursive matches executables with their references, using an index shared by a whole compilation.
+     * The references resolved for the executable are remembered by the index.
+     *
+     * @param executable the executables
+     * @param executablesIndex the executables to match from
+     * @return a map of a the executables that were successfully matched
+     */
+    public Map<String, Executable> matchReferences(Executable executable, ExecutablesIndex executablesIndex) {
         Validate.isTrue(executable.getType().equals(SlangTextualKeys.FLOW_TYPE),
                 "Executable: \'" + executable.getId() + "\' is not a flow, therefore it has no references");
-        Map<String, Executable> resolvedDependencies = new HashMap<>();
-        return fetchFlowReferences(executable, availableDependencies, resolvedDependencies);
+        Map<String, Executable> resolvedDependencies = executablesIndex.getResolvedReferences(executable);
+        if (resolvedDependencies == null) {
+            resolvedDependencies = new HashMap<>();
+            fetchFlowReferences(executable, executablesIndex, resolvedDependencies);
+            executablesIndex.putResolvedReferences(executable, resolvedDependencies);
+        }
+        return new HashMap<>(resolvedDependencies);
     }
 
-    private Map<String, Executable> fetchFlowReferences(Executable executable,
-                                                        Collection<Executable> availableDependencies,
-                                                        Map<String, Executable> resolvedDependencies) {
+    private void fetchFlowReferences(Executable executable,
+                                     ExecutablesIndex executablesIndex,
+                                     Map<String, Executable> resolvedDependencies) {
         for (String refId : executable.getExecutableDependencies()) {
             //if it is already in the references we do nothing
             if (resolvedDependencies.get(refId) == null) {
-                Executable matchingRef = selectFirst(availableDependencies,
-                        having(on(Executable.class).getId(), equalTo(refId)));
+                Executable matchingRef = executablesIndex.getExecutable(refId);
                 if (matchingRef == null) {
                     throw new RuntimeException("Reference: \'" + refId + "\' in executable: \'" +
                             executable.getName() + "\', wasn't found in path");
@@ -109,13 +121,16 @@ public class DependenciesHelper {
                 //first we put the reference on the map
                 resolvedDependencies.put(matchingRef.getId(), matchingRef);
                 if (matchingRef.getType().equals(SlangTextualKeys.FLOW_TYPE)) {
-                    //if it is a flow  we recursively
-                    resolvedDependencies
-                            .putAll(fetchFlowReferences(matchingRef, availableDependencies, resolvedDependencies));
+                    //if it is a flow that was already resolved we take its references, otherwise we recursively
+                    Map<String, Executable> subflowReferences = executablesIndex.getResolvedReferences(matchingRef);
+                    if (subflowReferences != null) {
+                        resolvedDependencies.putAll(subflowReferences);
+                    } else {
+                        fetchFlowReferences(matchingRef, executablesIndex, resolvedDependencies);
+                    }
                 }
             }
         }
-        return resolvedDependencies;
     }
 
     public Set<String> getSystemPropertiesForFlow(
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.modeller;
+
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The executables available to a compilation, indexed by their id.
+ * The index also remembers the references already resolved for its flows, so a flow that is used by
+ * several executables of the same compilation is resolved once.
+ */
+public class ExecutablesIndex {
+
+    private final Map<String, Executable> executablesById;
+
+    /**
+     * flow -> all the executables it references, directly or through its subflows
+     */
+    private final Map<Executable, Map<String, Executable>> resolvedReferences = new IdentityHashMap<>();
+
+    public ExecutablesIndex(Collection<Executable> executables) {
+        executablesById = new HashMap<>();
+        for (Executable executable : executables) {
+            // the first executable with a given id is the one a reference is matched with
+            if (executable != null && !executablesById.containsKey(executable.getId())) {
+                executablesById.put(executable.getId(), executable);
+            }
+        }
+    }
+
+    public Executable getExecutable(String id) {
+        return executablesById.get(id);
+    }
+
+    Map<String, Executable> getResolvedReferences(Executable flow) {
+        return resolvedReferences.get(flow);
+    }
+
+    void putResolvedReferences(Executable flow, Map<String, Executable> references) {
+        resolvedReferences.put(flow, references);
+    }
+}
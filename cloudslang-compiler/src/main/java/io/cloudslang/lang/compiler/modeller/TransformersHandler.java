@@ -27,6 +27,11 @@ public class TransformersHandler {
 
     public static final String CLASS = "class ";
 
+    /**
+     * optional, the bindings produced by the transformers are not shared when it is not set
+     */
+    private BindingInterner bindingInterner;
+
     public static String keyToTransform(Transformer transformer) {
         String key;
         if (transformer.keyToTransform() != null) {
@@ -56,6 +61,9 @@ public class TransformersHandler {
                 TransformModellingResult transformModellingResult = transformer.transform(value, sensitivityLevel);
                 Object data = transformModellingResult.getTransformedData();
                 if (data != null) {
+                    if (bindingInterner != null) {
+                        data = bindingInterner.internBindings(data);
+                    }
                     transformedData.put(key, (Serializable) data);
                 }
                 if (rawData.containsKey(key)) {
@@ -91,6 +99,10 @@ public class TransformersHandler {
         return transformedData;
     }
 
+    public void setBindingInterner(BindingInterner bindingInterner) {
+        this.bindingInterner = bindingInterner;
+    }
+
     private Class getTransformerFromType(Transformer transformer) {
         // Always take the first interface Transformer<F, T> in case of many interfaces
         // Always take the first parameter F of the Transformer interface
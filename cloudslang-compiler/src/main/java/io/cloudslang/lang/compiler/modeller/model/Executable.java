@@ -16,6 +16,8 @@ import io.cloudslang.lang.entities.constants.Regex;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
@@ -25,7 +27,9 @@ import java.util.Set;
 /*
  * Created by orius123 on 05/11/14.
  */
-public abstract class Executable {
+public abstract class Executable implements Serializable {
+
+    private static final long serialVersionUID = 2380925389425745218L;
 
     protected final Map<String, Serializable> preExecActionData;
     protected final Map<String, Serializable> postExecActionData;
@@ -130,6 +134,12 @@ public abstract class Executable {
 
     public abstract String getType();
 
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // id is transient, rebuild it from the persisted namespace and name
+        this.id = namespace + Regex.NAMESPACE_PROPERTY_DELIMITER + name;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -16,6 +16,9 @@ import java.util.List;
 import java.util.Map;
 
 public class ExternalStep extends Step {
+
+    private static final long serialVersionUID = 8761034458919420261L;
+
     private boolean validation;
 
     public ExternalStep(
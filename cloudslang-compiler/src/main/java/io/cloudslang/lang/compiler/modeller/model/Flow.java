@@ -25,6 +25,8 @@ import java.util.Set;
  */
 public class Flow extends Executable {
 
+    private static final long serialVersionUID = -6352207735542398314L;
+
     private final Workflow workflow;
     private final String workerGroup;
 
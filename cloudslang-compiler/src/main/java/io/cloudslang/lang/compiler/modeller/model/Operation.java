@@ -24,6 +24,8 @@ import java.util.Set;
  */
 public class Operation extends Executable {
 
+    private static final long serialVersionUID = 4127690417812640175L;
+
     private final Action action;
 
     public Operation(Map<String, Serializable> preOpActionData,
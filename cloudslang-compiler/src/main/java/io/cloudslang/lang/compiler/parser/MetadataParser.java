@@ -15,12 +15,15 @@ import io.cloudslang.lang.compiler.parser.utils.ParserExceptionHandler;
 import io.cloudslang.lang.compiler.utils.MetadataUtils;
 import io.cloudslang.lang.compiler.utils.SlangSourceUtils;
 import io.cloudslang.lang.compiler.validator.matcher.DescriptionPatternMatcher;
+import io.cloudslang.lang.entities.constants.Regex;
 import java.util.List;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.tuple.Pair;
 
 public class MetadataParser {
+    private static final char MAX_ASCII_CHAR = 127;
+
     private ParserExceptionHandler parserExceptionHandler;
     private DescriptionPatternMatcher descriptionPatternMatcher;
 
@@ -31,60 +34,178 @@ public class MetadataParser {
     public ParsedDescriptionData parse(SlangSource source) {
         Validate.notNull(source.getContent(), "Source " + source.getName() + " cannot be null");
         try {
-            return extractDescriptionData(source);
+            return processRawLines(SlangSourceUtils.readLines(source));
+        } catch (Throwable e) {
+            throw descriptionParsingError(source, e);
+        }
+    }
+
+    /**
+     * Parses the description of a source that was already split into lines,
+     * so the lines can be shared with the other passes over the source.
+     *
+     * @param source the source the lines were read from
+     * @param lines  the lines of the source
+     * @return the parsed description data
+     */
+    public ParsedDescriptionData parse(SlangSource source, List<String> lines) {
+        Validate.notNull(lines, "Lines of source " + source.getName() + " cannot be null");
+        try {
+            return processRawLines(lines);
         } catch (Throwable e) {
-            throw new RuntimeException("There was a problem parsing the description: " +
-                    source.getName() + "." + System.lineSeparator() + parserExceptionHandler.getErrorMessage(e), e);
+            throw descriptionParsingError(source, e);
         }
     }
 
-    private ParsedDescriptionData extractDescriptionData(SlangSource source) {
-        List<String> lines = SlangSourceUtils.readLines(source);
-        return processRawLines(lines);
+    private RuntimeException descriptionParsingError(SlangSource source, Throwable e) {
+        return new RuntimeException("There was a problem parsing the description: " +
+                source.getName() + "." + System.lineSeparator() + parserExceptionHandler.getErrorMessage(e), e);
     }
 
     private ParsedDescriptionData processRawLines(List<String> lines) {
         DescriptionBuilder descriptionBuilder = new DescriptionBuilder();
         for (int lineNrZeroBased = 0; lineNrZeroBased < lines.size(); lineNrZeroBased++) {
             String currentLine = lines.get(lineNrZeroBased);
-
-            // block start -  #!!
-            if (descriptionPatternMatcher.matchesDescriptionStart(currentLine)) {
-                handleBlockStart(descriptionBuilder, lineNrZeroBased);
-            } else
-                // #!!#
-                if (descriptionPatternMatcher.matchesDescriptionEnd(currentLine)) {
+            switch (classifyLine(currentLine)) {
+                case DESCRIPTION_START:
+                    handleBlockStart(descriptionBuilder, lineNrZeroBased);
+                    break;
+                case DESCRIPTION_END:
                     handleDescriptionEnd(descriptionBuilder, lines, lineNrZeroBased);
-                } else {
-                    // #! @tag var: content <=> @tag var
-                    if (descriptionPatternMatcher.matchesDescriptionVariableLine(currentLine)) {
-                        handleDescriptionLineVariableSyntax(descriptionBuilder, currentLine);
-                    } else
-                        // #! @tag: content
-                        if (descriptionPatternMatcher.matchesDescriptionGeneralLine(currentLine)) {
-                            handleDescriptionLineGeneralSyntax(descriptionBuilder, currentLine);
+                    break;
+                case DESCRIPTION_TAG:
+                    // tag lines only matter inside a description
+                    if (descriptionBuilder.descriptionOpened()) {
+                        processLineWithPatterns(descriptionBuilder, lines, lineNrZeroBased);
+                    }
+                    break;
+                case DESCRIPTION_COMPLEMENTARY:
+                    if (descriptionBuilder.descriptionOpened()) {
+                        String data = currentLine.substring(
+                                currentLine.indexOf(Regex.DESCRIPTION_TOKEN) + Regex.DESCRIPTION_TOKEN.length());
+                        descriptionBuilder.addToDescriptionToMostRecentlyUsedTag(data.trim());
+                    }
+                    break;
+                case OTHER:
+                    if (descriptionBuilder.descriptionOpened()) {
+                        handleNonDescriptionLineInsideDescription(descriptionBuilder, currentLine, lineNrZeroBased);
+                    }
+                    break;
+                default:
+                    processLineWithPatterns(descriptionBuilder, lines, lineNrZeroBased);
+                    break;
+            }
+        }
+        return descriptionBuilder.build();
+    }
+
+    /**
+     * Parses the description by matching every line against the description patterns, without classifying the lines
+     * first. Parsing a source this way gives the same result as {@link #parse(SlangSource, List)}.
+     */
+    ParsedDescriptionData parseWithPatterns(List<String> lines) {
+        DescriptionBuilder descriptionBuilder = new DescriptionBuilder();
+        for (int lineNrZeroBased = 0; lineNrZeroBased < lines.size(); lineNrZeroBased++) {
+            processLineWithPatterns(descriptionBuilder, lines, lineNrZeroBased);
+        }
+        return descriptionBuilder.build();
+    }
+
+    private void processLineWithPatterns(DescriptionBuilder descriptionBuilder, List<String> lines,
+                                         int lineNrZeroBased) {
+        String currentLine = lines.get(lineNrZeroBased);
+        // block start -  #!!
+        if (descriptionPatternMatcher.matchesDescriptionStart(currentLine)) {
+            handleBlockStart(descriptionBuilder, lineNrZeroBased);
+        } else
+            // #!!#
+            if (descriptionPatternMatcher.matchesDescriptionEnd(currentLine)) {
+                handleDescriptionEnd(descriptionBuilder, lines, lineNrZeroBased);
+            } else {
+                // #! @tag var: content <=> @tag var
+                if (descriptionPatternMatcher.matchesDescriptionVariableLine(currentLine)) {
+                    handleDescriptionLineVariableSyntax(descriptionBuilder, currentLine);
+                } else
+                    // #! @tag: content
+                    if (descriptionPatternMatcher.matchesDescriptionGeneralLine(currentLine)) {
+                        handleDescriptionLineGeneralSyntax(descriptionBuilder, currentLine);
+                    } else {
+                        if (descriptionPatternMatcher.matchesVariableLineDeclarationOnlyLine(currentLine)) {
+                            handleDescriptionLineVariableDeclarationOnlySyntax(descriptionBuilder, currentLine);
                         } else {
-                            if (descriptionPatternMatcher.matchesVariableLineDeclarationOnlyLine(currentLine)) {
-                                handleDescriptionLineVariableDeclarationOnlySyntax(descriptionBuilder, currentLine);
+                            // #! continued from previous line
+                            if (descriptionPatternMatcher.matchesDescriptionComplementaryLine(currentLine)) {
+                                handleDescriptionLineComplementarySyntax(descriptionBuilder, currentLine);
                             } else {
-                                // #! continued from previous line
-                                if (descriptionPatternMatcher.matchesDescriptionComplementaryLine(currentLine)) {
-                                    handleDescriptionLineComplementarySyntax(descriptionBuilder, currentLine);
-                                } else {
-                                    // check if line is allowed inside description
-                                    if (descriptionBuilder.descriptionOpened()) {
-                                        handleNonDescriptionLineInsideDescription(
-                                                descriptionBuilder,
-                                                currentLine,
-                                                lineNrZeroBased
-                                        );
-                                    }
+                                // check if line is allowed inside description
+                                if (descriptionBuilder.descriptionOpened()) {
+                                    handleNonDescriptionLineInsideDescription(
+                                            descriptionBuilder,
+                                            currentLine,
+                                            lineNrZeroBased
+                                    );
                                 }
                             }
                         }
-                }
+                    }
+            }
+    }
+
+    /**
+     * Classifies a line by its first characters, the same way the description patterns would. Lines the patterns
+     * could classify otherwise, because of unicode whitespace or line terminators, are left to the patterns.
+     */
+    private LineType classifyLine(String line) {
+        int length = line.length();
+        int index = 0;
+        while (index < length && isAsciiWhitespace(line.charAt(index))) {
+            index++;
         }
-        return descriptionBuilder.build();
+        if (index == length) {
+            return LineType.OTHER;
+        }
+        char firstChar = line.charAt(index);
+        if (firstChar > MAX_ASCII_CHAR) {
+            return LineType.UNKNOWN;
+        }
+        if (!line.startsWith(Regex.DESCRIPTION_TOKEN, index)) {
+            return LineType.OTHER;
+        }
+        if (containsLineTerminator(line, index)) {
+            return LineType.UNKNOWN;
+        }
+        index += Regex.DESCRIPTION_TOKEN.length();
+        if (index < length && line.charAt(index) == '!') {
+            // #!! starts a description unless followed by #, which ends it
+            return index + 1 < length && line.charAt(index + 1) == '#' ?
+                    LineType.DESCRIPTION_END : LineType.DESCRIPTION_START;
+        }
+        while (index < length && isAsciiWhitespace(line.charAt(index))) {
+            index++;
+        }
+        if (index == length) {
+            return LineType.DESCRIPTION_COMPLEMENTARY;
+        }
+        char tagChar = line.charAt(index);
+        if (tagChar == '@') {
+            return LineType.DESCRIPTION_TAG;
+        }
+        return tagChar > MAX_ASCII_CHAR ? LineType.UNKNOWN : LineType.DESCRIPTION_COMPLEMENTARY;
+    }
+
+    private boolean isAsciiWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    private boolean containsLineTerminator(String line, int fromIndex) {
+        for (int index = fromIndex; index < line.length(); index++) {
+            char currentChar = line.charAt(index);
+            if (currentChar == '\n' || currentChar == '\r' || currentChar == '\u0085' || currentChar == '\u2028' ||
+                    currentChar == '\u2029') {
+                return true;
+            }
+        }
+        return false;
     }
 
     private void handleNonDescriptionLineInsideDescription(
@@ -213,4 +334,13 @@ public class MetadataParser {
     public void setParserExceptionHandler(ParserExceptionHandler parserExceptionHandler) {
         this.parserExceptionHandler = parserExceptionHandler;
     }
+
+    private enum LineType {
+        DESCRIPTION_START,
+        DESCRIPTION_END,
+        DESCRIPTION_TAG,
+        DESCRIPTION_COMPLEMENTARY,
+        OTHER,
+        UNKNOWN
+    }
 }
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.parser;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the sources parsed by a {@link YamlParser}.
+ */
+public class YamlParseStatistics {
+
+    private final long parsedSources;
+    private final long failedSources;
+    private final long parseTimeNanos;
+
+    public YamlParseStatistics(long parsedSources, long failedSources, long parseTimeNanos) {
+        this.parsedSources = parsedSources;
+        this.failedSources = failedSources;
+        this.parseTimeNanos = parseTimeNanos;
+    }
+
+    /**
+     * @return the number of sources parsed, including the ones that failed
+     */
+    public long getParsedSources() {
+        return parsedSources;
+    }
+
+    public long getFailedSources() {
+        return failedSources;
+    }
+
+    /**
+     * @return the time spent parsing, summed over all the parsing threads
+     */
+    public long getParseTime(TimeUnit timeUnit) {
+        return timeUnit.convert(parseTimeNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public long getAverageParseTime(TimeUnit timeUnit) {
+        return parsedSources == 0 ? 0 : timeUnit.convert(parseTimeNanos / parsedSources, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "YamlParseStatistics{" +
+                "parsedSources=" + parsedSources +
+                ", failedSources=" + failedSources +
+                ", parseTimeMillis=" + getParseTime(TimeUnit.MILLISECONDS) +
+                '}';
+    }
+}
@@ -18,6 +18,7 @@ import io.cloudslang.lang.compiler.parser.utils.ParserExceptionHandler;
 import io.cloudslang.lang.compiler.validator.ExecutableValidator;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.commons.lang3.Validate;
 import org.yaml.snakeyaml.Yaml;
 
@@ -27,6 +28,16 @@ public abstract class YamlParser {
 
     private ExecutableValidator executableValidator;
 
+    private final AtomicLong parsedSources = new AtomicLong();
+
+    private final AtomicLong failedSources = new AtomicLong();
+
+    private final AtomicLong parseTimeNanos = new AtomicLong();
+
+    /**
+     * @return the Yaml instance to parse with in the current thread, instances are not thread safe so they
+     *     must not be shared between threads
+     */
     protected abstract Yaml getYaml();
 
     public ParsedSlang validateAndThrowFirstError(ParsedSlang parsedSlang) {
@@ -57,6 +68,7 @@ public abstract class YamlParser {
 
         Validate.notEmpty(source.getContent(), "Source " + source.getName() + " cannot be empty");
 
+        final long startTime = System.nanoTime();
         try {
             ParsedSlang parsedSlang = getYaml().loadAs(source.getContent(), ParsedSlang.class);
             if (parsedSlang == null) {
@@ -67,11 +79,19 @@ public abstract class YamlParser {
 
             return parsedSlang;
         } catch (Throwable e) {
+            failedSources.incrementAndGet();
             throw new RuntimeException("There was a problem parsing the YAML source: " +
                     source.getName() + ".\n" + parserExceptionHandler.getErrorMessage(e), e);
+        } finally {
+            parsedSources.incrementAndGet();
+            parseTimeNanos.addAndGet(System.nanoTime() - startTime);
         }
     }
 
+    public YamlParseStatistics getParseStatistics() {
+        return new YamlParseStatistics(parsedSources.get(), failedSources.get(), parseTimeNanos.get());
+    }
+
     public void setParserExceptionHandler(ParserExceptionHandler parserExceptionHandler) {
         this.parserExceptionHandler = parserExceptionHandler;
     }
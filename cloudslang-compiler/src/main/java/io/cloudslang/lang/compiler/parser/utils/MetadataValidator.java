@@ -10,8 +10,20 @@
 package io.cloudslang.lang.compiler.parser.utils;
 
 import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.parser.model.ParsedDescriptionData;
 import java.util.List;
 
 public interface MetadataValidator {
     List<RuntimeException> validateCheckstyle(SlangSource source);
+
+    /**
+     * Validates the checkstyle of a source that was already split into lines and parsed.
+     *
+     * @param source                the source
+     * @param lines                 the lines of the source
+     * @param parsedDescriptionData the description data parsed from the lines
+     * @return the checkstyle violations
+     */
+    List<RuntimeException> validateCheckstyle(SlangSource source, List<String> lines,
+                                              ParsedDescriptionData parsedDescriptionData);
 }
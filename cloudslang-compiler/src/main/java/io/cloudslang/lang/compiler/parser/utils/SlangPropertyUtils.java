@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.parser.utils;
+
+import org.yaml.snakeyaml.introspector.BeanAccess;
+import org.yaml.snakeyaml.introspector.Property;
+import org.yaml.snakeyaml.introspector.PropertyUtils;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.cloudslang.lang.compiler.SlangTextualKeys.OBJECT_REPOSITORY_KEY;
+
+/**
+ * Field based introspection of the parsed CloudSlang model, shared by all the {@link org.yaml.snakeyaml.Yaml}
+ * instances of the compiler.
+ * <p>
+ * SnakeYAML keeps its introspection results in plain maps, so the lookups of the base class are serialized here
+ * and every resolved property is also kept in a concurrent map, which answers all the later lookups without locking.
+ */
+public class SlangPropertyUtils extends PropertyUtils {
+
+    private static final String OBJECT_REPOSITORY_CAMEL_CASE = "objectRepository";
+
+    private final Map<Class<?>, Map<String, Property>> resolvedProperties = new ConcurrentHashMap<>();
+
+    public SlangPropertyUtils() {
+        super.setBeanAccess(BeanAccess.FIELD);
+    }
+
+    @Override
+    public Property getProperty(Class<? extends Object> type, String name) {
+        Map<String, Property> typeProperties =
+                resolvedProperties.computeIfAbsent(type, key -> new ConcurrentHashMap<>());
+        Property property = typeProperties.get(name);
+        if (property == null) {
+            String propertyName = name.equals(OBJECT_REPOSITORY_KEY) ? OBJECT_REPOSITORY_CAMEL_CASE : name;
+            synchronized (this) {
+                property = super.getProperty(type, propertyName);
+            }
+            typeProperties.put(name, property);
+        }
+        return property;
+    }
+
+    @Override
+    public synchronized Property getProperty(Class<? extends Object> type, String name, BeanAccess beanAccess) {
+        return super.getProperty(type, name, beanAccess);
+    }
+
+    @Override
+    public synchronized Set<Property> getProperties(Class<? extends Object> type) {
+        return super.getProperties(type);
+    }
+
+    @Override
+    public synchronized Set<Property> getProperties(Class<? extends Object> type, BeanAccess beanAccess) {
+        return super.getProperties(type, beanAccess);
+    }
+
+    @Override
+    public synchronized void setBeanAccess(BeanAccess beanAccess) {
+        if (beanAccess != BeanAccess.FIELD) {
+            throw new IllegalArgumentException("CloudSlang models can only be accessed by field");
+        }
+        super.setBeanAccess(beanAccess);
+    }
+}
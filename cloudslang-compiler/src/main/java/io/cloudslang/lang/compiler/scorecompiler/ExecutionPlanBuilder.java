@@ -22,18 +22,14 @@ import io.cloudslang.score.api.ExecutionPlan;
 import io.cloudslang.score.api.ExecutionStep;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.commons.collections4.CollectionUtils;
 
-import static ch.lambdaj.Lambda.having;
-import static ch.lambdaj.Lambda.on;
-import static ch.lambdaj.Lambda.selectFirst;
-import static org.hamcrest.Matchers.equalTo;
 import static io.cloudslang.lang.compiler.utils.SlangSourceUtils.getNavigationStepName;
 import static io.cloudslang.lang.entities.ScoreLangConstants.STEP_NAVIGATION_OPTIONS_KEY;
 
@@ -108,16 +104,13 @@ public class ExecutionPlanBuilder {
         executionPlan.addStep(stepFactory.createEndStep(FLOW_END_STEP_ID, compiledFlow.getPostExecActionData(),
                 compiledFlow.getOutputs(), compiledFlow.getResults(), compiledFlow.getName(), ExecutableType.FLOW));
 
-        Map<String, Long> stepReferences = getStepReferences(compiledFlow);
-
         Deque<Step> steps = compiledFlow.getWorkflow().getSteps();
 
         if (CollectionUtils.isEmpty(steps)) {
             throw new RuntimeException("Flow: " + compiledFlow.getName() + " has no steps");
         }
 
-        List<ExecutionStep> stepExecutionSteps =
-                buildStepExecutionSteps(steps.getFirst(), stepReferences, steps, compiledFlow);
+        List<ExecutionStep> stepExecutionSteps = buildStepExecutionSteps(steps, compiledFlow);
         executionPlan.addSteps(stepExecutionSteps);
 
         return executionPlan;
@@ -131,24 +124,74 @@ public class ExecutionPlanBuilder {
         return stepReferences;
     }
 
-    private List<ExecutionStep> buildStepExecutionSteps(
-            Step step,
-            Map<String, Long> stepReferences, Deque<Step> steps,
-            Flow compiledFlow) {
-
+    /**
+     * Builds the execution steps of all the steps reachable from the first step of the flow.
+     * <p>
+     * The steps are visited depth first, in the order of their navigations, and each visited step gets the next
+     * range of ids. A step is finished only after all the steps it navigates to were given ids, which is done with
+     * an explicit stack of the steps in progress so deep flows do not depend on the depth of the call stack.
+     */
+    private List<ExecutionStep> buildStepExecutionSteps(Deque<Step> steps, Flow compiledFlow) {
+        Map<String, Step> stepsByName = new HashMap<>();
+        for (Step step : steps) {
+            // the first step with a given name is the one a navigation leads to
+            stepsByName.putIfAbsent(step.getName(), step);
+        }
+        Map<String, Long> stepReferences = getStepReferences(compiledFlow);
         List<ExecutionStep> stepExecutionSteps = new ArrayList<>();
 
-        String stepName = step.getName();
-        long currentId = getCurrentId(stepReferences, steps);
-        boolean parallelLoop = step.isParallelLoop();
+        Deque<StepInProgress> stepsInProgress = new ArrayDeque<>();
+        long nextId = FLOW_START_STEP_ID + 1L;
+        stepsInProgress.push(beginStepExecutionSteps(steps.getFirst(), nextId, stepReferences,
+                stepExecutionSteps, compiledFlow));
+        nextId += getNumberOfExecutionSteps(steps.getFirst());
+
+        while (!stepsInProgress.isEmpty()) {
+            StepInProgress stepInProgress = stepsInProgress.peek();
+            Map.Entry<String, Serializable> navigation = stepInProgress.getNextNavigation();
+            if (navigation == null) {
+                stepsInProgress.pop();
+                finishStepExecutionSteps(stepInProgress, stepExecutionSteps, compiledFlow);
+                continue;
+            }
 
-        //Begin Step
+            String nextStepName = getNavigationStepName(navigation.getValue());
+            Long nextStepId = stepReferences.get(nextStepName);
+            if (nextStepId == null) {
+                // the navigation is resolved once the next step has its ids
+                Step nextStepToCompile = stepsByName.get(nextStepName);
+                if (nextStepToCompile == null) {
+                    throw new RuntimeException("Step: " + stepInProgress.getStep().getName() + " of flow: " +
+                            compiledFlow.getName() + " navigates to unknown step: " + nextStepName);
+                }
+                stepsInProgress.push(beginStepExecutionSteps(nextStepToCompile, nextId, stepReferences,
+                        stepExecutionSteps, compiledFlow));
+                nextId += getNumberOfExecutionSteps(nextStepToCompile);
+                continue;
+            }
+
+            String presetResult = (FLOW_END_STEP_ID == nextStepId) ? nextStepName : null;
+            String navigationKey = navigation.getKey();
+            Map<String, ResultNavigation> navigationValues = stepInProgress.getNavigationValues();
+            if (!navigationValues.containsKey(navigationKey)) {
+                navigationValues.put(navigationKey, new ResultNavigation(nextStepId, presetResult));
+            }
+            addStepNavigationOptions(stepInProgress.getBeginStep(), navigation);
+            stepInProgress.navigationResolved();
+        }
+        return stepExecutionSteps;
+    }
+
+    private StepInProgress beginStepExecutionSteps(Step step, long firstId, Map<String, Long> stepReferences,
+                                                   List<ExecutionStep> stepExecutionSteps, Flow compiledFlow) {
+        String stepName = step.getName();
+        long currentId = firstId;
         stepReferences.put(stepName, currentId);
 
         ExecutionStep workerStep = createWorkerGroupStep(currentId++, step, inheritWorkerGroupFromFlow(
                 step, compiledFlow), step.getRobotGroup());
         stepExecutionSteps.add(workerStep);
-        if (parallelLoop) {
+        if (step.isParallelLoop()) {
             Long joinStepId = currentId + NUMBER_OF_PARALLEL_LOOP_EXECUTION_STEPS + 1;
             stepExecutionSteps.add(
                     stepFactory.createAddBranchesStep(currentId++, joinStepId, currentId,
@@ -159,37 +202,30 @@ public class ExecutionPlanBuilder {
         ExecutionStep executionStep = createBeginStep(currentId++, step, inheritWorkerGroupFromFlow(
                 step, compiledFlow));
         stepExecutionSteps.add(executionStep);
+        return new StepInProgress(step, currentId, executionStep);
+    }
 
-        //End Step
-        Map<String, ResultNavigation> navigationValues = new HashMap<>();
-        for (Map<String, Serializable> map : step.getNavigationStrings()) {
-            Map.Entry<String, Serializable> entry = map.entrySet().iterator().next();
-            String nextStepName = getNavigationStepName(entry.getValue());
-            if (stepReferences.get(nextStepName) == null) {
-                Step nextStepToCompile = selectFirst(steps, having(on(Step.class).getName(), equalTo(nextStepName)));
-                stepExecutionSteps.addAll(
-                        buildStepExecutionSteps(nextStepToCompile, stepReferences, steps, compiledFlow));
-            }
-            long nextStepId = stepReferences.get(nextStepName);
-            String presetResult = (FLOW_END_STEP_ID == nextStepId) ? nextStepName : null;
-            String navigationKey = entry.getKey();
-            if (!navigationValues.containsKey(navigationKey)) {
-                navigationValues.put(navigationKey, new ResultNavigation(nextStepId, presetResult));
-            }
-            addStepNavigationOptions(executionStep, entry);
-        }
-        if (parallelLoop) {
+    private void finishStepExecutionSteps(StepInProgress stepInProgress, List<ExecutionStep> stepExecutionSteps,
+                                          Flow compiledFlow) {
+        Step step = stepInProgress.getStep();
+        long currentId = stepInProgress.getFinishStepId();
+        if (step.isParallelLoop()) {
             stepExecutionSteps.add(createFinishStepStep(currentId++, step, new HashMap<>(),
                     inheritWorkerGroupFromFlow(step, compiledFlow), true));
             stepExecutionSteps.add(
                     stepFactory.createJoinBranchesStep(currentId, step.getPostStepActionData(),
-                            navigationValues, stepName)
+                            stepInProgress.getNavigationValues(), step.getName())
             );
         } else {
-            stepExecutionSteps.add(createFinishStepStep(currentId, step, navigationValues,
+            stepExecutionSteps.add(createFinishStepStep(currentId, step, stepInProgress.getNavigationValues(),
                     inheritWorkerGroupFromFlow(step, compiledFlow), false));
         }
-        return stepExecutionSteps;
+    }
+
+    private int getNumberOfExecutionSteps(Step step) {
+        return step.isParallelLoop() ?
+                NUMBER_OF_STEP_EXECUTION_STEPS + NUMBER_OF_PARALLEL_LOOP_EXECUTION_STEPS :
+                NUMBER_OF_STEP_EXECUTION_STEPS;
     }
 
     private String inheritWorkerGroupFromFlow(Step step, Flow flow) {
@@ -202,34 +238,6 @@ public class ExecutionPlanBuilder {
         }
     }
 
-    private long getCurrentId(Map<String, Long> stepReferences, Deque<Step> steps) {
-        Long currentId;
-
-        Map.Entry maxEntry = Collections.max(stepReferences.entrySet(), Map.Entry.comparingByValue());
-        long max = (long) maxEntry.getValue();
-        String referenceKey = (String) maxEntry.getKey();
-        Step step = null;
-        for (Step stepItem : steps) {
-            if (stepItem.getName().equals(referenceKey)) {
-                step = stepItem;
-                break;
-            }
-        }
-
-        if (step == null) {
-            // the reference is not a step - usually this means this is the first begin step
-            currentId = FLOW_START_STEP_ID + 1L;
-        } else if (!step.isParallelLoop()) {
-            // the reference is not a parallel loop step
-            currentId = max + NUMBER_OF_STEP_EXECUTION_STEPS;
-        } else {
-            //async step
-            currentId = max + NUMBER_OF_STEP_EXECUTION_STEPS + NUMBER_OF_PARALLEL_LOOP_EXECUTION_STEPS;
-        }
-
-        return currentId;
-    }
-
     private ExecutionStep createFinishStepStep(long currentId, Step step, Map<String,
             ResultNavigation> navigationValues, String workerGroup, boolean parallelLoop) {
         if (step instanceof ExternalStep) {
@@ -280,4 +288,50 @@ public class ExecutionPlanBuilder {
                     (Map) navigation.getValue()));
         }
     }
+
+    private static class StepInProgress {
+
+        private final Step step;
+        private final long finishStepId;
+        private final ExecutionStep beginStep;
+        private final Map<String, ResultNavigation> navigationValues = new HashMap<>();
+        private int resolvedNavigations;
+
+        StepInProgress(Step step, long finishStepId, ExecutionStep beginStep) {
+            this.step = step;
+            this.finishStepId = finishStepId;
+            this.beginStep = beginStep;
+        }
+
+        Step getStep() {
+            return step;
+        }
+
+        long getFinishStepId() {
+            return finishStepId;
+        }
+
+        ExecutionStep getBeginStep() {
+            return beginStep;
+        }
+
+        Map<String, ResultNavigation> getNavigationValues() {
+            return navigationValues;
+        }
+
+        /**
+         * @return the first navigation of the step that was not resolved yet, or null if all of them were
+         */
+        Map.Entry<String, Serializable> getNextNavigation() {
+            List<Map<String, Serializable>> navigationStrings = step.getNavigationStrings();
+            if (resolvedNavigations >= navigationStrings.size()) {
+                return null;
+            }
+            return navigationStrings.get(resolvedNavigations).entrySet().iterator().next();
+        }
+
+        void navigationResolved() {
+            resolvedNavigations++;
+        }
+    }
 }
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.scorecompiler;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.modeller.model.Flow;
+import io.cloudslang.lang.compiler.modeller.model.Step;
+import io.cloudslang.score.api.ExecutionPlan;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import java.util.function.Function;
+
+/**
+ * The execution plans compiled for the dependencies of earlier compilations.
+ * <p>
+ * A plan is kept for the executable model it was compiled from, together with the id and a structural hash of the
+ * model at that time. The precompile cache hands out the same model as long as its source is unchanged, so the
+ * plan is reused by every compilation that depends on it; a changed source is modelled again and its new model
+ * misses the cache, while the previous model and its plan are collected. The precompile cache also invalidates the
+ * plan of a model it replaces. The structural hash covers the steps of flows, so a model that was changed since its
+ * plan was compiled is compiled again.
+ * <p>
+ * Plans are mutable, so the cached plan is never handed out: every lookup returns a copy of it.
+ */
+public class ExecutionPlanCache {
+
+    private static final int MAXIMUM_SIZE = 1000;
+
+    private final Cache<Executable, CachedExecutionPlan> executionPlans = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(MAXIMUM_SIZE)
+            .concurrencyLevel(2 * Runtime.getRuntime().availableProcessors())
+            .build();
+
+    /**
+     * @param executable the executable model
+     * @param compiler   compiles the model when there is no plan for it or the model changed since
+     * @return a copy of the plan compiled for the model
+     */
+    public ExecutionPlan getExecutionPlan(Executable executable, Function<Executable, ExecutionPlan> compiler) {
+        // computed once per lookup, to check the cached plan and to store a new one
+        int structuralHash = getStructuralHash(executable);
+        CachedExecutionPlan cachedExecutionPlan = executionPlans.getIfPresent(executable);
+        if (cachedExecutionPlan == null || !cachedExecutionPlan.isCompiledFrom(executable.getId(), structuralHash)) {
+            cachedExecutionPlan = new CachedExecutionPlan(executable.getId(), structuralHash,
+                    compiler.apply(executable));
+            executionPlans.put(executable, cachedExecutionPlan);
+        }
+        return SerializationUtils.clone(cachedExecutionPlan.getExecutionPlan());
+    }
+
+    public void invalidate(Executable executable) {
+        executionPlans.invalidate(executable);
+    }
+
+    public void invalidateAll() {
+        executionPlans.invalidateAll();
+    }
+
+    static int getStructuralHash(Executable executable) {
+        HashCodeBuilder hashCodeBuilder = new HashCodeBuilder(17, 37)
+                .append(executable.getId())
+                .append(executable.getType())
+                .append(executable.hashCode());
+        if (executable instanceof Flow) {
+            Flow flow = (Flow) executable;
+            hashCodeBuilder.append(flow.getWorkerGroup());
+            for (Step step : flow.getWorkflow().getSteps()) {
+                hashCodeBuilder
+                        .append(step.getName())
+                        .append(step.getRefId())
+                        .append(step.getPreStepActionData())
+                        .append(step.getPostStepActionData())
+                        .append(step.getArguments())
+                        .append(step.getNavigationStrings())
+                        .append(step.getWorkerGroup())
+                        .append(step.getRobotGroup())
+                        .append(step.isParallelLoop());
+            }
+        }
+        return hashCodeBuilder.toHashCode();
+    }
+
+    private static class CachedExecutionPlan {
+
+        private final String executableId;
+        private final int structuralHash;
+        private final ExecutionPlan executionPlan;
+
+        CachedExecutionPlan(String executableId, int structuralHash, ExecutionPlan executionPlan) {
+            this.executableId = executableId;
+            this.structuralHash = structuralHash;
+            this.executionPlan = executionPlan;
+        }
+
+        boolean isCompiledFrom(String executableId, int structuralHash) {
+            return this.executableId.equals(executableId) && this.structuralHash == structuralHash;
+        }
+
+        ExecutionPlan getExecutionPlan() {
+            return executionPlan;
+        }
+    }
+}
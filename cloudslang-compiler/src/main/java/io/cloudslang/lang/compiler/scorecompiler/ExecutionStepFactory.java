@@ -10,6 +10,7 @@
 package io.cloudslang.lang.compiler.scorecompiler;
 
 import io.cloudslang.lang.compiler.SlangTextualKeys;
+import io.cloudslang.lang.compiler.modeller.BindingInterner;
 import io.cloudslang.lang.entities.ActionType;
 import io.cloudslang.lang.entities.ExecutableType;
 import io.cloudslang.lang.entities.ResultNavigation;
@@ -39,17 +40,21 @@ public class ExecutionStepFactory {
     private static final String NAVIGATION_ACTIONS_CLASS = "io.cloudslang.lang.runtime.navigations.Navigations";
     private static final String SIMPLE_NAVIGATION_METHOD = "navigate";
 
+    /**
+     * optional, shares the bindings and names of the steps between the execution plans when set
+     */
+    private BindingInterner bindingInterner;
 
     public ExecutionStep createBeginStepStep(Long index, List<Argument> stepInputs,
                                              Map<String, Serializable> preStepData, String refId, String stepName,
                                              String workerGroup) {
         Validate.notNull(preStepData, "preStepData is null");
         Map<String, Serializable> actionData = new HashMap<>();
-        actionData.put(ScoreLangConstants.STEP_INPUTS_KEY, (Serializable) stepInputs);
+        actionData.put(ScoreLangConstants.STEP_INPUTS_KEY, (Serializable) internBindings(stepInputs));
         actionData.put(ScoreLangConstants.LOOP_KEY, preStepData.get(SlangTextualKeys.FOR_KEY));
         actionData.put(ScoreLangConstants.HOOKS, "TBD");
-        actionData.put(ScoreLangConstants.NODE_NAME_KEY, stepName);
-        actionData.put(ScoreLangConstants.REF_ID, refId);
+        actionData.put(ScoreLangConstants.NODE_NAME_KEY, intern(stepName));
+        actionData.put(ScoreLangConstants.REF_ID, intern(refId));
         actionData.put(ScoreLangConstants.NEXT_STEP_ID_KEY, index + 1);
 
         if (workerGroup != null) {
@@ -92,7 +97,8 @@ public class ExecutionStepFactory {
             actionData.put(ScoreLangConstants.WORKER_GROUP, workerGroup);
         }
         if (!parallelLoop) {
-            actionData.put(ScoreLangConstants.STEP_PUBLISH_KEY, postStepData.get(SlangTextualKeys.PUBLISH_KEY));
+            actionData.put(ScoreLangConstants.STEP_PUBLISH_KEY,
+                    (Serializable) internBindings(postStepData.get(SlangTextualKeys.PUBLISH_KEY)));
         }
 
         ExecutionStep finishStep = createGeneralStep(index, STEP_EXECUTION_DATA_CLASS, "endStep", actionData);
@@ -112,7 +118,7 @@ public class ExecutionStepFactory {
         Validate.notNull(preExecutableData, "preExecutableData is null");
         Validate.notNull(execInputs, "Executable inputs are null");
         Map<String, Serializable> actionData = new HashMap<>();
-        actionData.put(ScoreLangConstants.EXECUTABLE_INPUTS_KEY, (Serializable) execInputs);
+        actionData.put(ScoreLangConstants.EXECUTABLE_INPUTS_KEY, (Serializable) internBindings(execInputs));
         actionData.put(ScoreLangConstants.HOOKS, (Serializable) preExecutableData);
         actionData.put(ScoreLangConstants.NODE_NAME_KEY, executableName);
         actionData.put(ScoreLangConstants.NEXT_STEP_ID_KEY, index + 1);
@@ -165,8 +171,8 @@ public class ExecutionStepFactory {
         Validate.notNull(outputs, "Executable outputs are null");
         Validate.notNull(results, "Executable results are null");
         Map<String, Serializable> actionData = new HashMap<>();
-        actionData.put(ScoreLangConstants.EXECUTABLE_OUTPUTS_KEY, (Serializable) outputs);
-        actionData.put(ScoreLangConstants.EXECUTABLE_RESULTS_KEY, (Serializable) results);
+        actionData.put(ScoreLangConstants.EXECUTABLE_OUTPUTS_KEY, (Serializable) internBindings(outputs));
+        actionData.put(ScoreLangConstants.EXECUTABLE_RESULTS_KEY, (Serializable) internBindings(results));
         actionData.put(ScoreLangConstants.HOOKS, (Serializable) postExecutableData);
         actionData.put(ScoreLangConstants.NODE_NAME_KEY, executableName);
         actionData.put(ScoreLangConstants.EXECUTABLE_TYPE, executableType);
@@ -178,8 +184,8 @@ public class ExecutionStepFactory {
                                                String refId, String stepName) {
         Validate.notNull(preStepData, "preStepData is null");
         Map<String, Serializable> actionData = new HashMap<>();
-        actionData.put(ScoreLangConstants.NODE_NAME_KEY, stepName);
-        actionData.put(ScoreLangConstants.REF_ID, refId);
+        actionData.put(ScoreLangConstants.NODE_NAME_KEY, intern(stepName));
+        actionData.put(ScoreLangConstants.REF_ID, intern(refId));
         actionData.put(ScoreLangConstants.NEXT_STEP_ID_KEY, nextStepId);
         actionData.put(ScoreLangConstants.BRANCH_BEGIN_STEP_ID_KEY, branchBeginStepId);
         actionData.put(ScoreLangConstants.PARALLEL_LOOP_STATEMENT_KEY,
@@ -202,6 +208,18 @@ public class ExecutionStepFactory {
         return createGeneralStep(index, PARALLEL_LOOP_STEPS_CLASS, "joinBranches", actionData);
     }
 
+    public void setBindingInterner(BindingInterner bindingInterner) {
+        this.bindingInterner = bindingInterner;
+    }
+
+    private Object internBindings(Object data) {
+        return bindingInterner == null ? data : bindingInterner.internBindings(data);
+    }
+
+    private String intern(String value) {
+        return bindingInterner == null ? value : bindingInterner.intern(value);
+    }
+
     private ExecutionStep createGeneralStep(
             Long stepId,
             String actionClassName,
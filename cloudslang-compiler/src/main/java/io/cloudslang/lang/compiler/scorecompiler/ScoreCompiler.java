@@ -51,6 +51,18 @@ public interface ScoreCompiler {
      */
     CompilationModellingResult compileSource(Executable source, Set<Executable> path);
 
+    /**
+     * Compile every {@link io.cloudslang.lang.compiler.modeller.model.Executable} of a repository, using all the
+     * given executables as the path of each one of them.
+     * The {@link io.cloudslang.score.api.ExecutionPlan} of every dependency is created once and shared by all
+     * the {@link io.cloudslang.lang.entities.CompilationArtifact}s that require it.
+     * Does not fail but returns all the accumulated exceptions.
+     *
+     * @param executables the {@link Executable}s of the repository
+     * @return the modelling result of every executable, in the order of the given executables
+     */
+    List<CompilationModellingResult> compileSources(List<Executable> executables);
+
     /**
      * Validate that the given {@link io.cloudslang.lang.compiler.modeller.model.Executable} is valid regarding
      * its wiring to its dependencies
@@ -9,9 +9,9 @@
  *******************************************************************************/
 package io.cloudslang.lang.compiler.scorecompiler;
 
-import ch.lambdaj.function.convert.Converter;
 import io.cloudslang.lang.compiler.SlangTextualKeys;
 import io.cloudslang.lang.compiler.modeller.DependenciesHelper;
+import io.cloudslang.lang.compiler.modeller.ExecutablesIndex;
 import io.cloudslang.lang.compiler.modeller.model.Decision;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.compiler.modeller.model.Flow;
@@ -27,17 +27,17 @@ import io.cloudslang.score.api.ExecutionPlan;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang.Validate;
 
-import static ch.lambdaj.Lambda.convertMap;
-
 
 public class ScoreCompilerImpl implements ScoreCompiler {
 
@@ -47,6 +47,11 @@ public class ScoreCompilerImpl implements ScoreCompiler {
 
     private CompileValidator compileValidator;
 
+    /**
+     * optional, the plans of the dependencies are compiled by every compilation when it is not set
+     */
+    private ExecutionPlanCache executionPlanCache;
+
     @Override
     public CompilationArtifact compile(Executable source, Set<Executable> path) {
         CompilationModellingResult compilationModellingResult = compileSource(source, path);
@@ -59,6 +64,13 @@ public class ScoreCompilerImpl implements ScoreCompiler {
 
     @Override
     public CompilationModellingResult compileSource(Executable executable, Set<Executable> path) {
+        return compileSource(executable, path, null, new IdentityHashMap<>(), newIdentitySet());
+    }
+
+    private CompilationModellingResult compileSource(Executable executable, Collection<Executable> path,
+                                                     ExecutablesIndex executablesIndex,
+                                                     Map<Executable, ExecutionPlan> dependencyPlans,
+                                                     Set<Executable> handledFlows) {
         List<RuntimeException> exceptions = new ArrayList<>();
         Map<String, Executable> filteredDependencies = new HashMap<>();
         //we handle dependencies only if the file has imports
@@ -73,15 +85,18 @@ public class ScoreCompilerImpl implements ScoreCompiler {
                 exceptions.add(ex);
             }
 
-            //we add the current executable since a dependency can require it
-            List<Executable> availableExecutables = new ArrayList<>(path);
-            availableExecutables.add(executable);
+            if (executablesIndex == null) {
+                //we add the current executable since a dependency can require it
+                List<Executable> availableExecutables = new ArrayList<>(path);
+                availableExecutables.add(executable);
+                executablesIndex = new ExecutablesIndex(availableExecutables);
+            }
 
             try {
                 //than we match the references to the actual dependencies
-                filteredDependencies = dependenciesHelper.matchReferences(executable, availableExecutables);
+                filteredDependencies = dependenciesHelper.matchReferences(executable, executablesIndex);
 
-                handleOnFailureCustomResults(executable, filteredDependencies);
+                handleOnFailureCustomResults(executable, filteredDependencies, handledFlows);
 
                 List<RuntimeException> errors =
                         compileValidator.validateModelWithDependencies(executable, filteredDependencies);
@@ -94,16 +109,18 @@ public class ScoreCompilerImpl implements ScoreCompiler {
 
         try {
             //next we create an execution plan for the required executable
-            ExecutionPlan executionPlan = compileToExecutionPlan(executable);
+            final ExecutionPlan executionPlan = compileToExecutionPlan(executable);
 
             //and also create execution plans for all other dependencies
-            Converter<Executable, ExecutionPlan> converter = new Converter<Executable, ExecutionPlan>() {
-                @Override
-                public ExecutionPlan convert(Executable compiledExecutable) {
-                    return compileToExecutionPlan(compiledExecutable);
+            Map<String, ExecutionPlan> dependencies = new HashMap<>();
+            for (Map.Entry<String, Executable> entry : filteredDependencies.entrySet()) {
+                ExecutionPlan dependencyPlan = dependencyPlans.get(entry.getValue());
+                if (dependencyPlan == null) {
+                    dependencyPlan = getDependencyExecutionPlan(entry.getValue());
+                    dependencyPlans.put(entry.getValue(), dependencyPlan);
                 }
-            };
-            Map<String, ExecutionPlan> dependencies = convertMap(filteredDependencies, converter);
+                dependencies.put(entry.getKey(), dependencyPlan);
+            }
             Collection<Executable> executables = new ArrayList<>(filteredDependencies.values());
             executables.add(executable);
 
@@ -119,10 +136,29 @@ public class ScoreCompilerImpl implements ScoreCompiler {
         return new CompilationModellingResult(null, exceptions);
     }
 
-    private void handleOnFailureCustomResults(Executable executable, Map<String, Executable> filteredDependencies) {
-        handleOnFailureStepCustomResults((Flow) executable, filteredDependencies);
+    @Override
+    public List<CompilationModellingResult> compileSources(List<Executable> executables) {
+        // shared by all the artifacts of the batch, so every reference is resolved
+        // and every dependency is compiled to an execution plan once
+        ExecutablesIndex executablesIndex = new ExecutablesIndex(executables);
+        Map<Executable, ExecutionPlan> dependencyPlans = new IdentityHashMap<>();
+        Set<Executable> handledFlows = newIdentitySet();
+
+        List<CompilationModellingResult> results = new ArrayList<>(executables.size());
+        for (Executable executable : executables) {
+            results.add(compileSource(executable, executables, executablesIndex, dependencyPlans, handledFlows));
+        }
+        return results;
+    }
+
+    private void handleOnFailureCustomResults(Executable executable, Map<String, Executable> filteredDependencies,
+                                              Set<Executable> handledFlows) {
+        // the custom results are added to the model itself, so every flow is handled once per compilation
+        if (handledFlows.add(executable)) {
+            handleOnFailureStepCustomResults((Flow) executable, filteredDependencies);
+        }
         for (Executable dependency : filteredDependencies.values()) {
-            if (dependency.getType().equals(SlangTextualKeys.FLOW_TYPE)) {
+            if (dependency.getType().equals(SlangTextualKeys.FLOW_TYPE) && handledFlows.add(dependency)) {
                 handleOnFailureStepCustomResults((Flow) dependency, filteredDependencies);
             }
         }
@@ -132,14 +168,31 @@ public class ScoreCompilerImpl implements ScoreCompiler {
         Step onFailureStep = getOnFailureStep(executable);
         if (onFailureStep != null) {
             Executable onFailureDependency = filteredDependencies.get(onFailureStep.getRefId());
+            List<Map<String, Serializable>> navigationStrings = onFailureStep.getNavigationStrings();
             for (Result result : onFailureDependency.getResults()) {
-                Map<String, Serializable> navigationString = new HashMap<>();
-                navigationString.put(result.getName(), ScoreLangConstants.FAILURE_RESULT);
-                onFailureStep.getNavigationStrings().add(navigationString);
+                // a flow compiled again keeps the navigations added by its previous compilations
+                if (!hasNavigation(navigationStrings, result.getName())) {
+                    Map<String, Serializable> navigationString = new HashMap<>();
+                    navigationString.put(result.getName(), ScoreLangConstants.FAILURE_RESULT);
+                    navigationStrings.add(navigationString);
+                }
             }
         }
     }
 
+    private boolean hasNavigation(List<Map<String, Serializable>> navigationStrings, String resultName) {
+        for (Map<String, Serializable> navigationString : navigationStrings) {
+            if (navigationString.containsKey(resultName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<Executable> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<Executable, Boolean>());
+    }
+
     private Step getOnFailureStep(Flow flow) {
         Deque<Step> stepDeque = flow.getWorkflow().getSteps();
         for (Step step : stepDeque) {
@@ -183,6 +236,17 @@ public class ScoreCompilerImpl implements ScoreCompiler {
         }
     }
 
+    /**
+     * The plan of a dependency is taken from the execution plan cache when the dependency was already compiled by
+     * an earlier compilation.
+     */
+    private ExecutionPlan getDependencyExecutionPlan(Executable dependency) {
+        if (executionPlanCache == null) {
+            return compileToExecutionPlan(dependency);
+        }
+        return executionPlanCache.getExecutionPlan(dependency, this::compileToExecutionPlan);
+    }
+
     private Set<String> getSystemPropertiesFromExecutables(Collection<Executable> executables) {
         Set<String> result = new HashSet<>();
         for (Executable executable : executables) {
@@ -202,4 +266,8 @@ public class ScoreCompilerImpl implements ScoreCompiler {
     public void setCompileValidator(CompileValidator compileValidator) {
         this.compileValidator = compileValidator;
     }
+
+    public void setExecutionPlanCache(ExecutionPlanCache executionPlanCache) {
+        this.executionPlanCache = executionPlanCache;
+    }
 }
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.utils;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * The thread pools of the compiler and of the tools built on it. Parallelism is opt-in: a pool is only created when
+ * its thread count property is set to 2 or more, otherwise the work is done in the calling thread.
+ */
+public abstract class ExecutorUtils {
+
+    /**
+     * @param threadCountProperty the system property holding the number of threads
+     * @param nameFormat          the name format of the threads, e.g. {@code slang-precompile-%d}
+     * @return a pool of daemon threads, or null if the property is not set or is lower than 2
+     */
+    public static ExecutorService newExecutor(String threadCountProperty, String nameFormat) {
+        int threadCount = Integer.getInteger(threadCountProperty, 1);
+        if (threadCount < 2) {
+            return null;
+        }
+        return Executors.newFixedThreadPool(threadCount, new ThreadFactoryBuilder()
+                .setNameFormat(nameFormat)
+                .setDaemon(true)
+                .build());
+    }
+
+    /**
+     * Runs the processor for every item, on the executor if there is one and more than one item, otherwise in the
+     * calling thread. The first failure, in the order of the items, is rethrown and the remaining tasks are
+     * cancelled.
+     *
+     * @param executor  the pool to run the processor on, or null
+     * @param items     the items to process
+     * @param processor the processor of an item
+     * @param <T>       the type of the items
+     * @param <R>       the type of the results
+     * @return the results, in the order of the items
+     */
+    public static <T, R> List<R> processAll(ExecutorService executor, Collection<? extends T> items,
+                                            Function<? super T, ? extends R> processor) {
+        List<R> results = new ArrayList<>(items.size());
+        if (executor == null || items.size() < 2) {
+            for (T item : items) {
+                results.add(processor.apply(item));
+            }
+            return results;
+        }
+
+        List<Future<? extends R>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(executor.submit(() -> processor.apply(item)));
+        }
+        try {
+            for (Future<? extends R> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for parallel tasks", ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        } finally {
+            for (Future<? extends R> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @param executor the pool to shut down, or null
+     */
+    public static void shutdown(ExecutorService executor) {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -17,7 +17,9 @@ import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import org.apache.commons.lang3.StringUtils;
 
+import static io.cloudslang.lang.compiler.SlangTextualKeys.NAMESPACE_KEY;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.NEXT_STEP;
 
 /**
@@ -25,6 +27,9 @@ import static io.cloudslang.lang.compiler.SlangTextualKeys.NEXT_STEP;
  * @since 3/22/2017
  */
 public abstract class SlangSourceUtils {
+
+    private static final String NAMESPACE_PREFIX = NAMESPACE_KEY + ":";
+
     public static List<String> readLines(SlangSource source) {
         List<String> lines = new ArrayList<>();
         try (BufferedReader reader = new BufferedReader(new StringReader(source.getContent()))) {
@@ -39,6 +44,35 @@ public abstract class SlangSourceUtils {
         return lines;
     }
 
+    /**
+     * Reads the namespace of a source from its top level <code>namespace</code> line, without parsing the source.
+     * The lines of a source that is not loaded yet are streamed from its file up to the namespace line, the source
+     * stays unloaded.
+     *
+     * @param source the source
+     * @return the namespace, or null if the source has no such line
+     */
+    public static String readNamespace(SlangSource source) {
+        try (BufferedReader reader = source.openContentReader()) {
+            String nextLine = getNextLine(reader);
+            while (nextLine != null) {
+                if (nextLine.startsWith(NAMESPACE_PREFIX)) {
+                    String namespace = nextLine.substring(NAMESPACE_PREFIX.length());
+                    int commentIndex = namespace.indexOf(" #");
+                    if (commentIndex >= 0) {
+                        namespace = namespace.substring(0, commentIndex);
+                    }
+                    namespace = StringUtils.strip(namespace.trim(), "'\"");
+                    return StringUtils.isEmpty(namespace) ? null : namespace;
+                }
+                nextLine = reader.readLine();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading " + source.getName() + ":" + e.getMessage(), e);
+        }
+        return null;
+    }
+
     private static String getNextLine(BufferedReader reader) throws IOException {
         return reader.readLine();
     }
@@ -12,136 +12,261 @@ package io.cloudslang.lang.compiler.validator;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.SlangTextualKeys;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
-import io.cloudslang.lang.compiler.modeller.model.ExternalStep;
 import io.cloudslang.lang.compiler.modeller.model.Flow;
 import io.cloudslang.lang.compiler.modeller.model.Step;
+import io.cloudslang.lang.compiler.utils.ExecutorUtils;
+import io.cloudslang.lang.compiler.validator.StepValidationContext.Index;
+import io.cloudslang.lang.compiler.validator.StepValidationContext.ReferenceIndex;
 import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.bindings.Argument;
-import io.cloudslang.lang.entities.bindings.Input;
 import io.cloudslang.lang.entities.bindings.Output;
-import io.cloudslang.lang.entities.bindings.Result;
-import io.cloudslang.lang.entities.utils.ArgumentUtils;
-import io.cloudslang.lang.entities.utils.InputUtils;
 import io.cloudslang.lang.entities.utils.ListUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.python.google.common.collect.Lists;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 public class CompileValidatorImpl extends AbstractValidator implements CompileValidator {
 
     public static final String DUPLICATE_EXECUTABLE_FOUND = "Duplicate executable found: '%s'";
 
+    public static final String SLANG_VALIDATOR_THREAD_COUNT = "slang.compiler.validator.thread.count";
+
+    public static final String SLANG_VALIDATOR_FAIL_FAST = "slang.compiler.validator.fail.fast";
+
+    private final List<StepValidationRule> stepValidationRules;
+
+    /**
+     * the indexes declared by the rules, only those are built for the steps
+     */
+    private final Set<Index> requiredIndexes;
+
+    private boolean failFast = Boolean.getBoolean(SLANG_VALIDATOR_FAIL_FAST);
+
+    private ExecutorService validationExecutor;
+
+    public CompileValidatorImpl() {
+        this(Collections.<StepValidationRule>emptyList());
+    }
+
+    /**
+     * @param additionalStepValidationRules rules run for every step after the built in ones
+     */
+    public CompileValidatorImpl(List<StepValidationRule> additionalStepValidationRules) {
+        List<StepValidationRule> rules = new ArrayList<>();
+        rules.add(declareRule(EnumSet.of(Index.REFERENCE_MANDATORY_INPUT_NAMES, Index.DEFINED_ARGUMENT_NAMES),
+                this::validateMandatoryInputsAreWired));
+        rules.add(declareRule(EnumSet.noneOf(Index.class),
+                this::validateStepInputNamesDifferentFromDependencyOutputNames));
+        rules.add(declareRule(EnumSet.of(Index.NAVIGATION_KEYS, Index.REFERENCE_RESULT_NAMES),
+                this::validateNavigationSectionAgainstDependencyResults));
+        rules.add(declareRule(EnumSet.of(Index.REFERENCE_RESULT_NAMES), this::validateBreakSection));
+        rules.addAll(additionalStepValidationRules);
+        this.stepValidationRules = Collections.unmodifiableList(rules);
+
+        Set<Index> indexes = EnumSet.noneOf(Index.class);
+        for (StepValidationRule rule : stepValidationRules) {
+            indexes.addAll(rule.getRequiredIndexes());
+        }
+        this.requiredIndexes = Collections.unmodifiableSet(indexes);
+    }
+
+    @PostConstruct
+    public void initializeValidationExecutor() {
+        validationExecutor = ExecutorUtils.newExecutor(SLANG_VALIDATOR_THREAD_COUNT, "slang-validator-%d");
+    }
+
+    @PreDestroy
+    public void destroy() {
+        ExecutorUtils.shutdown(validationExecutor);
+        validationExecutor = null;
+    }
+
     @Override
     public List<RuntimeException> validateModelWithDependencies(
             Executable executable,
             Map<String, Executable> filteredDependencies) {
         Map<String, Executable> dependencies = new HashMap<>(filteredDependencies);
         dependencies.put(executable.getId(), executable);
-        Set<Executable> verifiedExecutables = new HashSet<>();
-        return validateModelWithDependencies(executable, dependencies, verifiedExecutables,
-                new ArrayList<RuntimeException>(), true);
+        return validateSteps(collectStepValidations(executable, dependencies, true));
     }
 
-    private List<RuntimeException> validateModelWithDependencies(
-            Executable executable,
-            Map<String, Executable> dependencies,
-            Set<Executable> verifiedExecutables,
-            List<RuntimeException> errors,
-            boolean recursive) {
+    @Override
+    public List<RuntimeException> validateModelWithDirectDependencies(Executable executable,
+                                                                      Map<String, Executable> directDependencies) {
+        return validateSteps(collectStepValidations(executable, directDependencies, false));
+    }
+
+    @Override
+    public List<RuntimeException> validateNoDuplicateExecutables(
+            Executable currentExecutable,
+            SlangSource currentSource,
+            Map<Executable, SlangSource> allAvailableExecutables) {
+        List<RuntimeException> errors = new ArrayList<>();
+        for (Map.Entry<Executable, SlangSource> entry : allAvailableExecutables.entrySet()) {
+            Executable executable = entry.getKey();
+            if (currentExecutable.getId().equalsIgnoreCase(executable.getId()) &&
+                    !currentSource.equals(entry.getValue())) {
+                errors.add(new RuntimeException(String.format(DUPLICATE_EXECUTABLE_FOUND, currentExecutable.getId())));
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * @param failFast whether validation stops at the first error, so editors and the CLI can report it sooner
+     */
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
+    }
+
+    /**
+     * @return the validations of the steps, grouped by flow
+     */
+    private List<List<StepValidationContext>> collectStepValidations(Executable executable,
+                                                                     Map<String, Executable> dependencies,
+                                                                     boolean recursive) {
+        List<List<StepValidationContext>> flowValidations = new ArrayList<>();
+        collectStepValidations(executable, dependencies, recursive, new HashSet<Executable>(),
+                new IdentityHashMap<Executable, ReferenceIndex>(), flowValidations);
+        return flowValidations;
+    }
+
+    private void collectStepValidations(Executable executable,
+                                        Map<String, Executable> dependencies,
+                                        boolean recursive,
+                                        Set<Executable> verifiedExecutables,
+                                        Map<Executable, ReferenceIndex> referenceIndexes,
+                                        List<List<StepValidationContext>> flowValidations) {
         //validate that all required & non private parameters with no default value of a reference are provided
         if (!SlangTextualKeys.FLOW_TYPE.equals(executable.getType()) || verifiedExecutables.contains(executable)) {
-            return errors;
+            return;
         }
         verifiedExecutables.add(executable);
 
         Flow flow = (Flow) executable;
         Collection<Step> steps = flow.getWorkflow().getSteps();
         Set<Executable> flowReferences = new HashSet<>();
+        List<StepValidationContext> stepValidations = new ArrayList<>();
 
         for (Step step : steps) {
             // validate all steps, except external steps, that are not in the dependencies list
             if (step.requiresValidation()) {
                 Executable reference = dependencies.get(step.getRefId());
-                errors.addAll(validateStepAgainstItsDependency(flow, step, dependencies));
+                if (reference == null) {
+                    throw new RuntimeException("Dependency " + step.getRefId() + " used by step: " +
+                            step.getName() + " must be supplied for validation");
+                }
+                ReferenceIndex referenceIndex = referenceIndexes.get(reference);
+                if (referenceIndex == null) {
+                    referenceIndex = new ReferenceIndex(reference, requiredIndexes);
+                    referenceIndexes.put(reference, referenceIndex);
+                }
+                stepValidations.add(new StepValidationContext(flow, step, referenceIndex, requiredIndexes));
                 flowReferences.add(reference);
             }
         }
+        if (!stepValidations.isEmpty()) {
+            flowValidations.add(stepValidations);
+        }
 
         if (recursive) {
             for (Executable reference : flowReferences) {
-                validateModelWithDependencies(reference, dependencies, verifiedExecutables, errors, true);
+                collectStepValidations(reference, dependencies, true, verifiedExecutables, referenceIndexes,
+                        flowValidations);
             }
         }
-        return errors;
     }
 
-    @Override
-    public List<RuntimeException> validateModelWithDirectDependencies(Executable executable,
-                                                                      Map<String, Executable> directDependencies) {
+    /**
+     * The steps of a flow are validated by the same task, the errors are returned in the order of the steps.
+     */
+    private List<RuntimeException> validateSteps(List<List<StepValidationContext>> flowValidations) {
         List<RuntimeException> errors = new ArrayList<>();
-        Set<Executable> verifiedExecutables = new HashSet<>();
-        return validateModelWithDependencies(executable, directDependencies, verifiedExecutables, errors, false);
+        if (failFast) {
+            for (List<StepValidationContext> stepValidations : flowValidations) {
+                errors.addAll(validateFlowSteps(stepValidations));
+                if (!errors.isEmpty()) {
+                    return new ArrayList<>(errors.subList(0, 1));
+                }
+            }
+            return errors;
+        }
+
+        for (List<RuntimeException> flowErrors :
+                ExecutorUtils.processAll(validationExecutor, flowValidations, this::validateFlowSteps)) {
+            errors.addAll(flowErrors);
+        }
+        return errors;
     }
 
-    @Override
-    public List<RuntimeException> validateNoDuplicateExecutables(
-            Executable currentExecutable,
-            SlangSource currentSource,
-            Map<Executable, SlangSource> allAvailableExecutables) {
+    private List<RuntimeException> validateFlowSteps(List<StepValidationContext> stepValidations) {
         List<RuntimeException> errors = new ArrayList<>();
-        for (Map.Entry<Executable, SlangSource> entry : allAvailableExecutables.entrySet()) {
-            Executable executable = entry.getKey();
-            if (currentExecutable.getId().equalsIgnoreCase(executable.getId()) &&
-                    !currentSource.equals(entry.getValue())) {
-                errors.add(new RuntimeException(String.format(DUPLICATE_EXECUTABLE_FOUND, currentExecutable.getId())));
+        for (StepValidationContext stepValidation : stepValidations) {
+            errors.addAll(validateStep(stepValidation));
+            if (failFast && !errors.isEmpty()) {
+                break;
             }
         }
         return errors;
     }
 
-    private List<RuntimeException> validateStepAgainstItsDependency(Flow flow, Step step,
-                                                                    Map<String, Executable> dependencies) {
+    private List<RuntimeException> validateStep(StepValidationContext context) {
         List<RuntimeException> errors = new ArrayList<>();
-        String refId = step.getRefId();
-        Executable reference = dependencies.get(refId);
-        if (reference == null) {
-            throw new RuntimeException("Dependency " + step.getRefId() + " used by step: " + step.getName() +
-                    " must be supplied for validation");
+        for (StepValidationRule stepValidationRule : stepValidationRules) {
+            stepValidationRule.validate(context, errors);
+            if (failFast && !errors.isEmpty()) {
+                break;
+            }
         }
-        errors.addAll(validateMandatoryInputsAreWired(flow, step, reference));
-        errors.addAll(validateStepInputNamesDifferentFromDependencyOutputNames(flow, step, reference));
-        errors.addAll(validateNavigationSectionAgainstDependencyResults(flow, step, reference));
-        errors.addAll(validateBreakSection(flow, step, reference));
         return errors;
     }
 
-    private List<RuntimeException> validateBreakSection(Flow parentFlow, Step step, Executable reference) {
-        List<RuntimeException> errors = new ArrayList<>();
+    private static StepValidationRule declareRule(Set<Index> requiredIndexes, StepValidationRule rule) {
+        return new StepValidationRule() {
+            @Override
+            public void validate(StepValidationContext context, List<RuntimeException> errors) {
+                rule.validate(context, errors);
+            }
+
+            @Override
+            public Set<Index> getRequiredIndexes() {
+                return requiredIndexes;
+            }
+        };
+    }
+
+    private void validateBreakSection(StepValidationContext context, List<RuntimeException> errors) {
+        Step step = context.getStep();
         @SuppressWarnings("unchecked") // from BreakTransformer
                 List<String> breakValues = (List<String>) step.getPostStepActionData().get(SlangTextualKeys.BREAK_KEY);
 
         if (isForLoop(step, breakValues)) {
-            List<String> referenceResultNames = getResultNames(reference);
-            Collection<String> nonExistingResults = ListUtils.subtract(breakValues, referenceResultNames);
+            Collection<String> nonExistingResults = ListUtils.subtract(breakValues,
+                    context.getReferenceResultNames());
 
             if (CollectionUtils.isNotEmpty(nonExistingResults)) {
-                errors.add(new IllegalArgumentException("Cannot compile flow '" + parentFlow.getId() +
+                errors.add(new IllegalArgumentException("Cannot compile flow '" + context.getFlow().getId() +
                         "' since in step '" + step.getName() + "' the results " +
                         nonExistingResults + " declared in '" + SlangTextualKeys.BREAK_KEY +
-                        "' section are not declared in the dependency '" + reference.getId() + "' result section."));
+                        "' section are not declared in the dependency '" + context.getReference().getId() +
+                        "' result section."));
             }
         }
-
-        return errors;
     }
 
     private boolean isForLoop(Step step, List<String> breakValuesList) {
@@ -149,33 +274,23 @@ public class CompileValidatorImpl extends AbstractValidator implements CompileVa
         return (forData != null) && CollectionUtils.isNotEmpty(breakValuesList);
     }
 
-    private List<RuntimeException> validateNavigationSectionAgainstDependencyResults(Flow flow, Step step,
-                                                                                     Executable reference) {
-        List<RuntimeException> errors = new ArrayList<>();
-        String refId = step.getRefId();
-        if (reference == null) {
-            errors.add(new IllegalArgumentException(
-                    getErrorMessagePrefix(flow, step) + " the dependency '" + refId + "' is missing."
-            ));
-        } else {
-            if (!step.isOnFailureStep()) { // on_failure step cannot have navigation section
-                validateResultNamesAndNavigationSection(flow, step, refId, reference, errors);
-            }
+    private void validateNavigationSectionAgainstDependencyResults(StepValidationContext context,
+                                                                   List<RuntimeException> errors) {
+        if (!context.getStep().isOnFailureStep()) { // on_failure step cannot have navigation section
+            validateResultNamesAndNavigationSection(context, errors);
         }
-        return errors;
     }
 
-    private void validateResultNamesAndNavigationSection(Flow flow, Step step, String refId,
-                                                         Executable reference, List<RuntimeException> errors) {
-        List<String> stepNavigationKeys = getMapKeyList(step.getNavigationStrings());
-        List<String> refResults = mapResultsToNames(reference.getResults());
-        List<String> possibleResults;
-
-        possibleResults = getPossibleResults(step, refResults);
+    private void validateResultNamesAndNavigationSection(StepValidationContext context,
+                                                         List<RuntimeException> errors) {
+        Flow flow = context.getFlow();
+        Step step = context.getStep();
+        String refId = step.getRefId();
+        List<String> stepNavigationKeys = context.getNavigationKeys();
+        List<String> possibleResults = getPossibleResults(step, context.getReferenceResultNames());
 
         List<String> stepNavigationKeysWithoutMatchingResult = ListUtils.subtract(stepNavigationKeys, possibleResults);
         List<String> refResultsWithoutMatchingNavigation = ListUtils.subtract(possibleResults, stepNavigationKeys);
-
         if (CollectionUtils.isNotEmpty(refResultsWithoutMatchingNavigation)) {
             if (step.isParallelLoop()) {
                 errors.add(new IllegalArgumentException(
@@ -227,57 +342,20 @@ public class CompileValidatorImpl extends AbstractValidator implements CompileVa
                 "' since for step '" + step.getName() + "'";
     }
 
-    private List<String> getMapKeyList(List<Map<String, Serializable>> collection) {
-        List<String> result = new ArrayList<>();
-        for (Map<String, Serializable> element : collection) {
-            result.add(element.keySet().iterator().next());
-        }
-        return result;
-    }
-
-    private List<String> mapResultsToNames(List<Result> results) {
-        List<String> resultNames = new ArrayList<>();
-        for (Result element : results) {
-            resultNames.add(element.getName());
-        }
-        return resultNames;
-    }
-
-    private List<RuntimeException> validateStepInputNamesDifferentFromDependencyOutputNames(Flow flow, Step step,
-                                                                                            Executable reference) {
-        List<RuntimeException> errors = new ArrayList<>();
+    private void validateStepInputNamesDifferentFromDependencyOutputNames(StepValidationContext context,
+                                                                          List<RuntimeException> errors) {
+        Step step = context.getStep();
         List<Argument> stepArguments = step.getArguments();
-        List<Output> outputs = reference.getOutputs();
-        String errorMessage = "Cannot compile flow '" + flow.getId() +
+        List<Output> outputs = context.getReference().getOutputs();
+        String errorMessage = "Cannot compile flow '" + context.getFlow().getId() +
                 "'. Step '" + step.getName() +
                 "' has input '" + NAME_PLACEHOLDER +
-                "' with the same name as the one of the outputs of '" + reference.getId() + "'.";
+                "' with the same name as the one of the outputs of '" + context.getReference().getId() + "'.";
         try {
             validateListsHaveMutuallyExclusiveNames(stepArguments, outputs, errorMessage);
         } catch (RuntimeException e) {
             errors.add(e);
         }
-        return errors;
-    }
-
-    private List<String> getMandatoryInputNames(Executable executable) {
-        List<String> inputNames = new ArrayList<>();
-        for (Input input : executable.getInputs()) {
-            if (InputUtils.isMandatory(input)) {
-                inputNames.add(input.getName());
-            }
-        }
-        return inputNames;
-    }
-
-    private List<String> getStepInputNamesWithNonEmptyValue(Step step) {
-        List<String> inputNames = new ArrayList<>();
-        for (Argument argument : step.getArguments()) {
-            if (ArgumentUtils.isDefined(argument)) {
-                inputNames.add(argument.getName());
-            }
-        }
-        return inputNames;
     }
 
     private List<String> getInputsNotWired(List<String> mandatoryInputNames, List<String> stepInputNames) {
@@ -286,17 +364,13 @@ public class CompileValidatorImpl extends AbstractValidator implements CompileVa
         return inputsNotWired;
     }
 
-    private List<RuntimeException> validateMandatoryInputsAreWired(Flow flow, Step step, Executable reference) {
-        List<RuntimeException> errors = new ArrayList<>();
-        List<String> mandatoryInputNames = getMandatoryInputNames(reference);
-        List<String> stepInputNames = getStepInputNamesWithNonEmptyValue(step);
-        List<String> inputsNotWired = getInputsNotWired(mandatoryInputNames, stepInputNames);
+    private void validateMandatoryInputsAreWired(StepValidationContext context, List<RuntimeException> errors) {
+        List<String> inputsNotWired = getInputsNotWired(context.getReferenceMandatoryInputNames(),
+                context.getDefinedArgumentNames());
         if (!CollectionUtils.isEmpty(inputsNotWired)) {
-            errors.add(new IllegalArgumentException(
-                    prepareErrorMessageValidateInputNamesEmpty(inputsNotWired, flow, step, reference))
-            );
+            errors.add(new IllegalArgumentException(prepareErrorMessageValidateInputNamesEmpty(inputsNotWired,
+                    context.getFlow(), context.getStep(), context.getReference())));
         }
-        return errors;
     }
 
     private String prepareErrorMessageValidateInputNamesEmpty(List<String> inputsNotWired, Flow flow,
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.validator;
+
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.modeller.model.Flow;
+import io.cloudslang.lang.compiler.modeller.model.Step;
+import io.cloudslang.lang.entities.bindings.Argument;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.lang.entities.bindings.Result;
+import io.cloudslang.lang.entities.utils.ArgumentUtils;
+import io.cloudslang.lang.entities.utils.InputUtils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The data the {@link StepValidationRule}s check a step with. Only the {@link Index}es required by the rules are
+ * built. The names taken from the referenced executable are indexed once per executable and shared by all the steps
+ * referencing it.
+ */
+public class StepValidationContext {
+
+    /**
+     * The names a rule can read from the context, besides the models themselves.
+     */
+    public enum Index {
+        NAVIGATION_KEYS,
+        DEFINED_ARGUMENT_NAMES,
+        REFERENCE_RESULT_NAMES,
+        REFERENCE_MANDATORY_INPUT_NAMES
+    }
+
+    private final Flow flow;
+    private final Step step;
+    private final ReferenceIndex referenceIndex;
+    private final List<String> navigationKeys;
+    private final List<String> definedArgumentNames;
+
+    StepValidationContext(Flow flow, Step step, ReferenceIndex referenceIndex, Set<Index> indexes) {
+        this.flow = flow;
+        this.step = step;
+        this.referenceIndex = referenceIndex;
+        this.navigationKeys = indexes.contains(Index.NAVIGATION_KEYS) ?
+                Collections.unmodifiableList(indexNavigationKeys(step)) : null;
+        this.definedArgumentNames = indexes.contains(Index.DEFINED_ARGUMENT_NAMES) ?
+                Collections.unmodifiableList(indexDefinedArgumentNames(step)) : null;
+    }
+
+    public Flow getFlow() {
+        return flow;
+    }
+
+    public Step getStep() {
+        return step;
+    }
+
+    public Executable getReference() {
+        return referenceIndex.reference;
+    }
+
+    /**
+     * @return the names of the results of the reference, in declaration order
+     */
+    public List<String> getReferenceResultNames() {
+        return checkIndexed(referenceIndex.resultNames, Index.REFERENCE_RESULT_NAMES);
+    }
+
+    /**
+     * @return the names of the inputs of the reference that are required, not private and have no default value
+     */
+    public List<String> getReferenceMandatoryInputNames() {
+        return checkIndexed(referenceIndex.mandatoryInputNames, Index.REFERENCE_MANDATORY_INPUT_NAMES);
+    }
+
+    /**
+     * @return the keys of the navigation section of the step
+     */
+    public List<String> getNavigationKeys() {
+        return checkIndexed(navigationKeys, Index.NAVIGATION_KEYS);
+    }
+
+    /**
+     * @return the names of the step inputs that have a value
+     */
+    public List<String> getDefinedArgumentNames() {
+        return checkIndexed(definedArgumentNames, Index.DEFINED_ARGUMENT_NAMES);
+    }
+
+    private static List<String> checkIndexed(List<String> names, Index index) {
+        if (names == null) {
+            throw new IllegalStateException("Index " + index + " is not required by any step validation rule");
+        }
+        return names;
+    }
+
+    private static List<String> indexNavigationKeys(Step step) {
+        List<String> keys = new ArrayList<>();
+        for (Map<String, Serializable> navigation : step.getNavigationStrings()) {
+            keys.add(navigation.keySet().iterator().next());
+        }
+        return keys;
+    }
+
+    private static List<String> indexDefinedArgumentNames(Step step) {
+        List<String> names = new ArrayList<>();
+        for (Argument argument : step.getArguments()) {
+            if (ArgumentUtils.isDefined(argument)) {
+                names.add(argument.getName());
+            }
+        }
+        return names;
+    }
+
+    static class ReferenceIndex {
+
+        private final Executable reference;
+        private final List<String> resultNames;
+        private final List<String> mandatoryInputNames;
+
+        ReferenceIndex(Executable reference, Set<Index> indexes) {
+            this.reference = reference;
+            this.resultNames = indexes.contains(Index.REFERENCE_RESULT_NAMES) ?
+                    Collections.unmodifiableList(indexResultNames(reference)) : null;
+            this.mandatoryInputNames = indexes.contains(Index.REFERENCE_MANDATORY_INPUT_NAMES) ?
+                    Collections.unmodifiableList(indexMandatoryInputNames(reference)) : null;
+        }
+
+        private static List<String> indexResultNames(Executable reference) {
+            List<String> names = new ArrayList<>();
+            for (Result result : reference.getResults()) {
+                names.add(result.getName());
+            }
+            return names;
+        }
+
+        private static List<String> indexMandatoryInputNames(Executable reference) {
+            List<String> names = new ArrayList<>();
+            for (Input input : reference.getInputs()) {
+                if (InputUtils.isMandatory(input)) {
+                    names.add(input.getName());
+                }
+            }
+            return names;
+        }
+    }
+}
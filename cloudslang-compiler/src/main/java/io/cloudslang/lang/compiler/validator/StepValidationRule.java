@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.validator;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A check of a flow step against the executable it references, run by the {@link CompileValidator}.
+ * <p>
+ * Rules only read the models and the indexes of the {@link StepValidationContext}, so the rules of different steps
+ * can run at the same time. A rule declares the indexes it reads, only the indexes declared by one of the rules
+ * are built.
+ */
+public interface StepValidationRule {
+
+    /**
+     * @param context the step, its flow and its reference, with the indexes built for them
+     * @param errors  the list to add the errors found to
+     */
+    void validate(StepValidationContext context, List<RuntimeException> errors);
+
+    /**
+     * @return the indexes of the context the rule reads, all of them unless the rule declares fewer
+     */
+    default Set<StepValidationContext.Index> getRequiredIndexes() {
+        return EnumSet.allOf(StepValidationContext.Index.class);
+    }
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler;
+
+import com.google.common.collect.Sets;
+import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
+import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.lang.entities.CompilationArtifactFormat;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = SlangCompilerSpringConfig.class)
+public class CompilationArtifactFormatCompileTest {
+
+    @Autowired
+    private SlangCompiler compiler;
+
+    @Test
+    public void testCompiledFlowWriteAndRead() throws Exception {
+        URI flow = getClass().getResource("/functions/system_property_dependencies_flow.sl").toURI();
+        URI operation = getClass().getResource("/functions/system_property_dependencies_op.sl").toURI();
+        Set<SlangSource> path = Sets.newHashSet(SlangSource.fromFile(operation));
+        CompilationArtifact compilationArtifact = compiler.compile(SlangSource.fromFile(flow), path);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CompilationArtifactFormat.write(compilationArtifact, out);
+        CompilationArtifact readArtifact = CompilationArtifactFormat.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertFalse(compilationArtifact.getDependencies().isEmpty());
+        assertFalse(compilationArtifact.getSystemProperties().isEmpty());
+        assertEquals(compilationArtifact.getExecutionPlan(), readArtifact.getExecutionPlan());
+        assertEquals(compilationArtifact.getDependencies(), readArtifact.getDependencies());
+        assertEquals(compilationArtifact.getInputs(), readArtifact.getInputs());
+        assertEquals(compilationArtifact.getSystemProperties(), readArtifact.getSystemProperties());
+    }
+}
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler;
+
+import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
+import io.cloudslang.lang.compiler.modeller.result.CompilationModellingResult;
+import io.cloudslang.lang.compiler.utils.SlangSourceUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = SlangCompilerSpringConfig.class)
+public class CompileReferencedSourceTest {
+
+    @Autowired
+    private SlangCompiler compiler;
+
+    @Test
+    public void testOnlyReferencedSourcesAreCompiled() throws Exception {
+        SlangSource parentFlow = source("/circular-dependencies/parent_flow.yaml");
+        Set<SlangSource> referencedSources = new HashSet<>();
+        referencedSources.add(source("/circular-dependencies/child_flow.yaml"));
+        referencedSources.add(source("/test_op.sl"));
+        Set<SlangSource> path = new HashSet<>(referencedSources);
+        path.add(parentFlow);
+        path.add(source("/corrupted/duplicate_step_name.sl"));
+        path.add(source("/corrupted/empty_file.sl"));
+
+        CompilationModellingResult result =
+                compiler.compileReferencedSource(parentFlow, path, PrecompileStrategy.WITHOUT_CACHE);
+
+        assertTrue(result.getErrors().toString(), result.getErrors().isEmpty());
+        assertEquals(compiler.compile(parentFlow, referencedSources), result.getCompilationArtifact());
+    }
+
+    @Test
+    public void testUnreferencedSourcesAreNotLoaded() throws Exception {
+        SlangSource parentFlow = source("/circular-dependencies/parent_flow.yaml");
+        CountingSource childFlow = new CountingSource(source("/circular-dependencies/child_flow.yaml"));
+        CountingSource operation = new CountingSource(source("/test_op.sl"));
+        CountingSource unreferencedFlow = new CountingSource(source("/check_Weather.sl"));
+        CountingSource unreferencedCorruptedFlow = new CountingSource(source("/corrupted/duplicate_step_name.sl"));
+        Set<SlangSource> path = new HashSet<>();
+        path.add(parentFlow);
+        path.add(childFlow);
+        path.add(operation);
+        path.add(unreferencedFlow);
+        path.add(unreferencedCorruptedFlow);
+
+        CompilationModellingResult result =
+                compiler.compileReferencedSource(parentFlow, path, PrecompileStrategy.WITHOUT_CACHE);
+
+        assertTrue(result.getErrors().toString(), result.getErrors().isEmpty());
+        assertTrue(childFlow.getLoads() > 0);
+        assertTrue(operation.getLoads() > 0);
+        assertEquals(0, unreferencedFlow.getLoads());
+        assertEquals(0, unreferencedCorruptedFlow.getLoads());
+    }
+
+    @Test
+    public void testUnmatchedReferenceIsLookedForInWholePath() throws Exception {
+        SlangSource parentFlow = source("/circular-dependencies/parent_flow.yaml");
+        Set<SlangSource> path = new HashSet<>();
+        path.add(source("/circular-dependencies/child_flow.yaml"));
+        // declares user.ops.test_op in a file with another name
+        path.add(new SlangSource(source("/test_op.sl").getContent(), "renamed_op.sl"));
+        path.add(source("/check_Weather.sl"));
+
+        CompilationModellingResult result =
+                compiler.compileReferencedSource(parentFlow, path, PrecompileStrategy.WITHOUT_CACHE);
+
+        assertEquals(getMessages(compiler.compileSource(parentFlow, path, PrecompileStrategy.WITHOUT_CACHE)),
+                getMessages(result));
+        assertFalse(result.getErrors().isEmpty());
+    }
+
+    @Test
+    public void testReadNamespace() {
+        assertEquals("user.ops", SlangSourceUtils.readNamespace(
+                new SlangSource("# namespace: other\nnamespace: user.ops\noperation:\n  name: op", "op.sl")));
+        assertEquals("user.ops", SlangSourceUtils.readNamespace(
+                new SlangSource("namespace: 'user.ops' # the operations\n", "op.sl")));
+        assertNull(SlangSourceUtils.readNamespace(new SlangSource("operation:\n  name: op", "op.sl")));
+    }
+
+    private List<String> getMessages(CompilationModellingResult result) {
+        List<String> messages = new ArrayList<>();
+        for (RuntimeException error : result.getErrors()) {
+            messages.add(error.getMessage());
+        }
+        return messages;
+    }
+
+    private SlangSource source(String resource) throws Exception {
+        return SlangSource.fromFile(getClass().getResource(resource).toURI());
+    }
+
+    /**
+     * Counts the reads of the whole content, scanning the content through a reader is not counted.
+     */
+    private static class CountingSource extends SlangSource {
+
+        private final String text;
+        private final AtomicInteger loads = new AtomicInteger();
+
+        CountingSource(SlangSource source) {
+            super(source.getContent(), source.getName());
+            this.text = source.getContent();
+        }
+
+        @Override
+        public String getContent() {
+            loads.incrementAndGet();
+            return super.getContent();
+        }
+
+        @Override
+        public BufferedReader openContentReader() {
+            return new BufferedReader(new StringReader(text));
+        }
+
+        @Override
+        public int hashCode() {
+            return getName().hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return super.equals(o);
+        }
+
+        int getLoads() {
+            return loads.get();
+        }
+    }
+}
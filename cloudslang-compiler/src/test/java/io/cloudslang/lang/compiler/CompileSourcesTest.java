@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler;
+
+import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
+import io.cloudslang.lang.compiler.modeller.result.CompilationModellingResult;
+import io.cloudslang.lang.entities.CompilationArtifact;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = SlangCompilerSpringConfig.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class CompileSourcesTest {
+
+    @Autowired
+    private SlangCompiler compiler;
+
+    @Test
+    public void testCompileSourcesProducesSameArtifactsAsSingleCompilation() throws Exception {
+        Set<SlangSource> sources = new HashSet<>();
+        sources.add(source("/circular-dependencies/parent_flow.yaml"));
+        sources.add(source("/circular-dependencies/child_flow.yaml"));
+        sources.add(source("/test_op.sl"));
+        sources.add(source("/check_Weather.sl"));
+
+        Map<SlangSource, CompilationModellingResult> results =
+                compiler.compileSources(sources, PrecompileStrategy.WITHOUT_CACHE);
+
+        assertEquals(sources, results.keySet());
+        for (SlangSource source : sources) {
+            CompilationModellingResult result = results.get(source);
+            assertTrue(result.getErrors().isEmpty());
+            assertEquals(compiler.compile(source, sources), result.getCompilationArtifact());
+        }
+    }
+
+    @Test
+    public void testDependencyExecutionPlansAreShared() throws Exception {
+        SlangSource parentFlow = source("/circular-dependencies/parent_flow.yaml");
+        SlangSource childFlow = source("/circular-dependencies/child_flow.yaml");
+        Set<SlangSource> sources = new HashSet<>();
+        sources.add(parentFlow);
+        sources.add(childFlow);
+        sources.add(source("/test_op.sl"));
+
+        Map<SlangSource, CompilationModellingResult> results =
+                compiler.compileSources(sources, PrecompileStrategy.WITHOUT_CACHE);
+
+        CompilationArtifact parentArtifact = results.get(parentFlow).getCompilationArtifact();
+        CompilationArtifact childArtifact = results.get(childFlow).getCompilationArtifact();
+        assertSame(childArtifact.getDependencies().get("user.ops.test_op"),
+                parentArtifact.getDependencies().get("user.ops.test_op"));
+    }
+
+    @Test
+    public void testErrorsAreReportedOnTheirOwnSource() throws Exception {
+        SlangSource operation = source("/test_op.sl");
+        SlangSource corruptedOperation = source("/corrupted/op_without_namespace.sl");
+        SlangSource emptyFile = source("/corrupted/empty_file.sl");
+        Set<SlangSource> sources = new HashSet<>();
+        sources.add(operation);
+        sources.add(corruptedOperation);
+        sources.add(emptyFile);
+
+        Map<SlangSource, CompilationModellingResult> results =
+                compiler.compileSources(sources, PrecompileStrategy.WITHOUT_CACHE);
+
+        assertTrue(results.get(operation).getErrors().isEmpty());
+        assertNotNull(results.get(operation).getCompilationArtifact());
+        assertTrue(results.get(corruptedOperation).getErrors().size() > 0);
+        assertTrue(results.get(emptyFile).getErrors().size() > 0);
+        assertNull(results.get(emptyFile).getCompilationArtifact());
+    }
+
+    @Test
+    public void testDuplicateExecutablesAreReportedOnBothSources() throws Exception {
+        SlangSource flow = source("/corrupted/duplicate/duplicate_fqn_1.sl");
+        // change file name from source
+        SlangSource duplicateFlow = new SlangSource(source("/corrupted/duplicate/duplicate_fqn_2.sl").getContent(),
+                "duplicate_fqn_1.sl");
+        Set<SlangSource> sources = new HashSet<>();
+        sources.add(flow);
+        sources.add(duplicateFlow);
+        sources.add(source("/noop.sl"));
+
+        Map<SlangSource, CompilationModellingResult> results =
+                compiler.compileSources(sources, PrecompileStrategy.WITHOUT_CACHE);
+
+        assertDuplicateError("Duplicate executable found: 'io.cloudslang.duplicate_fqn_1'",
+                results.get(flow).getErrors());
+        assertDuplicateError("Duplicate executable found: 'io.CloudSlang.duplicate_fqn_1'",
+                results.get(duplicateFlow).getErrors());
+    }
+
+    private void assertDuplicateError(String expectedMessage, List<RuntimeException> errors) {
+        List<String> messages = new ArrayList<>();
+        for (RuntimeException error : errors) {
+            messages.add(error.getMessage());
+        }
+        assertTrue(messages.toString(), messages.contains(expectedMessage));
+    }
+
+    private SlangSource source(String resource) throws Exception {
+        return SlangSource.fromFile(getClass().getResource(resource).toURI());
+    }
+}
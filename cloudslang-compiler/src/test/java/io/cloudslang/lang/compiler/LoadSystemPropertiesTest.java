@@ -20,7 +20,9 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.net.URI;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import static com.google.common.collect.Sets.newHashSet;
@@ -262,6 +264,27 @@ public class LoadSystemPropertiesTest {
                 " Argument[c.?.name] violates character rules.", exception.getMessage());
     }
 
+    @Test
+    public void testLoadSystemPropertiesFromSources() throws Exception {
+        SlangSource validSource = SlangSource.fromFile(getClass().getResource("/properties/a/b/valid.prop.sl").toURI());
+        SlangSource invalidSource =
+                SlangSource.fromFile(getClass().getResource("/properties/a/b/duplicate_key.prop.sl").toURI());
+        SlangSource emptyNamespaceSource =
+                SlangSource.fromFile(getClass().getResource("/properties/a/b/valid_empty_namespace.prop.sl").toURI());
+
+        List<SystemPropertyModellingResult> results = compiler.loadSystemPropertiesFromSources(
+                Arrays.asList(validSource, invalidSource, emptyNamespaceSource));
+
+        Assert.assertEquals(3, results.size());
+        Assert.assertEquals(getSystemPropertiesValid(), results.get(0).getSystemProperties());
+        assertTrue(results.get(0).getErrors().isEmpty());
+        Assert.assertEquals("Error loading properties source: 'duplicate_key.prop.sl'. " +
+                "Nested exception is: Duplicate system property key: 'host'.",
+                results.get(1).getErrors().get(0).getMessage());
+        Assert.assertEquals(getSystemPropertiesValidEmptyNamespace(), results.get(2).getSystemProperties());
+        assertTrue(results.get(2).getErrors().isEmpty());
+    }
+
     private Set<SystemProperty> getSystemPropertiesValid() {
         return getSystemPropertiesBasic("a.b");
     }
@@ -14,6 +14,7 @@ import io.cloudslang.lang.compiler.modeller.model.Metadata;
 import io.cloudslang.lang.compiler.modeller.model.StepMetadata;
 import io.cloudslang.lang.compiler.modeller.result.MetadataModellingResult;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -286,6 +287,32 @@ public class MetadataExtractorTest {
         );
     }
 
+    @Test
+    public void testMetadataAndCheckstyleExtractedTogether() throws Exception {
+        URI operation = getClass().getResource("/metadata/step/step_description_02.sl").toURI();
+        SlangSource source = SlangSource.fromFile(operation);
+        MetadataModellingResult metadata = metadataExtractor.extractMetadataModellingResult(source);
+        final List<RuntimeException> checkstyleViolations = metadataExtractor.validateCheckstyle(source);
+
+        @SuppressWarnings("deprecation")
+        MetadataModellingResult combinedResult = metadataExtractor.extractMetadataModellingResult(source, true);
+
+        Assert.assertEquals(metadata.getMetadata(), combinedResult.getMetadata());
+        Assert.assertEquals(metadata.getStepDescriptions(), combinedResult.getStepDescriptions());
+        List<String> expectedErrors = new ArrayList<>();
+        for (RuntimeException error : metadata.getErrors()) {
+            expectedErrors.add(error.getMessage());
+        }
+        for (RuntimeException violation : checkstyleViolations) {
+            expectedErrors.add(violation.getMessage());
+        }
+        List<String> actualErrors = new ArrayList<>();
+        for (RuntimeException error : combinedResult.getErrors()) {
+            actualErrors.add(error.getMessage());
+        }
+        Assert.assertEquals(expectedErrors, actualErrors);
+    }
+
     private void assertStep01(List<StepMetadata> stepDescriptions) {
         Map<String, String> stepInputs = new HashMap<>();
         stepInputs.put("step_input_1", "description step input 1");
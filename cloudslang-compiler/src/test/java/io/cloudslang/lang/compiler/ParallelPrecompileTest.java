@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler;
+
+import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
+import io.cloudslang.lang.compiler.modeller.result.CompilationModellingResult;
+import io.cloudslang.lang.entities.CompilationArtifact;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelPrecompileTest {
+
+    private AnnotationConfigApplicationContext serialContext;
+    private AnnotationConfigApplicationContext parallelContext;
+
+    @Before
+    public void setUp() {
+        serialContext = new AnnotationConfigApplicationContext(SlangCompilerSpringConfig.class);
+        System.setProperty(SlangCompilerImpl.SLANG_PRECOMPILE_THREAD_COUNT, "4");
+        try {
+            parallelContext = new AnnotationConfigApplicationContext(SlangCompilerSpringConfig.class);
+        } finally {
+            System.clearProperty(SlangCompilerImpl.SLANG_PRECOMPILE_THREAD_COUNT);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        serialContext.close();
+        parallelContext.close();
+    }
+
+    @Test
+    public void testParallelPrecompileProducesSameArtifact() throws Exception {
+        SlangSource flow = source("/circular-dependencies/parent_flow.yaml");
+        Set<SlangSource> path = new HashSet<>();
+        path.add(source("/circular-dependencies/child_flow.yaml"));
+        path.add(source("/test_op.sl"));
+        path.add(source("/check_Weather.sl"));
+        path.add(source("/flow_with_data.yaml"));
+
+        CompilationArtifact serialArtifact = serialContext.getBean(SlangCompiler.class).compile(flow, path);
+        CompilationArtifact parallelArtifact = parallelContext.getBean(SlangCompiler.class).compile(flow, path);
+
+        assertEquals(serialArtifact, parallelArtifact);
+    }
+
+    @Test
+    public void testParallelPrecompileReportsErrorsInSourceOrder() throws Exception {
+        SlangSource flow = source("/basic_flow.yaml");
+        Set<SlangSource> path = new HashSet<>();
+        path.add(source("/test_op.sl"));
+        path.add(source("/check_Weather.sl"));
+        path.add(source("/corrupted/op_without_namespace.sl"));
+        path.add(source("/corrupted/duplicate_step_name.sl"));
+
+        CompilationModellingResult serialResult =
+                serialContext.getBean(SlangCompiler.class).compileSource(flow, path);
+        CompilationModellingResult parallelResult =
+                parallelContext.getBean(SlangCompiler.class).compileSource(flow, path);
+
+        assertTrue(serialResult.getErrors().size() > 0);
+        assertEquals(getMessages(serialResult.getErrors()), getMessages(parallelResult.getErrors()));
+    }
+
+    private List<String> getMessages(List<RuntimeException> errors) {
+        List<String> messages = new ArrayList<>();
+        for (RuntimeException error : errors) {
+            messages.add(error.getMessage());
+        }
+        return messages;
+    }
+
+    private SlangSource source(String resource) throws Exception {
+        return SlangSource.fromFile(getClass().getResource(resource).toURI());
+    }
+}
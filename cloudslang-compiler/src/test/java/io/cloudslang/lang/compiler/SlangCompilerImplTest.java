@@ -45,6 +45,8 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -128,6 +130,37 @@ public class SlangCompilerImplTest {
         Assert.assertEquals(expectedSystemProperties, actualSystemProperties);
     }
 
+    @Test
+    public void testMetadataIsExtractedOncePerPropertiesSource() throws Exception {
+        SlangSource propertiesSource = new SlangSource("properties_content", "properties_name");
+        ParsedSlang parsedSlangMock = mock(ParsedSlang.class);
+        when(yamlParserMock.parse(eq(propertiesSource))).thenReturn(parsedSlangMock);
+        when(yamlParserMock.validateAndThrowFirstError(eq(parsedSlangMock))).thenReturn(parsedSlangMock);
+        when(parsedSlangMock.getType()).thenReturn(ParsedSlang.Type.SYSTEM_PROPERTY_FILE);
+        when(parsedSlangMock.getNamespace()).thenReturn("a.b");
+
+        List<Map<String, Object>> properties = new ArrayList<>();
+        Map<String, String> descriptions = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            Map<String, Object> property = new HashMap<>();
+            property.put("key" + i, "value" + i);
+            properties.add(property);
+            descriptions.put("key" + i, "description" + i);
+        }
+        when(parsedSlangMock.getProperties()).thenReturn(properties);
+
+        Metadata metadata = new Metadata();
+        metadata.setSystemProperties(descriptions);
+        when(metadataExtractor.extractMetadataModellingResult(eq(propertiesSource)))
+                .thenReturn(new MetadataModellingResult(metadata, newArrayList(), newArrayList()));
+
+        Set<SystemProperty> systemProperties = slangCompiler.loadSystemProperties(propertiesSource);
+
+        Assert.assertEquals(10, systemProperties.size());
+        Assert.assertTrue(systemProperties.contains(new SystemProperty("a.b", "key3", "value3", "description3")));
+        verify(metadataExtractor, times(1)).extractMetadataModellingResult(eq(propertiesSource));
+    }
+
     static class Config {
 
         private static YamlParser yamlParserReference;
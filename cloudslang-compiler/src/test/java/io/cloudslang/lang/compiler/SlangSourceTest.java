@@ -248,6 +248,47 @@ public class SlangSourceTest {
         assertSourceEquals(content.getBytes(getCharset()), name);
     }
 
+    @Test
+    public void testFromFileLazilyReadsContentOnFirstUse() throws Exception {
+        File file = folder.newFile(name);
+        FileUtils.writeStringToFile(file, content);
+
+        SlangSource source = SlangSource.fromFileLazily(file, file.getCanonicalPath(), file.length(),
+                file.lastModified());
+        SlangSource eagerSource = SlangSource.fromFile(file);
+        Assert.assertEquals(name, source.getName());
+        Assert.assertEquals(extension, source.getFileExtension());
+        Assert.assertEquals(file.length() + ":" + file.lastModified(), source.getFileStamp());
+        Assert.assertNull(eagerSource.getFileStamp());
+        Assert.assertEquals(eagerSource.hashCode(), source.hashCode());
+
+        FileUtils.writeStringToFile(file, content + "_changed");
+        Assert.assertEquals(content + "_changed", source.getContent());
+        Assert.assertNotEquals(eagerSource, source);
+        Assert.assertEquals(SlangSource.fromFile(file), source);
+    }
+
+    @Test
+    public void testFromFileLazilyFailsOnFirstUseWhenFileIsMissing() throws Exception {
+        File file = new File(folder.getRoot(), name);
+        SlangSource source = SlangSource.fromFileLazily(file, file.getPath(), 0, 0);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, source::getContent);
+        Assert.assertEquals("There was a problem reading the file: " + name, exception.getMessage());
+    }
+
+    @Test
+    public void testContentDigestDependsOnlyOnContent() throws Exception {
+        SlangSource source = new SlangSource(content, name);
+        SlangSource sameContent = SlangSource.fromBytes(content.getBytes(getCharset()), "other_" + name);
+        SlangSource otherContent = new SlangSource(content + "_changed", name);
+
+        Assert.assertEquals(64, source.getContentDigest().length());
+        Assert.assertSame(source.getContentDigest(), source.getContentDigest());
+        Assert.assertEquals(source.getContentDigest(), sameContent.getContentDigest());
+        Assert.assertNotEquals(source.getContentDigest(), otherContent.getContentDigest());
+    }
+
     private Charset getCharset() {
         String cslangEncoding = System.getProperty(SlangSystemPropertyConstant.CSLANG_ENCODING.getValue());
         return StringUtils.isEmpty(cslangEncoding) ?
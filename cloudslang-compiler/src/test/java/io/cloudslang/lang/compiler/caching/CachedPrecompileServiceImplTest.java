@@ -29,8 +29,10 @@ import org.mockito.stubbing.Answer;
 import static io.cloudslang.lang.compiler.caching.CacheValueState.OUTDATED;
 import static io.cloudslang.lang.compiler.caching.CacheValueState.VALID;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
@@ -105,14 +107,14 @@ public class CachedPrecompileServiceImplTest {
     public void testGetValueSuccessWithOutdated() {
         final String myPath = "bb";
         final SlangSource slangSource = mock(SlangSource.class);
-        SlangSource cachedSlangSource = mock(SlangSource.class);
+        String cachedSourceDigest = "cachedDigest";
 
         CacheValue mockCacheValue = mock(CacheValue.class);
 
         doReturn(mockCacheValue).when(cache).getIfPresent(anyObject());
-        doReturn(cachedSlangSource).when(mockCacheValue).getSource();
+        doReturn(cachedSourceDigest).when(mockCacheValue).getSourceDigest();
         doReturn(true).when(cachedPrecompileServiceImpl)
-                .hasChangedSinceCached(any(SlangSource.class), any(SlangSource.class));
+                .hasChangedSinceCached(any(SlangSource.class), anyString());
 
         // Tested call
         final CacheResult valueFromCache = cachedPrecompileServiceImpl.getValueFromCache(myPath, slangSource);
@@ -120,7 +122,7 @@ public class CachedPrecompileServiceImplTest {
         InOrder inOrder = Mockito.inOrder(cache, cachedPrecompileServiceImpl);
         inOrder.verify(cache).getIfPresent(eq(myPath));
         inOrder.verify(cachedPrecompileServiceImpl)
-                .hasChangedSinceCached(eq(slangSource), eq(cachedSlangSource));
+                .hasChangedSinceCached(eq(slangSource), eq(cachedSourceDigest));
         inOrder.verifyNoMoreInteractions();
 
         assertEquals(OUTDATED, valueFromCache.getState());
@@ -132,14 +134,14 @@ public class CachedPrecompileServiceImplTest {
     public void testGetValueSuccessWithValid() {
         final String myPath = "cc";
         final SlangSource slangSource = mock(SlangSource.class);
-        SlangSource cachedSlangSource = mock(SlangSource.class);
+        String cachedSourceDigest = "cachedDigest";
 
         CacheValue mockCacheValue = mock(CacheValue.class);
 
         doReturn(mockCacheValue).when(cache).getIfPresent(anyObject());
-        doReturn(cachedSlangSource).when(mockCacheValue).getSource();
+        doReturn(cachedSourceDigest).when(mockCacheValue).getSourceDigest();
         doReturn(false).when(cachedPrecompileServiceImpl)
-                .hasChangedSinceCached(any(SlangSource.class), any(SlangSource.class));
+                .hasChangedSinceCached(any(SlangSource.class), anyString());
         ExecutableModellingResult mockExecutionModellingResult = mock(ExecutableModellingResult.class);
         doReturn(mockExecutionModellingResult).when(mockCacheValue).getExecutableModellingResult();
 
@@ -149,13 +151,45 @@ public class CachedPrecompileServiceImplTest {
         InOrder inOrder = Mockito.inOrder(cache, cachedPrecompileServiceImpl);
         inOrder.verify(cache).getIfPresent(eq(myPath));
         inOrder.verify(cachedPrecompileServiceImpl)
-                .hasChangedSinceCached(eq(slangSource), eq(cachedSlangSource));
+                .hasChangedSinceCached(eq(slangSource), eq(cachedSourceDigest));
         inOrder.verifyNoMoreInteractions();
 
         assertEquals(VALID, valueFromCache.getState());
         assertSame(mockExecutionModellingResult, valueFromCache.getExecutableModellingResult());
     }
 
+    @Test
+    public void testGetValueWithUnchangedFileStampDoesNotReadSource() {
+        final String myPath = "dd";
+        final SlangSource slangSource = mock(SlangSource.class);
+        CacheValue mockCacheValue = mock(CacheValue.class);
+        ExecutableModellingResult mockExecutionModellingResult = mock(ExecutableModellingResult.class);
+
+        doReturn(mockCacheValue).when(cache).getIfPresent(anyObject());
+        doReturn("10:1000").when(slangSource).getFileStamp();
+        doReturn("10:1000").when(mockCacheValue).getSourceFileStamp();
+        doReturn(mockExecutionModellingResult).when(mockCacheValue).getExecutableModellingResult();
+
+        // Tested call
+        final CacheResult valueFromCache = cachedPrecompileServiceImpl.getValueFromCache(myPath, slangSource);
+
+        verify(cachedPrecompileServiceImpl, never()).hasChangedSinceCached(any(SlangSource.class), anyString());
+        verify(slangSource, never()).getContent();
+        verify(slangSource, never()).getContentDigest();
+        assertEquals(VALID, valueFromCache.getState());
+        assertSame(mockExecutionModellingResult, valueFromCache.getExecutableModellingResult());
+    }
+
+    @Test
+    public void testHasChangedSinceCachedComparesContentDigest() {
+        SlangSource source = new SlangSource("namespace: io.cloudslang", "source.sl");
+        SlangSource sameContent = new SlangSource("namespace: io.cloudslang", "other_name.sl");
+        SlangSource changedContent = new SlangSource("namespace: io.cloudslang.changed", "source.sl");
+
+        assertFalse(cachedPrecompileServiceImpl.hasChangedSinceCached(sameContent, source.getContentDigest()));
+        assertTrue(cachedPrecompileServiceImpl.hasChangedSinceCached(changedContent, source.getContentDigest()));
+    }
+
     @Test
     public void testInvalidateEntryWithRealPath() {
         String myPath = "invalidatepath";
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.caching;
+
+import io.cloudslang.lang.compiler.modeller.model.Action;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.modeller.model.Operation;
+import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.Result;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PersistentPrecompileStoreTest {
+
+    private static final String PATH = "/content/io/cloudslang/base/print.sl";
+    private static final String HASH = "hash1";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File cacheDir;
+
+    @Before
+    public void setUp() throws Exception {
+        cacheDir = folder.newFolder("precompile-cache");
+    }
+
+    @Test
+    public void testStoreAndLoadAfterWarmUp() {
+        Operation operation = createOperation();
+        new PersistentPrecompileStore(cacheDir)
+                .store(PATH, HASH, new ExecutableModellingResult(operation, new ArrayList<>()));
+
+        PersistentPrecompileStore store = new PersistentPrecompileStore(cacheDir);
+        store.warmUp();
+        CacheResult cacheResult = store.load(PATH, HASH);
+
+        assertEquals(CacheValueState.VALID, cacheResult.getState());
+        Executable loaded = cacheResult.getExecutableModellingResult().getExecutable();
+        assertEquals(operation, loaded);
+        assertEquals(operation.getId(), loaded.getId());
+        assertTrue(cacheResult.getExecutableModellingResult().getErrors().isEmpty());
+    }
+
+    @Test
+    public void testHashMismatchInvalidatesEntry() {
+        PersistentPrecompileStore store = new PersistentPrecompileStore(cacheDir);
+        store.store(PATH, HASH, new ExecutableModellingResult(createOperation(), new ArrayList<>()));
+
+        CacheResult cacheResult = store.load(PATH, "hash2");
+
+        assertEquals(CacheValueState.OUTDATED, cacheResult.getState());
+        assertNull(cacheResult.getExecutableModellingResult());
+        assertFalse(store.getEntryFile(PATH).exists());
+        assertEquals(CacheValueState.MISSING, store.load(PATH, HASH).getState());
+    }
+
+    @Test
+    public void testResultWithErrorsIsNotStored() {
+        PersistentPrecompileStore store = new PersistentPrecompileStore(cacheDir);
+        List<RuntimeException> errors = new ArrayList<>();
+        errors.add(new RuntimeException("error"));
+        store.store(PATH, HASH, new ExecutableModellingResult(createOperation(), errors));
+
+        assertFalse(store.getEntryFile(PATH).exists());
+        assertEquals(CacheValueState.MISSING, store.load(PATH, HASH).getState());
+    }
+
+    @Test
+    public void testCorruptedEntryIsDroppedOnWarmUp() throws Exception {
+        PersistentPrecompileStore store = new PersistentPrecompileStore(cacheDir);
+        File entryFile = store.getEntryFile(PATH);
+        FileUtils.writeStringToFile(entryFile, "not a cache entry", "UTF-8");
+
+        store.warmUp();
+
+        assertFalse(entryFile.exists());
+        assertEquals(CacheValueState.MISSING, store.load(PATH, HASH).getState());
+    }
+
+    @Test
+    public void testEntryWithOtherClassIsDropped() throws Exception {
+        PersistentPrecompileStore store = new PersistentPrecompileStore(cacheDir);
+        File entryFile = store.getEntryFile(PATH);
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(entryFile))) {
+            out.writeInt(PersistentPrecompileStore.FORMAT_MARKER);
+            out.writeInt(PersistentPrecompileStore.FORMAT_VERSION);
+            out.writeUTF(PATH);
+            out.writeUTF(HASH);
+            DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out);
+            ObjectOutputStream objectOut = new ObjectOutputStream(deflaterOut);
+            objectOut.writeObject(URI.create("http://localhost"));
+            objectOut.flush();
+            deflaterOut.finish();
+        }
+
+        store.warmUp();
+        CacheResult cacheResult = store.load(PATH, HASH);
+
+        assertEquals(CacheValueState.MISSING, cacheResult.getState());
+        assertNull(cacheResult.getExecutableModellingResult());
+        assertFalse(entryFile.exists());
+    }
+
+    @Test
+    public void testClear() {
+        PersistentPrecompileStore store = new PersistentPrecompileStore(cacheDir);
+        store.store(PATH, HASH, new ExecutableModellingResult(createOperation(), new ArrayList<>()));
+
+        store.clear();
+
+        assertFalse(store.getEntryFile(PATH).exists());
+        assertEquals(CacheValueState.MISSING, store.load(PATH, HASH).getState());
+    }
+
+    private Operation createOperation() {
+        Map<String, Serializable> actionData = new HashMap<>();
+        actionData.put("script", "print 'hello'");
+        List<Input> inputs = new ArrayList<>();
+        inputs.add(new Input.InputBuilder("text", "${host}").build());
+        List<Output> outputs = new ArrayList<>();
+        outputs.add(new Output("out", ValueFactory.create("${text}")));
+        List<Result> results = new ArrayList<>();
+        results.add(new Result("SUCCESS", ValueFactory.create(true)));
+        return new Operation(new HashMap<>(), new HashMap<>(), new Action(actionData),
+                "io.cloudslang.base", "print", inputs, outputs, results,
+                Collections.emptySet(), Collections.emptySet());
+    }
+}
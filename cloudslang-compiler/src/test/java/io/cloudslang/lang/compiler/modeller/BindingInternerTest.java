@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.modeller;
+
+import io.cloudslang.lang.compiler.SlangCompiler;
+import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.modeller.model.Flow;
+import io.cloudslang.lang.compiler.modeller.model.Step;
+import io.cloudslang.lang.entities.PromptType;
+import io.cloudslang.lang.entities.bindings.Argument;
+import io.cloudslang.lang.entities.bindings.InOutParam;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.lang.entities.bindings.Result;
+import io.cloudslang.lang.entities.bindings.prompt.Prompt;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = SlangCompilerSpringConfig.class)
+public class BindingInternerTest {
+
+    private static final int NUMBER_OF_FLOWS = 5000;
+
+    @Autowired
+    private SlangCompiler slangCompiler;
+
+    @Test
+    public void testEqualBindingsAreShared() {
+        BindingInterner bindingInterner = new BindingInterner();
+        Result result = bindingInterner.intern(new Result("SUCCESS", ValueFactory.create("${ return_code == '0' }")));
+
+        assertSame(result,
+                bindingInterner.intern(new Result("SUCCESS", ValueFactory.create("${ return_code == '0' }"))));
+        assertNotSame(result, bindingInterner.intern(new Result("FAILURE", ValueFactory.create(null))));
+    }
+
+    @Test
+    public void testBindingsDifferingOutsideEqualsAreNotShared() {
+        BindingInterner bindingInterner = new BindingInterner();
+        Argument privateArgument = bindingInterner.intern(new Argument("host", ValueFactory.create("${host}")));
+        Argument argument = new Argument("host", ValueFactory.create("${host}"), false,
+                Collections.emptySet(), Collections.<String>emptySet());
+        Input promptedInput = new Input.InputBuilder("host", "${host}")
+                .withPrompt(new Prompt.PromptBuilder()
+                        .setPromptType(PromptType.TEXT)
+                        .setPromptMessage("Host name")
+                        .build())
+                .build();
+
+        assertNotSame(privateArgument, bindingInterner.intern(argument));
+        assertSame(promptedInput, bindingInterner.intern(promptedInput));
+        assertNotSame(promptedInput, bindingInterner.intern(new Input.InputBuilder("host", "${host}").build()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSyntheticContentPackSharesBindings() {
+        List<Executable> flows = new ArrayList<>(NUMBER_OF_FLOWS);
+        for (int i = 0; i < NUMBER_OF_FLOWS; i++) {
+            flows.add(slangCompiler.preCompile(new SlangSource(createFlow(i), "flow_" + i + ".sl")));
+        }
+
+        List<InOutParam> bindings = new ArrayList<>();
+        for (Executable flow : flows) {
+            bindings.addAll(flow.getInputs());
+            bindings.addAll(flow.getOutputs());
+            bindings.addAll(flow.getResults());
+            for (Step step : ((Flow) flow).getWorkflow().getSteps()) {
+                bindings.addAll(step.getArguments());
+                bindings.addAll((Collection<? extends InOutParam>) step.getPostStepActionData().get("publish"));
+            }
+        }
+        Map<InOutParam, Boolean> retainedBindings = new IdentityHashMap<>();
+        for (InOutParam binding : bindings) {
+            retainedBindings.put(binding, Boolean.TRUE);
+        }
+
+        // every flow shares all its bindings with the other flows, except for one input
+        assertEquals(NUMBER_OF_FLOWS * 9, bindings.size());
+        assertTrue("retained " + retainedBindings.size() + " of " + bindings.size() + " bindings",
+                retainedBindings.size() < NUMBER_OF_FLOWS * 2);
+    }
+
+    private String createFlow(int index) {
+        return "namespace: user.pack\n" +
+                "flow:\n" +
+                "  name: flow_" + index + "\n" +
+                "  inputs:\n" +
+                "    - host\n" +
+                "    - port: '22'\n" +
+                "    - flow_input_" + index + "\n" +
+                "  workflow:\n" +
+                "    - print:\n" +
+                "        do:\n" +
+                "          user.pack.print:\n" +
+                "            - text: ${host}\n" +
+                "        publish:\n" +
+                "          - return_result\n" +
+                "        navigate:\n" +
+                "          - SUCCESS: SUCCESS\n" +
+                "          - FAILURE: FAILURE\n" +
+                "  outputs:\n" +
+                "    - return_result\n" +
+                "    - port_number: ${port}\n" +
+                "  results:\n" +
+                "    - SUCCESS\n" +
+                "    - FAILURE\n";
+    }
+}
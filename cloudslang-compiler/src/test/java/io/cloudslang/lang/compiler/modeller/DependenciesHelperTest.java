@@ -21,6 +21,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
@@ -30,6 +31,8 @@ import java.util.Set;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -93,4 +96,58 @@ public class DependenciesHelperTest {
         assertEquals(Sets.newHashSet(stepRefId), result);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testMatchReferencesResolvesTransitiveReferences() throws Exception {
+        Flow parentFlow = mockFlow("a.parent_flow", "a.child_flow");
+        Flow childFlow = mockFlow("a.child_flow", "a.op_01");
+        Operation operation = mockOperation("a.op_01");
+
+        Map<String, Executable> result = dependenciesHelper.matchReferences(parentFlow,
+                Arrays.<Executable>asList(operation, childFlow, parentFlow));
+
+        Map<String, Executable> expected = new HashMap<>();
+        expected.put("a.child_flow", childFlow);
+        expected.put("a.op_01", operation);
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void testMatchReferencesReusesResolvedSubflowReferences() throws Exception {
+        Flow parentFlow = mockFlow("a.parent_flow", "a.child_flow");
+        Flow childFlow = mockFlow("a.child_flow", "a.op_01");
+        Operation operation = mockOperation("a.op_01");
+        ExecutablesIndex executablesIndex =
+                new ExecutablesIndex(Arrays.<Executable>asList(parentFlow, childFlow, operation));
+
+        dependenciesHelper.matchReferences(childFlow, executablesIndex);
+        Map<String, Executable> result = dependenciesHelper.matchReferences(parentFlow, executablesIndex);
+
+        assertEquals(Sets.newHashSet("a.child_flow", "a.op_01"), result.keySet());
+        verify(childFlow, times(1)).getExecutableDependencies();
+    }
+
+    @Test
+    public void testMatchReferencesMissingReference() throws Exception {
+        Flow flow = mockFlow("a.flow", "a.op_01");
+        when(flow.getName()).thenReturn("flow");
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                dependenciesHelper.matchReferences(flow, Collections.<Executable>singletonList(flow)));
+        assertEquals("Reference: 'a.op_01' in executable: 'flow', wasn't found in path", exception.getMessage());
+    }
+
+    private Flow mockFlow(String id, String... references) {
+        Flow flow = mock(Flow.class);
+        when(flow.getId()).thenReturn(id);
+        when(flow.getType()).thenReturn(SlangTextualKeys.FLOW_TYPE);
+        when(flow.getExecutableDependencies()).thenReturn(Sets.newHashSet(references));
+        return flow;
+    }
+
+    private Operation mockOperation(String id) {
+        Operation operation = mock(Operation.class);
+        when(operation.getId()).thenReturn(id);
+        when(operation.getType()).thenReturn(SlangTextualKeys.OPERATION_TYPE);
+        return operation;
+    }
+}
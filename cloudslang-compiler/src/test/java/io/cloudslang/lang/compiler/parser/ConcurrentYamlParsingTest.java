@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.parser;
+
+import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
+import io.cloudslang.lang.compiler.parser.model.ParsedSlang;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = SlangCompilerSpringConfig.class)
+public class ConcurrentYamlParsingTest {
+
+    private static final int NUMBER_OF_THREADS = 4;
+
+    private static final int NUMBER_OF_PARSES = 200;
+
+    @Autowired
+    private YamlParser yamlParser;
+
+    @Test
+    public void testParseConcurrently() throws Exception {
+        final SlangSource flowSource =
+                SlangSource.fromFile(getClass().getResource("/flow_with_on_failure.sl").toURI());
+        final SlangSource operationSource =
+                SlangSource.fromFile(getClass().getResource("/seq-operation/seq_op_no_sys_prop.sl").toURI());
+        final long parsedSources = yamlParser.getParseStatistics().getParsedSources();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        try {
+            List<Future<ParsedSlang>> parsedFlows = new ArrayList<>();
+            List<Future<ParsedSlang>> parsedOperations = new ArrayList<>();
+            for (int i = 0; i < NUMBER_OF_PARSES / 2; i++) {
+                parsedFlows.add(executorService.submit(() -> yamlParser.parse(flowSource)));
+                parsedOperations.add(executorService.submit(() -> yamlParser.parse(operationSource)));
+            }
+
+            ParsedSlang expectedFlow = yamlParser.parse(flowSource);
+            for (Future<ParsedSlang> parsedFlow : parsedFlows) {
+                assertEquals(expectedFlow.getFlow(), parsedFlow.get().getFlow());
+            }
+            ParsedSlang expectedOperation = yamlParser.parse(operationSource);
+            assertNotNull(expectedOperation.getObjectRepository());
+            for (Future<ParsedSlang> parsedOperation : parsedOperations) {
+                assertEquals(expectedOperation.getOperation(), parsedOperation.get().getOperation());
+                assertEquals(expectedOperation.getObjectRepository(), parsedOperation.get().getObjectRepository());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(parsedSources + NUMBER_OF_PARSES + 2, yamlParser.getParseStatistics().getParsedSources());
+    }
+}
@@ -11,8 +11,15 @@ package io.cloudslang.lang.compiler.parser;
 
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.parser.model.ParsedDescriptionData;
+import io.cloudslang.lang.compiler.utils.SlangSourceUtils;
+import java.io.File;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -85,4 +92,69 @@ public class MetadataParserTest {
         Assert.assertTrue(parseResult.getStepDescriptions().size() == 0);
         Assert.assertTrue(parseResult.getErrors().size() == 0);
     }
+
+    @Test
+    public void testParseMatchesPatternsForAllResources() throws Exception {
+        File resourcesDir = new File(getClass().getResource("/metadata").toURI()).getParentFile();
+        Collection<File> sourceFiles = FileUtils.listFiles(resourcesDir,
+                new String[]{"sl", "yaml", "yml"}, true);
+        Assert.assertFalse(sourceFiles.isEmpty());
+
+        for (File sourceFile : sourceFiles) {
+            SlangSource source = SlangSource.fromFile(sourceFile);
+            assertSameAsPatterns(source.getName(), SlangSourceUtils.readLines(source));
+        }
+    }
+
+    @Test
+    public void testParseMatchesPatternsForUnusualLines() throws Exception {
+        List<String> lines = Arrays.asList(
+                "#!!",
+                "#! @description: first line",
+                "  #!   continued\tline  ",
+                "\t#!",
+                "#!\u00a0@input input_1: non breaking space",
+                "\u2003#! @input input_2: em space",
+                "#! @output output_1",
+                "#! @result SUCCESS:",
+                "#!@result FAILURE: no space",
+                "#! text\u2028with separator",
+                "#!!!",
+                "# comment",
+                "",
+                "#!!#",
+                "  - step_1:",
+                "#!!  ",
+                "#!é",
+                "#!!#",
+                "\u00a0\u00a0- step_2:",
+                "#!!",
+                "#! @input step_input_1: step input",
+                "#!!#   trailing",
+                "  - step_3:",
+                "#!!",
+                "#!!",
+                "do:",
+                "#!!#"
+        );
+
+        assertSameAsPatterns("unusual lines", lines);
+    }
+
+    private void assertSameAsPatterns(String sourceName, List<String> lines) {
+        ParsedDescriptionData expected = metadataParser.parseWithPatterns(lines);
+        ParsedDescriptionData actual = metadataParser.parse(new SlangSource("", sourceName), lines);
+
+        Assert.assertEquals(sourceName, expected.getTopLevelDescriptions(), actual.getTopLevelDescriptions());
+        Assert.assertEquals(sourceName, expected.getStepDescriptions(), actual.getStepDescriptions());
+        Assert.assertEquals(sourceName, getMessages(expected.getErrors()), getMessages(actual.getErrors()));
+    }
+
+    private List<String> getMessages(List<RuntimeException> errors) {
+        List<String> messages = new ArrayList<>();
+        for (RuntimeException error : errors) {
+            messages.add(error.getMessage());
+        }
+        return messages;
+    }
 }
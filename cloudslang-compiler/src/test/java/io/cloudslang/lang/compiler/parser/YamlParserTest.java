@@ -23,6 +23,7 @@ import org.yaml.snakeyaml.Yaml;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertThrows;
 import static org.mockito.Matchers.any;
@@ -60,4 +61,19 @@ public class YamlParserTest {
                 yamlParser.parse(new SlangSource("", null)));
         Assert.assertEquals("Source null cannot be empty", exception.getMessage());
     }
+
+    @Test
+    public void testParseStatistics() throws Exception {
+        Mockito.when(yaml.loadAs(any(String.class), eq(ParsedSlang.class)))
+                .thenReturn(new ParsedSlang())
+                .thenReturn(null);
+
+        yamlParser.parse(new SlangSource("namespace: user.ops", "op.sl"));
+        assertThrows(RuntimeException.class, () -> yamlParser.parse(new SlangSource("# empty", "empty.sl")));
+
+        YamlParseStatistics parseStatistics = yamlParser.getParseStatistics();
+        Assert.assertEquals(2, parseStatistics.getParsedSources());
+        Assert.assertEquals(1, parseStatistics.getFailedSources());
+        Assert.assertTrue(parseStatistics.getParseTime(TimeUnit.NANOSECONDS) > 0);
+    }
 }
\ No newline at end of file
@@ -43,8 +43,11 @@ import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
+import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.verify;
@@ -359,6 +362,59 @@ public class ExecutionPlanBuilderTest {
         assertEquals("begin step is different than expected", Long.valueOf(1), executionPlan.getBeginStep());
     }
 
+    @Test
+    public void createFlowWithManySteps() throws Exception {
+        final int numberOfSteps = 10000;
+        final Deque<Step> steps = new LinkedList<>();
+        for (int i = 0; i < numberOfSteps; i++) {
+            String nextStepName = i + 1 < numberOfSteps ? "step_" + (i + 1) : ScoreLangConstants.SUCCESS_RESULT;
+            List<Map<String, Serializable>> navigationStrings = new ArrayList<>();
+            Map<String, Serializable> successMap = new HashMap<>();
+            successMap.put(ScoreLangConstants.SUCCESS_RESULT, nextStepName);
+            Map<String, Serializable> failureMap = new HashMap<>();
+            failureMap.put(ScoreLangConstants.FAILURE_RESULT, ScoreLangConstants.FAILURE_RESULT);
+            navigationStrings.add(successMap);
+            navigationStrings.add(failureMap);
+            steps.add(createSimpleCompiledStep("step_" + i, navigationStrings));
+        }
+        Workflow workflow = new Workflow(steps);
+        Flow compiledFlow =
+                new Flow(new HashMap<>(), new HashMap<>(), workflow, "user.flows", "flowName", null,
+                        new ArrayList<>(), new ArrayList<>(), defaultFlowResults(), null, systemPropertyDependencies);
+
+        mockPreconditionStep(compiledFlow);
+        mockStartStep(compiledFlow);
+        mockEndStep(0L, compiledFlow, ExecutableType.FLOW);
+        final Map<String, Map<String, ResultNavigation>> navigations = new HashMap<>();
+        when(stepFactory.createWorkerGroupStep(anyLong(), anyMapOf(String.class, Serializable.class),
+                anyString(), anyString(), anyString()))
+                .thenAnswer(invocation -> new ExecutionStep((Long) invocation.getArguments()[0]));
+        when(stepFactory.createBeginStepStep(anyLong(), anyListOf(Argument.class),
+                anyMapOf(String.class, Serializable.class), anyString(), anyString(), anyString()))
+                .thenAnswer(invocation -> new ExecutionStep((Long) invocation.getArguments()[0]));
+        when(stepFactory.createFinishStepStep(anyLong(), anyMapOf(String.class, Serializable.class),
+                anyMapOf(String.class, ResultNavigation.class), anyString(), anyString(), anyBoolean()))
+                .thenAnswer(invocation -> {
+                    Object[] arguments = invocation.getArguments();
+                    navigations.put((String) arguments[3], (Map<String, ResultNavigation>) arguments[2]);
+                    return new ExecutionStep((Long) arguments[0]);
+                });
+
+        ExecutionPlan executionPlan = executionPlanBuilder.createFlowExecutionPlan(compiledFlow);
+
+        assertEquals("different number of execution steps than expected",
+                3 + 3 * numberOfSteps, executionPlan.getSteps().size());
+        for (int i = 0; i + 1 < numberOfSteps; i++) {
+            ResultNavigation successNavigation = navigations.get("step_" + i).get(ScoreLangConstants.SUCCESS_RESULT);
+            assertEquals("step_" + i + " does not navigate to the worker step of the next step",
+                    3L + 3L * (i + 1), successNavigation.getNextStepId());
+        }
+        ResultNavigation lastNavigation =
+                navigations.get("step_" + (numberOfSteps - 1)).get(ScoreLangConstants.SUCCESS_RESULT);
+        assertEquals(0L, lastNavigation.getNextStepId());
+        assertEquals(ScoreLangConstants.SUCCESS_RESULT, lastNavigation.getPresetResult());
+    }
+
     @Test
     public void createFlowWithNoStepsShouldThrowException() throws Exception {
         Map<String, Serializable> preFlowActionData = new HashMap<>();
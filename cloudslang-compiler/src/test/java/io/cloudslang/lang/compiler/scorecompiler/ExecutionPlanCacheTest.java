@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.scorecompiler;
+
+import io.cloudslang.lang.compiler.SlangCompiler;
+import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.caching.CachedPrecompileServiceImpl;
+import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.modeller.model.Flow;
+import io.cloudslang.lang.compiler.modeller.model.Step;
+import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
+import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.score.api.ExecutionPlan;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = SlangCompilerSpringConfig.class)
+public class ExecutionPlanCacheTest {
+
+    private static final String OPERATION_ID = "user.ops.test_op";
+
+    @Autowired
+    private SlangCompiler slangCompiler;
+
+    @Autowired
+    private ScoreCompiler scoreCompiler;
+
+    @Autowired
+    private ExecutionPlanCache executionPlanCache;
+
+    private Executable flow;
+
+    private Executable operation;
+
+    @Before
+    public void setUp() throws Exception {
+        executionPlanCache.invalidateAll();
+        flow = slangCompiler.preCompile(
+                SlangSource.fromFile(getClass().getResource("/flow_with_on_failure.sl").toURI()));
+        operation = slangCompiler.preCompile(SlangSource.fromFile(getClass().getResource("/test_op.sl").toURI()));
+    }
+
+    @Test
+    public void testDependencyPlanIsReusedAcrossCompilations() throws Exception {
+        Set<Executable> path = new HashSet<>();
+        path.add(operation);
+
+        CompilationArtifact firstArtifact = scoreCompiler.compile(flow, path);
+        final int numberOfOnFailureNavigations = getOnFailureStep((Flow) flow).getNavigationStrings().size();
+        CompilationArtifact secondArtifact = scoreCompiler.compile(flow, path);
+
+        assertEquals(firstArtifact.getDependencies().get(OPERATION_ID),
+                secondArtifact.getDependencies().get(OPERATION_ID));
+        assertNotSame(firstArtifact.getDependencies().get(OPERATION_ID),
+                secondArtifact.getDependencies().get(OPERATION_ID));
+        assertNotSame(firstArtifact.getExecutionPlan(), secondArtifact.getExecutionPlan());
+        assertEquals(12, secondArtifact.getExecutionPlan().getSteps().size());
+        assertEquals("the on failure navigations were added again", numberOfOnFailureNavigations,
+                getOnFailureStep((Flow) flow).getNavigationStrings().size());
+    }
+
+    @Test
+    public void testPlanIsCompiledOnceAndCopied() {
+        CountingCompiler compiler = new CountingCompiler();
+
+        ExecutionPlan firstPlan = executionPlanCache.getExecutionPlan(operation, compiler);
+        firstPlan.setName("changed by the caller");
+        ExecutionPlan secondPlan = executionPlanCache.getExecutionPlan(operation, compiler);
+
+        assertEquals(1, compiler.compilations);
+        assertNotSame(firstPlan, secondPlan);
+        assertEquals(OPERATION_ID, secondPlan.getName());
+    }
+
+    @Test
+    public void testOtherModelOfTheSameSourceIsCompiledAgain() throws Exception {
+        CountingCompiler compiler = new CountingCompiler();
+        executionPlanCache.getExecutionPlan(operation, compiler);
+        Executable remodelledOperation =
+                slangCompiler.preCompile(SlangSource.fromFile(getClass().getResource("/test_op.sl").toURI()));
+
+        executionPlanCache.getExecutionPlan(remodelledOperation, compiler);
+
+        assertEquals(2, compiler.compilations);
+    }
+
+    @Test
+    public void testChangedFlowIsCompiledAgain() {
+        CountingCompiler compiler = new CountingCompiler();
+        executionPlanCache.getExecutionPlan(flow, compiler);
+        executionPlanCache.getExecutionPlan(flow, compiler);
+        assertEquals(1, compiler.compilations);
+
+        Map<String, Serializable> navigationString = new HashMap<>();
+        navigationString.put("CUSTOM", "FAILURE");
+        getOnFailureStep((Flow) flow).getNavigationStrings().add(navigationString);
+        executionPlanCache.getExecutionPlan(flow, compiler);
+
+        assertEquals(2, compiler.compilations);
+    }
+
+    @Test
+    public void testPlanOfReplacedPrecompiledModelIsInvalidated() throws Exception {
+        CachedPrecompileServiceImpl cachedPrecompileService = new CachedPrecompileServiceImpl();
+        cachedPrecompileService.init();
+        cachedPrecompileService.setExecutionPlanCache(executionPlanCache);
+        cachedPrecompileService.cacheValue("/test_op.sl", new ExecutableModellingResult(operation,
+                new ArrayList<>()), SlangSource.fromBytes("version 1".getBytes(StandardCharsets.UTF_8), "test_op.sl"));
+        CountingCompiler compiler = new CountingCompiler();
+        executionPlanCache.getExecutionPlan(operation, compiler);
+
+        Executable remodelledOperation =
+                slangCompiler.preCompile(SlangSource.fromFile(getClass().getResource("/test_op.sl").toURI()));
+        cachedPrecompileService.cacheValue("/test_op.sl", new ExecutableModellingResult(remodelledOperation,
+                new ArrayList<>()), SlangSource.fromBytes("version 2".getBytes(StandardCharsets.UTF_8), "test_op.sl"));
+        executionPlanCache.getExecutionPlan(operation, compiler);
+
+        assertEquals(2, compiler.compilations);
+    }
+
+    private Step getOnFailureStep(Flow flow) {
+        for (Step step : flow.getWorkflow().getSteps()) {
+            if (step.isOnFailureStep()) {
+                return step;
+            }
+        }
+        throw new AssertionError("flow " + flow.getName() + " has no on failure step");
+    }
+
+    private static class CountingCompiler implements Function<Executable, ExecutionPlan> {
+
+        private int compilations;
+
+        @Override
+        public ExecutionPlan apply(Executable executable) {
+            compilations++;
+            ExecutionPlan executionPlan = new ExecutionPlan();
+            executionPlan.setName(executable.getId());
+            return executionPlan;
+        }
+    }
+}
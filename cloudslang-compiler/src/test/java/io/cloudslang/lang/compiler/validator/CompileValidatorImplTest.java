@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.validator;
+
+import io.cloudslang.lang.compiler.SlangCompiler;
+import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.modeller.model.Flow;
+import io.cloudslang.lang.compiler.modeller.model.Step;
+import io.cloudslang.lang.compiler.validator.StepValidationContext.Index;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = SlangCompilerSpringConfig.class)
+public class CompileValidatorImplTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Autowired
+    private SlangCompiler slangCompiler;
+
+    private Executable flow;
+
+    private Map<String, Executable> dependencies;
+
+    @Before
+    public void setUp() throws Exception {
+        flow = slangCompiler.preCompile(SlangSource.fromFile(
+                getClass().getResource("/shallow_validation/test_multiple_step_errors.sl").toURI()));
+        Executable operation = slangCompiler.preCompile(SlangSource.fromFile(
+                getClass().getResource("/shallow_validation/test_op.sl").toURI()));
+        dependencies = new HashMap<>();
+        dependencies.put(operation.getId(), operation);
+    }
+
+    @Test
+    public void testAllStepErrors() {
+        List<String> errorMessages = getMessages(new CompileValidatorImpl()
+                .validateModelWithDependencies(flow, dependencies));
+
+        assertEquals(4, errorMessages.size());
+        assertEquals("Cannot compile flow 'io.cloudslang.test_multiple_step_errors'. Step 'step_1' does not " +
+                "declare all the mandatory inputs of its reference. The following inputs of 'user.ops.test_op' " +
+                "are not private, required and with no default value: alla.", errorMessages.get(0));
+        assertEquals("Cannot compile flow 'io.cloudslang.test_multiple_step_errors'. Step 'step_1' has input " +
+                "'balla' with the same name as the one of the outputs of 'user.ops.test_op'.", errorMessages.get(1));
+        assertEquals("Cannot compile flow 'test_multiple_step_errors' since for step 'step_2' the results " +
+                "[FAILURE] of its dependency 'user.ops.test_op' have no matching navigation.", errorMessages.get(2));
+        assertEquals("Cannot compile flow 'io.cloudslang.test_multiple_step_errors'. Step 'step_3' does not " +
+                "declare all the mandatory inputs of its reference. The following inputs of 'user.ops.test_op' " +
+                "are not private, required and with no default value: alla.", errorMessages.get(3));
+    }
+
+    @Test
+    public void testParallelValidationKeepsErrorOrder() {
+        // the steps of every flow are validated by a task of their own
+        Executable parentFlow = slangCompiler.preCompile(SlangSource.fromBytes(("namespace: io.cloudslang\n" +
+                "flow:\n" +
+                "  name: parent_flow\n" +
+                "  workflow:\n" +
+                "    - op_step:\n" +
+                "        do:\n" +
+                "          user.ops.test_op: []\n" +
+                "        navigate:\n" +
+                "          - SUCCESS: child\n" +
+                "          - FAILURE: FAILURE\n" +
+                "    - child:\n" +
+                "        do:\n" +
+                "          test_multiple_step_errors: []\n" +
+                "        navigate:\n" +
+                "          - SUCCESS: SUCCESS\n" +
+                "          - FAILURE: FAILURE\n").getBytes(StandardCharsets.UTF_8), "parent_flow.sl"));
+        dependencies.put(flow.getId(), flow);
+        List<String> expectedMessages = getMessages(new CompileValidatorImpl()
+                .validateModelWithDependencies(parentFlow, dependencies));
+        assertEquals(5, expectedMessages.size());
+        assertTrue(expectedMessages.get(0).contains("'op_step'"));
+
+        System.setProperty(CompileValidatorImpl.SLANG_VALIDATOR_THREAD_COUNT, "3");
+        CompileValidatorImpl compileValidator = new CompileValidatorImpl();
+        try {
+            compileValidator.initializeValidationExecutor();
+            for (int i = 0; i < 20; i++) {
+                assertEquals(expectedMessages,
+                        getMessages(compileValidator.validateModelWithDependencies(parentFlow, dependencies)));
+            }
+        } finally {
+            compileValidator.destroy();
+            System.clearProperty(CompileValidatorImpl.SLANG_VALIDATOR_THREAD_COUNT);
+        }
+    }
+
+    @Test
+    public void testFailFastStopsAtFirstError() {
+        CompileValidatorImpl compileValidator = new CompileValidatorImpl();
+        compileValidator.setFailFast(true);
+
+        List<String> errorMessages = getMessages(compileValidator.validateModelWithDependencies(flow, dependencies));
+
+        assertEquals(1, errorMessages.size());
+        assertEquals(getMessages(new CompileValidatorImpl().validateModelWithDependencies(flow, dependencies))
+                .get(0), errorMessages.get(0));
+    }
+
+    @Test
+    public void testAdditionalRule() {
+        StepValidationRule failureRule = (context, errors) -> {
+            if (context.getReferenceResultNames().contains("FAILURE") &&
+                    !context.getNavigationKeys().contains("FAILURE")) {
+                errors.add(new RuntimeException("Step '" + context.getStep().getName() + "' ignores failures"));
+            }
+        };
+        CompileValidatorImpl compileValidator = new CompileValidatorImpl(Collections.singletonList(failureRule));
+
+        List<String> errorMessages = getMessages(compileValidator.validateModelWithDependencies(flow, dependencies));
+
+        assertEquals(5, errorMessages.size());
+        assertEquals("Step 'step_2' ignores failures", errorMessages.get(3));
+    }
+
+    @Test
+    public void testOnlyRequiredIndexesAreBuilt() {
+        Flow testFlow = (Flow) flow;
+        Step step = testFlow.getWorkflow().getSteps().getFirst();
+        Executable reference = dependencies.get(step.getRefId());
+        Set<Index> indexes = EnumSet.of(Index.NAVIGATION_KEYS, Index.REFERENCE_RESULT_NAMES);
+        StepValidationContext context = new StepValidationContext(testFlow, step,
+                new StepValidationContext.ReferenceIndex(reference, indexes), indexes);
+
+        assertEquals(Arrays.asList("SUCCESS", "FAILURE"), context.getReferenceResultNames());
+        assertEquals(2, context.getNavigationKeys().size());
+        exception.expect(IllegalStateException.class);
+        context.getDefinedArgumentNames();
+    }
+
+    private List<String> getMessages(List<RuntimeException> errors) {
+        List<String> messages = new ArrayList<>();
+        for (RuntimeException error : errors) {
+            messages.add(error.getMessage());
+        }
+        return messages;
+    }
+}
@@ -14,8 +14,8 @@ import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.io.IOUtils;
 import org.codehaus.plexus.compiler.AbstractCompiler;
 import org.codehaus.plexus.compiler.CompilerConfiguration;
 import org.codehaus.plexus.compiler.CompilerException;
@@ -29,20 +29,19 @@ import org.springframework.context.annotation.AnnotationConfigApplicationContext
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Collections.emptySet;
 
@@ -55,6 +54,7 @@ public class CloudSlangMavenCompiler extends AbstractCompiler {
 
     private static String IGNORE_DEPENDENCIES = "ignore-dependencies";
     private static String IGNORE_ERRORS = "ignore-errors";
+    private static final String DEPENDENCIES_INDEX_DIR = "cloudslang-dependencies";
 
     private SlangCompiler slangCompiler;
 
@@ -62,6 +62,11 @@ public class CloudSlangMavenCompiler extends AbstractCompiler {
 
     private CompilerMessage.Kind errorLevel;
 
+    /**
+     * dependency jar absolute path -> index of its CloudSlang sources, reused by all the builds of this compiler
+     */
+    private final Map<String, DependencyJarIndex> dependencyJarIndexes = new ConcurrentHashMap<>();
+
     public CloudSlangMavenCompiler() {
         super(CompilerOutputStyle.ONE_OUTPUT_FILE_FOR_ALL_INPUT_FILES, null, null, null);
         ApplicationContext ctx = new AnnotationConfigApplicationContext(SlangCompilerSpringConfig.class);
@@ -69,9 +74,32 @@ public class CloudSlangMavenCompiler extends AbstractCompiler {
     }
 
 
+    /**
+     * When the target can be updated the plugin only passes its own stale sources, which are never CloudSlang
+     * sources, so the build is skipped. This is only allowed when the sources {@link #performCompile} would scan
+     * are the ones of the last build, unchanged and validated without messages.
+     */
     @Override
     public boolean canUpdateTarget(CompilerConfiguration configuration) throws CompilerException {
-        return false;
+        File outputDirectory = getOutputDirectory(configuration);
+        if (outputDirectory == null || !CompilationFingerprints.exist(outputDirectory)) {
+            return false;
+        }
+        init(configuration);
+        String[] sourceFiles = getSourceFiles(configuration);
+        CompilationFingerprints previousFingerprints = CompilationFingerprints.load(outputDirectory,
+                getBuildSignature(getDependencyJars(configuration)));
+        if (!previousFingerprints.getSourceFiles().equals(new HashSet<>(Arrays.asList(sourceFiles)))) {
+            return false;
+        }
+        for (String sourceFile : sourceFiles) {
+            CompilationFingerprints.Fingerprint previousFingerprint = previousFingerprints.get(sourceFile);
+            if (!previousFingerprint.isClean() ||
+                    !previousFingerprint.getContentDigest().equals(readContentDigest(sourceFile))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -84,13 +112,38 @@ public class CloudSlangMavenCompiler extends AbstractCompiler {
         //and the framework support only one via the inputFileEnding
         config.setSourceFiles(null);
         String[] sourceFiles = getSourceFiles(config);
-        Map<String, byte[]> dependenciesSourceFiles = getDependenciesSourceFiles(config);
         if (sourceFiles.length > 0) {
-            System.out.println("Compiling " + sourceFiles.length + " " +
-                    "source file" + (sourceFiles.length == 1 ? "" : "s"));
+            List<String> dependencyJars = getDependencyJars(config);
+            String buildSignature = getBuildSignature(dependencyJars);
+            File outputDirectory = getOutputDirectory(config);
+            CompilationFingerprints previousFingerprints = outputDirectory == null ?
+                    new CompilationFingerprints(buildSignature) :
+                    CompilationFingerprints.load(outputDirectory, buildSignature);
+
+            ModuleModels moduleModels = new ModuleModels(sourceFiles, dependencyJars, outputDirectory,
+                    previousFingerprints);
+            Set<String> filesToCompile = getFilesToCompile(sourceFiles, previousFingerprints, moduleModels);
+            System.out.println("Compiling " + filesToCompile.size() + " " +
+                    "source file" + (filesToCompile.size() == 1 ? "" : "s") +
+                    (filesToCompile.size() < sourceFiles.length ? " (" + sourceFiles.length + " in module)" : ""));
+
+            CompilationFingerprints fingerprints = new CompilationFingerprints(buildSignature);
             for (String sourceFile : sourceFiles) {
-                compilerMessage.addAll(compileFile(sourceFile, sourceFiles, dependenciesSourceFiles));
+                CompilationFingerprints.Fingerprint previousFingerprint = previousFingerprints.get(sourceFile);
+                if (previousFingerprint != null && !filesToCompile.contains(sourceFile)) {
+                    fingerprints.put(sourceFile, previousFingerprint);
+                }
             }
+            for (String sourceFile : filesToCompile) {
+                List<CompilerMessage> fileMessages = compileFile(sourceFile, moduleModels);
+                CompilationFingerprints.Fingerprint fingerprint =
+                        moduleModels.createFingerprint(sourceFile, fileMessages.isEmpty());
+                if (fingerprint != null) {
+                    fingerprints.put(sourceFile, fingerprint);
+                }
+                compilerMessage.addAll(fileMessages);
+            }
+            saveFingerprints(fingerprints, outputDirectory);
 
             if (compilerMessage.size() > 0) {
                 compilerResult.setCompilerMessages(compilerMessage);
@@ -112,15 +165,61 @@ public class CloudSlangMavenCompiler extends AbstractCompiler {
                 CompilerMessage.Kind.WARNING : CompilerMessage.Kind.ERROR;
     }
 
-    private List<CompilerMessage> compileFile(String sourceFile, String[] sourceFiles,
-                                              Map<String, byte[]> dependenciesSourceFiles) {
+    /**
+     * A source is compiled again if it is new, its content changed or its last validation reported messages.
+     * A flow is also validated again when one of its direct dependencies was changed, added or removed.
+     */
+    private Set<String> getFilesToCompile(String[] sourceFiles, CompilationFingerprints previousFingerprints,
+                                          ModuleModels moduleModels) {
+        Set<String> filesToCompile = new LinkedHashSet<>();
+        Set<String> changedExecutableIds = new HashSet<>();
+
+        for (String sourceFile : sourceFiles) {
+            CompilationFingerprints.Fingerprint previousFingerprint = previousFingerprints.get(sourceFile);
+            String contentDigest = moduleModels.getContentDigest(sourceFile);
+            if (previousFingerprint == null || contentDigest == null ||
+                    !contentDigest.equals(previousFingerprint.getContentDigest())) {
+                filesToCompile.add(sourceFile);
+                if (previousFingerprint != null && previousFingerprint.getExecutableId() != null) {
+                    changedExecutableIds.add(previousFingerprint.getExecutableId());
+                }
+                Executable executable = moduleModels.getExecutable(sourceFile);
+                if (executable != null) {
+                    changedExecutableIds.add(executable.getId());
+                }
+            } else if (!previousFingerprint.isClean()) {
+                filesToCompile.add(sourceFile);
+            }
+        }
+
+        Set<String> currentSourceFiles = new HashSet<>(Arrays.asList(sourceFiles));
+        for (String previousSourceFile : previousFingerprints.getSourceFiles()) {
+            String executableId = previousFingerprints.get(previousSourceFile).getExecutableId();
+            if (!currentSourceFiles.contains(previousSourceFile) && executableId != null) {
+                changedExecutableIds.add(executableId);
+            }
+        }
+
+        if (compileWithDependencies && !changedExecutableIds.isEmpty()) {
+            for (String sourceFile : sourceFiles) {
+                CompilationFingerprints.Fingerprint previousFingerprint = previousFingerprints.get(sourceFile);
+                if (previousFingerprint != null &&
+                        !Collections.disjoint(previousFingerprint.getDependencies(), changedExecutableIds)) {
+                    filesToCompile.add(sourceFile);
+                }
+            }
+        }
+
+        return filesToCompile;
+    }
+
+    private List<CompilerMessage> compileFile(String sourceFile, ModuleModels moduleModels) {
         ExecutableModellingResult executableModellingResult;
         List<CompilerMessage> compilerMessages = new ArrayList<>();
 
 
         try {
-            SlangSource slangSource = SlangSource.fromFile(new File(sourceFile));
-            executableModellingResult = slangCompiler.preCompileSource(slangSource);
+            executableModellingResult = moduleModels.getModellingResult(sourceFile);
             if (!CollectionUtils.isEmpty(executableModellingResult.getErrors())) {
                 for (RuntimeException runtimeException : executableModellingResult.getErrors()) {
                     compilerMessages.add(new CompilerMessage(sourceFile + ": " +
@@ -129,7 +228,7 @@ public class CloudSlangMavenCompiler extends AbstractCompiler {
             } else {
                 if (compileWithDependencies) {
                     compilerMessages.addAll(validateSlangModelWithDependencies(executableModellingResult,
-                            sourceFiles, dependenciesSourceFiles, sourceFile));
+                            moduleModels, sourceFile));
                 }
             }
         } catch (Exception e) {
@@ -140,8 +239,7 @@ public class CloudSlangMavenCompiler extends AbstractCompiler {
     }
 
     private List<CompilerMessage> validateSlangModelWithDependencies(ExecutableModellingResult modellingResult,
-                                                                     String[] dependencies,
-                                                                     Map<String, byte[]> dependenciesSourceFiles,
+                                                                     ModuleModels moduleModels,
                                                                      String sourceFile) {
         List<CompilerMessage> compilerMessages = new ArrayList<>();
         Set<Executable> dependenciesExecutables = new HashSet<>();
@@ -152,23 +250,10 @@ public class CloudSlangMavenCompiler extends AbstractCompiler {
             return compilerMessages;
         }
 
-        for (String dependency : dependencies) {
-            try {
-                SlangSource slangSource = SlangSource.fromFile(new File(dependency));
-                modellingResult = slangCompiler.preCompileSource(slangSource);
-                dependenciesExecutables.add(modellingResult.getExecutable());
-            } catch (Exception e) {
-                this.getLogger().warn("Could not compile source: " + dependency);
-            }
-        }
-
-        for (Map.Entry<String, byte[]> dependencyEntry : dependenciesSourceFiles.entrySet()) {
-            try {
-                SlangSource slangSource = SlangSource.fromBytes(dependencyEntry.getValue(), dependencyEntry.getKey());
-                modellingResult = slangCompiler.preCompileSource(slangSource);
-                dependenciesExecutables.add(modellingResult.getExecutable());
-            } catch (Exception e) {
-                this.getLogger().warn("Could not compile source: " + dependencyEntry.getKey());
+        for (String dependencyId : executable.getExecutableDependencies()) {
+            Executable dependency = moduleModels.getDependency(dependencyId);
+            if (dependency != null) {
+                dependenciesExecutables.add(dependency);
             }
         }
 
@@ -181,65 +266,229 @@ public class CloudSlangMavenCompiler extends AbstractCompiler {
         return compilerMessages;
     }
 
-    public String[] createCommandLine(CompilerConfiguration config) throws CompilerException {
-        return null;
+    private void saveFingerprints(CompilationFingerprints fingerprints, File outputDirectory) {
+        if (outputDirectory == null) {
+            return;
+        }
+        try {
+            fingerprints.save(outputDirectory);
+        } catch (IOException e) {
+            this.getLogger().warn("Could not save compilation fingerprints to: " + outputDirectory + ". " +
+                    e.getMessage());
+        }
     }
 
-    protected static String[] getSourceFiles(CompilerConfiguration config) {
-        Set<String> sources = new HashSet<>();
+    private String getBuildSignature(List<String> dependencyJars) {
+        StringBuilder signature = new StringBuilder();
+        signature.append(IGNORE_DEPENDENCIES).append('=').append(!compileWithDependencies).append('\n');
+        for (String dependencyJar : dependencyJars) {
+            File jar = new File(dependencyJar);
+            signature.append(jar.getAbsolutePath()).append(':').append(jar.length()).append(':')
+                    .append(jar.lastModified()).append('\n');
+        }
+        return DigestUtils.sha256Hex(signature.toString());
+    }
 
-        for (String sourceLocation : config.getSourceLocations()) {
-            sources.addAll(getSourceFilesForSourceRoot(config, sourceLocation));
+    private static String readContentDigest(String sourceFile) {
+        try {
+            return SlangSource.fromFile(new File(sourceFile)).getContentDigest();
+        } catch (Exception e) {
+            return null;
         }
+    }
 
-        return sources.toArray(new String[sources.size()]);
+    private static File getOutputDirectory(CompilerConfiguration config) {
+        String outputLocation = config.getOutputLocation();
+        return outputLocation == null || outputLocation.isEmpty() ? null : new File(outputLocation);
     }
 
-    private static Map<String, byte[]> getDependenciesSourceFiles(CompilerConfiguration config)
-            throws CompilerException {
-        if (config.getClasspathEntries().isEmpty()) {
-            return Collections.emptyMap();
+    /**
+     * The index of a dependency jar is created once for every version of the jar, and kept in memory and in the
+     * build output directory. The index of a previous version is closed when it is replaced.
+     */
+    private DependencyJarIndex getDependencyJarIndex(String dependencyJar, File outputDirectory) {
+        File jar = new File(dependencyJar).getAbsoluteFile();
+        DependencyJarIndex dependencyJarIndex = dependencyJarIndexes.get(jar.getPath());
+        if (dependencyJarIndex != null) {
+            if (dependencyJarIndex.isUpToDate()) {
+                return dependencyJarIndex;
+            }
+            closeQuietly(dependencyJarIndex, dependencyJar);
         }
 
-        Map<String, byte[]> sources = new HashMap<>();
-        for (String dependency : config.getClasspathEntries()) {
+        File indexDirectory = outputDirectory == null ? null : new File(outputDirectory, DEPENDENCIES_INDEX_DIR);
+        dependencyJarIndex = indexDirectory == null ? null : DependencyJarIndex.load(indexDirectory, jar);
+        if (dependencyJarIndex == null) {
             try {
-                sources.putAll(getSourceFilesForDependencies(dependency));
+                dependencyJarIndex = DependencyJarIndex.create(jar, slangCompiler, getLogger());
             } catch (IOException e) {
-                throw new CompilerException("Cannot load sources from: " + dependency + ". " + e.getMessage());
+                throw new RuntimeException("Cannot load sources from: " + dependencyJar + ". " + e.getMessage(), e);
+            }
+            if (indexDirectory != null) {
+                try {
+                    dependencyJarIndex.save(indexDirectory);
+                } catch (IOException e) {
+                    getLogger().warn("Could not save the index of: " + dependencyJar + ". " + e.getMessage());
+                }
             }
         }
+        dependencyJarIndexes.put(jar.getPath(), dependencyJarIndex);
+        return dependencyJarIndex;
+    }
 
-        return sources;
+    private void closeQuietly(DependencyJarIndex dependencyJarIndex, String dependencyJar) {
+        try {
+            dependencyJarIndex.close();
+        } catch (IOException e) {
+            getLogger().warn("Could not close: " + dependencyJar + ". " + e.getMessage());
+        }
     }
 
-    private static Map<String, byte[]> getSourceFilesForDependencies(String dependency) throws IOException {
-        Path path = Paths.get(dependency);
-        if (!Files.exists(path) || !path.toString().toLowerCase().endsWith(".jar")) {
-            return Collections.emptyMap();
+    /**
+     * The models of a single build. Every source and every dependency jar entry is pre-compiled at most once,
+     * and only when it is needed: a module source when it is compiled or when it is the dependency of a compiled
+     * flow, a dependency jar entry when it is the dependency of a compiled flow.
+     */
+    private class ModuleModels {
+
+        private final List<String> dependencyJars;
+
+        private final File outputDirectory;
+
+        private final Map<String, SlangSource> sources = new HashMap<>();
+
+        private final Map<String, ExecutableModellingResult> modellingResults = new HashMap<>();
+
+        /**
+         * executable id -> source file, for the module sources
+         */
+        private final Map<String, String> sourceFilesById = new HashMap<>();
+
+        private List<DependencyJarIndex> dependencyJarsIndexes;
+
+        ModuleModels(String[] sourceFiles, List<String> dependencyJars, File outputDirectory,
+                     CompilationFingerprints previousFingerprints) {
+            this.dependencyJars = dependencyJars;
+            this.outputDirectory = outputDirectory;
+            for (String sourceFile : sourceFiles) {
+                CompilationFingerprints.Fingerprint previousFingerprint = previousFingerprints.get(sourceFile);
+                if (previousFingerprint != null && previousFingerprint.getExecutableId() != null &&
+                        previousFingerprint.getContentDigest().equals(getContentDigest(sourceFile))) {
+                    sourceFilesById.put(previousFingerprint.getExecutableId(), sourceFile);
+                }
+            }
+        }
+
+        String getContentDigest(String sourceFile) {
+            SlangSource source = getSource(sourceFile);
+            return source == null ? null : source.getContentDigest();
         }
 
-        Map<String, byte[]> sources = new HashMap<>();
+        Executable getExecutable(String sourceFile) {
+            try {
+                return getModellingResult(sourceFile).getExecutable();
+            } catch (Exception e) {
+                return null;
+            }
+        }
 
-        try (JarFile jar = new JarFile(dependency)) {
-            Enumeration enumEntries = jar.entries();
-            while (enumEntries.hasMoreElements()) {
-                JarEntry file = (JarEntry) enumEntries.nextElement();
-                if ((file == null) || (file.isDirectory()) ||
-                        (!file.getName().endsWith(".sl.yaml") &&
-                                !file.getName().endsWith(".sl") && !file.getName().endsWith(".sl.yml"))) {
-                    continue;
+        ExecutableModellingResult getModellingResult(String sourceFile) {
+            ExecutableModellingResult modellingResult = modellingResults.get(sourceFile);
+            if (modellingResult == null) {
+                SlangSource source = getSource(sourceFile);
+                //let the error of reading the file be reported for the file
+                modellingResult = slangCompiler.preCompileSource(source != null ? source :
+                        SlangSource.fromFile(new File(sourceFile)));
+                modellingResults.put(sourceFile, modellingResult);
+                Executable executable = modellingResult.getExecutable();
+                if (executable != null) {
+                    sourceFilesById.put(executable.getId(), sourceFile);
                 }
+            }
+            return modellingResult;
+        }
 
-                byte[] bytes;
-                try (InputStream is = jar.getInputStream(file)) {
-                    bytes = IOUtils.toByteArray(is);
-                    sources.put(file.getName(), bytes);
+        Executable getDependency(String executableId) {
+            String sourceFile = sourceFilesById.get(executableId);
+            if (sourceFile != null) {
+                Executable executable = getExecutable(sourceFile);
+                if (executable != null && executableId.equals(executable.getId())) {
+                    return executable;
                 }
             }
+            for (DependencyJarIndex dependencyJarIndex : getDependencyJarsIndexes()) {
+                try {
+                    Executable executable = dependencyJarIndex.getExecutable(executableId, slangCompiler);
+                    if (executable != null) {
+                        return executable;
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException("Cannot load " + executableId + " from dependencies. " +
+                            e.getMessage(), e);
+                }
+            }
+            return null;
         }
 
-        return sources;
+        CompilationFingerprints.Fingerprint createFingerprint(String sourceFile, boolean clean) {
+            String contentDigest = getContentDigest(sourceFile);
+            if (contentDigest == null) {
+                return null;
+            }
+            Executable executable = getExecutable(sourceFile);
+            return executable == null ?
+                    new CompilationFingerprints.Fingerprint(contentDigest, clean, null, null) :
+                    new CompilationFingerprints.Fingerprint(contentDigest, clean, executable.getId(),
+                            new HashSet<>(executable.getExecutableDependencies()));
+        }
+
+        private SlangSource getSource(String sourceFile) {
+            if (!sources.containsKey(sourceFile)) {
+                SlangSource source;
+                try {
+                    source = SlangSource.fromFile(new File(sourceFile));
+                } catch (Exception e) {
+                    source = null;
+                }
+                sources.put(sourceFile, source);
+            }
+            return sources.get(sourceFile);
+        }
+
+        private List<DependencyJarIndex> getDependencyJarsIndexes() {
+            if (dependencyJarsIndexes == null) {
+                dependencyJarsIndexes = new ArrayList<>();
+                for (String dependencyJar : dependencyJars) {
+                    dependencyJarsIndexes.add(getDependencyJarIndex(dependencyJar, outputDirectory));
+                }
+            }
+            return dependencyJarsIndexes;
+        }
+    }
+
+    public String[] createCommandLine(CompilerConfiguration config) throws CompilerException {
+        return null;
+    }
+
+    protected static String[] getSourceFiles(CompilerConfiguration config) {
+        Set<String> sources = new HashSet<>();
+
+        for (String sourceLocation : config.getSourceLocations()) {
+            sources.addAll(getSourceFilesForSourceRoot(config, sourceLocation));
+        }
+
+        return sources.toArray(new String[sources.size()]);
+    }
+
+    private static List<String> getDependencyJars(CompilerConfiguration config) {
+        List<String> dependencyJars = new ArrayList<>();
+        for (String dependency : config.getClasspathEntries()) {
+            Path path = Paths.get(dependency);
+            if (Files.exists(path) && path.toString().toLowerCase().endsWith(".jar")) {
+                dependencyJars.add(dependency);
+            }
+        }
+        return dependencyJars;
     }
 
     // we need to override this as it is hard coded java file extensions
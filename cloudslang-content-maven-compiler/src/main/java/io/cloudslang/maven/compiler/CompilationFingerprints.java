@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.maven.compiler;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The fingerprints of the sources validated by the last build of a module, kept in the build output directory.
+ * <p>
+ * A source is recorded with the digest of its content, the id of its executable, the ids of its direct dependencies
+ * and whether its last validation was clean. Fingerprints are only reused by a build with the same signature
+ * (compiler arguments and dependency jars), otherwise every source is validated again.
+ */
+public class CompilationFingerprints {
+
+    static final String FINGERPRINTS_FILE_NAME = "cloudslang-compiler.fingerprints";
+
+    private static final String BUILD_SIGNATURE_KEY = "#build-signature";
+    private static final String SEPARATOR = "|";
+    private static final String DEPENDENCIES_SEPARATOR = ",";
+
+    private final String buildSignature;
+
+    private final Map<String, Fingerprint> fingerprints = new HashMap<>();
+
+    public CompilationFingerprints(String buildSignature) {
+        this.buildSignature = buildSignature;
+    }
+
+    public static boolean exist(File outputDirectory) {
+        return new File(outputDirectory, FINGERPRINTS_FILE_NAME).isFile();
+    }
+
+    /**
+     * @param outputDirectory the build output directory
+     * @param buildSignature  the signature of the current build
+     * @return the fingerprints of the last build, or no fingerprints if they are missing, unreadable or were
+     *     written by a build with a different signature
+     */
+    public static CompilationFingerprints load(File outputDirectory, String buildSignature) {
+        CompilationFingerprints compilationFingerprints = new CompilationFingerprints(buildSignature);
+        File fingerprintsFile = new File(outputDirectory, FINGERPRINTS_FILE_NAME);
+        if (!fingerprintsFile.isFile()) {
+            return compilationFingerprints;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(fingerprintsFile)) {
+            properties.load(in);
+        } catch (IOException e) {
+            return compilationFingerprints;
+        }
+        if (!buildSignature.equals(properties.getProperty(BUILD_SIGNATURE_KEY))) {
+            return compilationFingerprints;
+        }
+
+        for (String sourceFile : properties.stringPropertyNames()) {
+            if (!BUILD_SIGNATURE_KEY.equals(sourceFile)) {
+                Fingerprint fingerprint = Fingerprint.parse(properties.getProperty(sourceFile));
+                if (fingerprint != null) {
+                    compilationFingerprints.put(sourceFile, fingerprint);
+                }
+            }
+        }
+        return compilationFingerprints;
+    }
+
+    public void save(File outputDirectory) throws IOException {
+        if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs()) {
+            throw new IOException("Cannot create directory: " + outputDirectory);
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty(BUILD_SIGNATURE_KEY, buildSignature);
+        for (Map.Entry<String, Fingerprint> entry : fingerprints.entrySet()) {
+            properties.setProperty(entry.getKey(), entry.getValue().format());
+        }
+        try (OutputStream out = new FileOutputStream(new File(outputDirectory, FINGERPRINTS_FILE_NAME))) {
+            properties.store(out, "CloudSlang compiler fingerprints");
+        }
+    }
+
+    public Fingerprint get(String sourceFile) {
+        return fingerprints.get(sourceFile);
+    }
+
+    public void put(String sourceFile, Fingerprint fingerprint) {
+        fingerprints.put(sourceFile, fingerprint);
+    }
+
+    public Set<String> getSourceFiles() {
+        return Collections.unmodifiableSet(fingerprints.keySet());
+    }
+
+    public static class Fingerprint {
+
+        private final String contentDigest;
+        private final boolean clean;
+        private final String executableId;
+        private final Set<String> dependencies;
+
+        public Fingerprint(String contentDigest, boolean clean, String executableId, Set<String> dependencies) {
+            this.contentDigest = contentDigest;
+            this.clean = clean;
+            this.executableId = executableId;
+            this.dependencies = dependencies == null ? Collections.<String>emptySet() : dependencies;
+        }
+
+        public String getContentDigest() {
+            return contentDigest;
+        }
+
+        public boolean isClean() {
+            return clean;
+        }
+
+        public String getExecutableId() {
+            return executableId;
+        }
+
+        public Set<String> getDependencies() {
+            return dependencies;
+        }
+
+        private String format() {
+            return contentDigest + SEPARATOR + clean + SEPARATOR + (executableId == null ? "" : executableId) +
+                    SEPARATOR + String.join(DEPENDENCIES_SEPARATOR, dependencies);
+        }
+
+        private static Fingerprint parse(String value) {
+            String[] parts = value.split(Pattern.quote(SEPARATOR), -1);
+            if (parts.length != 4) {
+                return null;
+            }
+            Set<String> dependencies = new HashSet<>();
+            for (String dependency : parts[3].split(Pattern.quote(DEPENDENCIES_SEPARATOR))) {
+                if (!dependency.isEmpty()) {
+                    dependencies.add(dependency);
+                }
+            }
+            return new Fingerprint(parts[0], Boolean.parseBoolean(parts[1]),
+                    parts[2].isEmpty() ? null : parts[2], dependencies);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.maven.compiler;
+
+import io.cloudslang.lang.compiler.Extension;
+import io.cloudslang.lang.compiler.SlangCompiler;
+import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
+import io.cloudslang.lang.compiler.utils.SlangSourceUtils;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.IOUtils;
+import org.codehaus.plexus.logging.Logger;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * The CloudSlang sources of a dependency jar, indexed by the id of their executable.
+ * <p>
+ * Only the index (executable id -> jar entry) is kept for a jar, an entry is pre-compiled the first time its
+ * executable is requested. The index is built from the namespace line and the file name of every entry, an entry
+ * whose namespace line cannot be read that way is pre-compiled instead. An index belongs to a version of the jar
+ * (its size and last modification time) and can be stored in a directory to be reused by later builds, so an
+ * unchanged jar is scanned only once. The jar is opened on the first lookup and kept open until the index is closed.
+ */
+public class DependencyJarIndex implements Closeable {
+
+    static final String INDEX_FILE_EXTENSION = ".index";
+
+    private static final String LENGTH_KEY = "#length";
+    private static final String LAST_MODIFIED_KEY = "#last-modified";
+    private static final String FORMAT_KEY = "#format";
+    private static final String FORMAT = "2";
+
+    private final File jar;
+    private final long length;
+    private final long lastModified;
+
+    /**
+     * executable id in lower case -> jar entry name
+     */
+    private final Map<String, String> entriesById;
+
+    /**
+     * jar entry name -> executable pre-compiled from the entry, null if the entry has none
+     */
+    private final Map<String, Executable> executables;
+
+    private JarFile jarFile;
+
+    private DependencyJarIndex(File jar, long length, long lastModified, Map<String, String> entriesById,
+                               Map<String, Executable> executables, JarFile jarFile) {
+        this.jar = jar;
+        this.length = length;
+        this.lastModified = lastModified;
+        this.entriesById = entriesById;
+        this.executables = executables;
+        this.jarFile = jarFile;
+    }
+
+    /**
+     * @param jar           the dependency jar
+     * @param slangCompiler the compiler used to pre-compile the entries whose namespace line cannot be read
+     * @param logger        the logger for the sources that have no executable
+     * @return the index of the jar
+     * @throws IOException if the jar cannot be read
+     */
+    public static DependencyJarIndex create(File jar, SlangCompiler slangCompiler, Logger logger)
+            throws IOException {
+        long length = jar.length();
+        long lastModified = jar.lastModified();
+        Map<String, String> entriesById = new HashMap<>();
+        Map<String, Executable> executables = new HashMap<>();
+
+        JarFile jarFile = new JarFile(jar);
+        try {
+            Enumeration<JarEntry> enumEntries = jarFile.entries();
+            while (enumEntries.hasMoreElements()) {
+                JarEntry entry = enumEntries.nextElement();
+                if (entry.isDirectory() || !isSlangSource(entry.getName())) {
+                    continue;
+                }
+
+                SlangSource source = readEntry(jarFile, entry);
+                String namespace = SlangSourceUtils.readNamespace(source);
+                String executableId;
+                if (namespace != null) {
+                    executableId = namespace + "." +
+                            Extension.removeExtension(FilenameUtils.getName(entry.getName()));
+                } else {
+                    // e.g. a byte order mark or a namespace in flow style, the parser knows better
+                    Executable executable = preCompile(source, slangCompiler);
+                    if (executable == null) {
+                        logger.warn("Could not find the executable of source: " + entry.getName());
+                        continue;
+                    }
+                    executableId = executable.getId();
+                    executables.put(entry.getName(), executable);
+                }
+                String key = executableId.toLowerCase(Locale.ENGLISH);
+                if (!entriesById.containsKey(key)) {
+                    entriesById.put(key, entry.getName());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            jarFile.close();
+            throw e;
+        }
+
+        return new DependencyJarIndex(jar, length, lastModified, entriesById, executables, jarFile);
+    }
+
+    /**
+     * @param indexDirectory the directory the index was stored in
+     * @param jar            the dependency jar
+     * @return the stored index of the current version of the jar, or null if there is none
+     */
+    public static DependencyJarIndex load(File indexDirectory, File jar) {
+        File indexFile = getIndexFile(indexDirectory, jar);
+        if (!indexFile.isFile()) {
+            return null;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(indexFile)) {
+            properties.load(in);
+        } catch (IOException e) {
+            return null;
+        }
+        if (!FORMAT.equals(properties.getProperty(FORMAT_KEY)) ||
+                !String.valueOf(jar.length()).equals(properties.getProperty(LENGTH_KEY)) ||
+                !String.valueOf(jar.lastModified()).equals(properties.getProperty(LAST_MODIFIED_KEY))) {
+            return null;
+        }
+
+        Map<String, String> entriesById = new HashMap<>();
+        for (String executableId : properties.stringPropertyNames()) {
+            if (!executableId.startsWith("#")) {
+                entriesById.put(executableId, properties.getProperty(executableId));
+            }
+        }
+        return new DependencyJarIndex(jar, jar.length(), jar.lastModified(), entriesById, new HashMap<>(), null);
+    }
+
+    public void save(File indexDirectory) throws IOException {
+        if (!indexDirectory.isDirectory() && !indexDirectory.mkdirs()) {
+            throw new IOException("Cannot create directory: " + indexDirectory);
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty(FORMAT_KEY, FORMAT);
+        properties.setProperty(LENGTH_KEY, String.valueOf(length));
+        properties.setProperty(LAST_MODIFIED_KEY, String.valueOf(lastModified));
+        properties.putAll(entriesById);
+        try (OutputStream out = new FileOutputStream(getIndexFile(indexDirectory, jar))) {
+            properties.store(out, "CloudSlang sources of " + jar.getAbsolutePath());
+        }
+    }
+
+    /**
+     * @return whether the jar was not changed since it was indexed
+     */
+    public boolean isUpToDate() {
+        return jar.length() == length && jar.lastModified() == lastModified;
+    }
+
+    /**
+     * @param executableId  the id of the executable
+     * @param slangCompiler the compiler used to pre-compile the jar entry of the executable
+     * @return the executable, or null if the jar has no CloudSlang source for it
+     * @throws IOException if the jar cannot be read
+     */
+    public synchronized Executable getExecutable(String executableId, SlangCompiler slangCompiler)
+            throws IOException {
+        String entryName = entriesById.get(executableId.toLowerCase(Locale.ENGLISH));
+        if (entryName == null) {
+            return null;
+        }
+
+        if (!executables.containsKey(entryName)) {
+            if (jarFile == null) {
+                jarFile = new JarFile(jar);
+            }
+            JarEntry entry = jarFile.getJarEntry(entryName);
+            executables.put(entryName, entry == null ? null :
+                    slangCompiler.preCompileSource(readEntry(jarFile, entry)).getExecutable());
+        }
+        // the index is built from the source text, the entry may still declare another executable
+        Executable executable = executables.get(entryName);
+        return executable != null && executableId.equals(executable.getId()) ? executable : null;
+    }
+
+    /**
+     * Close the jar, it is opened again by the next lookup.
+     *
+     * @throws IOException if the jar cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (jarFile != null) {
+            jarFile.close();
+            jarFile = null;
+        }
+    }
+
+    static boolean isSlangSource(String entryName) {
+        return entryName.endsWith(".sl.yaml") || entryName.endsWith(".sl") || entryName.endsWith(".sl.yml");
+    }
+
+    private static Executable preCompile(SlangSource source, SlangCompiler slangCompiler) {
+        try {
+            ExecutableModellingResult modellingResult = slangCompiler.preCompileSource(source);
+            return modellingResult.getExecutable();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static SlangSource readEntry(JarFile jarFile, JarEntry entry) throws IOException {
+        try (InputStream is = jarFile.getInputStream(entry)) {
+            return SlangSource.fromBytes(IOUtils.toByteArray(is), entry.getName());
+        }
+    }
+
+    private static File getIndexFile(File indexDirectory, File jar) {
+        return new File(indexDirectory, jar.getName() + "-" + DigestUtils.sha256Hex(jar.getAbsolutePath())
+                .substring(0, 16) + INDEX_FILE_EXTENSION);
+    }
+}
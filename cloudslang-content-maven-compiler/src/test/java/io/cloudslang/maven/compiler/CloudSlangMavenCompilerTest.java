@@ -9,9 +9,18 @@
  *******************************************************************************/
 package io.cloudslang.maven.compiler;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.apache.commons.io.FileUtils;
 import org.codehaus.plexus.compiler.AbstractCompilerTest;
 import org.codehaus.plexus.compiler.Compiler;
 import org.codehaus.plexus.compiler.CompilerConfiguration;
@@ -58,6 +67,132 @@ public class CloudSlangMavenCompilerTest extends AbstractCompilerTest {
         assertEquals("Wrong number of compilation errors.", 0, numCompilerErrors);
     }
 
+    public void testIncrementalCompilation() throws Exception {
+        File baseDir = new File(getBasedir(), "target/incremental-compilation");
+        FileUtils.deleteDirectory(baseDir);
+        Path sourceDir = new File(baseDir, "content").toPath();
+        Files.createDirectories(sourceDir);
+        writeFlow(sourceDir);
+        writeOperation(sourceDir, "SUCCESS");
+
+        CompilerConfiguration compilerConfig = new CompilerConfiguration();
+        compilerConfig.setClasspathEntries(this.getClasspath());
+        compilerConfig.addSourceLocation(sourceDir.toString());
+        compilerConfig.setOutputLocation(new File(baseDir, "classes").getPath());
+        compilerConfig.setCustomCompilerArgumentsAsMap(new HashMap<String, String>());
+
+        Compiler compiler = (Compiler) this.lookup(Compiler.ROLE, this.getRoleHint());
+        assertFalse(compiler.canUpdateTarget(compilerConfig));
+        assertEquals("Wrong number of compilation errors.", 0,
+                compilerErrorCount(compiler.performCompile(compilerConfig).getCompilerMessages()));
+        assertTrue(compiler.canUpdateTarget(compilerConfig));
+
+        // the flow did not change but it has to be validated again with its changed dependency
+        writeOperation(sourceDir, "CUSTOM");
+        assertFalse(compiler.canUpdateTarget(compilerConfig));
+        assertEquals("Wrong number of compilation errors.", 2,
+                compilerErrorCount(compiler.performCompile(compilerConfig).getCompilerMessages()));
+        // the errors have to be reported again by the next build
+        assertFalse(compiler.canUpdateTarget(compilerConfig));
+
+        writeOperation(sourceDir, "SUCCESS");
+        assertEquals("Wrong number of compilation errors.", 0,
+                compilerErrorCount(compiler.performCompile(compilerConfig).getCompilerMessages()));
+        assertTrue(compiler.canUpdateTarget(compilerConfig));
+
+        Files.delete(sourceDir.resolve("op.sl"));
+        assertFalse(compiler.canUpdateTarget(compilerConfig));
+    }
+
+    public void testCompilingWithDependencyJar() throws Exception {
+        File baseDir = new File(getBasedir(), "target/dependency-jar-compilation");
+        FileUtils.deleteDirectory(baseDir);
+        Path sourceDir = new File(baseDir, "content").toPath();
+        Path jarSourceDir = new File(baseDir, "jar-content").toPath();
+        Files.createDirectories(sourceDir);
+        Files.createDirectories(jarSourceDir);
+        writeFlow(sourceDir);
+        writeOperation(jarSourceDir, "SUCCESS");
+        File jar = new File(baseDir, "dependency.jar");
+        try (JarOutputStream jarOut = new JarOutputStream(new FileOutputStream(jar))) {
+            jarOut.putNextEntry(new JarEntry("incremental/op.sl"));
+            jarOut.write(Files.readAllBytes(jarSourceDir.resolve("op.sl")));
+            jarOut.closeEntry();
+        }
+
+        CompilerConfiguration compilerConfig = new CompilerConfiguration();
+        compilerConfig.setClasspathEntries(Collections.singletonList(jar.getPath()));
+        compilerConfig.addSourceLocation(sourceDir.toString());
+        File outputDir = new File(baseDir, "classes");
+        compilerConfig.setOutputLocation(outputDir.getPath());
+        compilerConfig.setCustomCompilerArgumentsAsMap(new HashMap<String, String>());
+
+        Compiler compiler = (Compiler) this.lookup(Compiler.ROLE, this.getRoleHint());
+        assertEquals("Wrong number of compilation errors.", 0,
+                compilerErrorCount(compiler.performCompile(compilerConfig).getCompilerMessages()));
+
+        File[] indexFiles = new File(outputDir, "cloudslang-dependencies").listFiles();
+        assertNotNull(indexFiles);
+        assertEquals(1, indexFiles.length);
+        assertTrue(new String(Files.readAllBytes(indexFiles[0].toPath()), StandardCharsets.ISO_8859_1)
+                .contains("incremental.op=incremental/op.sl"));
+    }
+
+    public void testCompilingWithDependencyJarEntryWithoutNamespaceLine() throws Exception {
+        File baseDir = new File(getBasedir(), "target/dependency-jar-quoted-namespace");
+        FileUtils.deleteDirectory(baseDir);
+        Path sourceDir = new File(baseDir, "content").toPath();
+        Files.createDirectories(sourceDir);
+        writeFlow(sourceDir);
+        File jar = new File(baseDir, "dependency.jar");
+        try (JarOutputStream jarOut = new JarOutputStream(new FileOutputStream(jar))) {
+            jarOut.putNextEntry(new JarEntry("incremental/op.sl"));
+            jarOut.write(("\"namespace\": incremental\n" +
+                    "operation:\n" +
+                    "  name: op\n" +
+                    "  python_action:\n" +
+                    "    script: pass\n" +
+                    "  results:\n" +
+                    "    - CUSTOM\n").getBytes(StandardCharsets.UTF_8));
+            jarOut.closeEntry();
+        }
+
+        CompilerConfiguration compilerConfig = new CompilerConfiguration();
+        compilerConfig.setClasspathEntries(Collections.singletonList(jar.getPath()));
+        compilerConfig.addSourceLocation(sourceDir.toString());
+        compilerConfig.setOutputLocation(new File(baseDir, "classes").getPath());
+        compilerConfig.setCustomCompilerArgumentsAsMap(new HashMap<String, String>());
+
+        // the operation is found by pre-compiling the entry, so the unhandled CUSTOM result is reported
+        Compiler compiler = (Compiler) this.lookup(Compiler.ROLE, this.getRoleHint());
+        assertEquals("Wrong number of compilation errors.", 2,
+                compilerErrorCount(compiler.performCompile(compilerConfig).getCompilerMessages()));
+    }
+
+    private void writeFlow(Path sourceDir) throws Exception {
+        Files.write(sourceDir.resolve("flow.sl"), ("namespace: incremental\n" +
+                "flow:\n" +
+                "  name: flow\n" +
+                "  workflow:\n" +
+                "    - step:\n" +
+                "        do:\n" +
+                "          op: []\n" +
+                "        navigate:\n" +
+                "          - SUCCESS: SUCCESS\n" +
+                "  results:\n" +
+                "    - SUCCESS\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeOperation(Path sourceDir, String result) throws Exception {
+        Files.write(sourceDir.resolve("op.sl"), ("namespace: incremental\n" +
+                "operation:\n" +
+                "  name: op\n" +
+                "  python_action:\n" +
+                "    script: pass\n" +
+                "  results:\n" +
+                "    - " + result + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
     private CompilerConfiguration getCompilerConfigurationShallowCompile() throws Exception {
         String sourceDir = getBasedir() + "/src/test/resources/content";
         Map<String, String> customCompilerArguments = new HashMap<>();
@@ -22,6 +22,7 @@ import io.cloudslang.lang.tools.build.tester.parallel.report.ThreadSafeRunTestRe
 import io.cloudslang.lang.tools.build.tester.parse.SlangTestCase;
 import io.cloudslang.lang.tools.build.tester.runconfiguration.BuildModeConfig;
 import io.cloudslang.lang.tools.build.verifier.CompileResult;
+import io.cloudslang.lang.tools.build.verifier.DependencyClosureCache;
 import io.cloudslang.lang.tools.build.verifier.PreCompileResult;
 import io.cloudslang.lang.tools.build.verifier.SlangContentVerifier;
 import org.apache.commons.io.FilenameUtils;
@@ -91,14 +92,17 @@ public class SlangBuilder {
 
         List<RuntimeException> exceptions = new ArrayList<>(preCompileResult.getExceptions());
 
-        CompileResult compileResult = compileModels(slangModels);
+        // the dependency closures of the content are shared by its compilation and the test coverage
+        DependencyClosureCache dependencyClosureCache = new DependencyClosureCache(slangModels);
+        CompileResult compileResult = compileModels(slangModels, dependencyClosureCache);
         exceptions.addAll(compileResult.getExceptions());
 
         IRunTestResults runTestsResults = new RunTestsResults();
         if (compileResult.getExceptions().size() == 0 &&
                 StringUtils.isNotBlank(testsPath) && new File(testsPath).isDirectory()) {
             runTestsResults =
-                    runTests(slangModels, projectPath, testsPath, testSuits, bulkRunMode, buildMode, changedFiles);
+                    runTests(slangModels, dependencyClosureCache, projectPath, testsPath, testSuits, bulkRunMode,
+                            buildMode, changedFiles);
         }
         exceptions.addAll(runTestsResults.getExceptions());
         return new SlangBuildResults(compileResult.getResults().size(), runTestsResults, exceptions);
@@ -109,8 +113,9 @@ public class SlangBuilder {
      *
      * @return the number of valid CloudSlang files in the given directory
      */
-    private CompileResult compileModels(Map<String, Executable> slangModels) {
-        CompileResult compileResult = slangContentVerifier.compileSlangModels(slangModels);
+    private CompileResult compileModels(Map<String, Executable> slangModels,
+                                        DependencyClosureCache dependencyClosureCache) {
+        CompileResult compileResult = slangContentVerifier.compileSlangModels(slangModels, dependencyClosureCache);
         Map<String, CompilationArtifact> compiledSlangFiles = compileResult.getResults();
 
 
@@ -127,6 +132,7 @@ public class SlangBuilder {
 
     IRunTestResults runTests(
             Map<String, Executable> contentSlangModels,
+            DependencyClosureCache contentDependencyClosureCache,
             String projectPath,
             String testsPath,
             List<String> testSuites,
@@ -161,7 +167,8 @@ public class SlangBuilder {
 
         runTestsResults.addExceptions(preCompileResult.getExceptions());
         runTestsResults.addExceptions(compileResult.getExceptions());
-        addCoverageDataToRunTestsResults(contentSlangModels, testFlowModels, testCases, runTestsResults);
+        addCoverageDataToRunTestsResults(contentSlangModels, contentDependencyClosureCache, testFlowModels, testCases,
+                runTestsResults);
         return runTestsResults;
     }
 
@@ -237,6 +244,7 @@ public class SlangBuilder {
     }
 
     void addCoverageDataToRunTestsResults(Map<String, Executable> contentSlangModels,
+                                          DependencyClosureCache contentDependencyClosureCache,
                                           Map<String, Executable> testFlowModels,
                                           Map<String, SlangTestCase> testCases, IRunTestResults runTestsResults) {
         Set<String> coveredContent = new HashSet<>();
@@ -253,8 +261,10 @@ public class SlangBuilder {
             if (testFlowModel == null) {
                 continue;
             }
-            addAllDependenciesToCoveredContent(coveredContent,
-                    testFlowModel.getExecutableDependencies(), contentSlangModels);
+            for (String dependency : testFlowModel.getExecutableDependencies()) {
+                coveredContent.add(dependency);
+                coveredContent.addAll(contentDependencyClosureCache.getDependencies(dependency));
+            }
         }
         Set<String> contentExecutablesNames = contentSlangModels.keySet();
         // Add to the covered content set also all the direct test case's test flows,
@@ -277,27 +287,4 @@ public class SlangBuilder {
         runTestsResults.addUncoveredExecutables(uncoveredContent);
     }
 
-    /**
-     * Collect recursively all the dependencies of an executable
-     *
-     * @param allDependencies
-     * @param directDependencies
-     * @param contentSlangModels
-     */
-    private void addAllDependenciesToCoveredContent(Set<String> allDependencies, Set<String> directDependencies,
-                                                    Map<String, Executable> contentSlangModels) {
-        for (String dependency : directDependencies) {
-            if (allDependencies.contains(dependency)) {
-                continue;
-            }
-            allDependencies.add(dependency);
-            Executable executable = contentSlangModels.get(dependency);
-            // Executable will be null in case of a dependecy which is a test flow (and not patr of the content)
-            if (executable != null) {
-                addAllDependenciesToCoveredContent(allDependencies,
-                        executable.getExecutableDependencies(), contentSlangModels);
-            }
-        }
-    }
-
 }
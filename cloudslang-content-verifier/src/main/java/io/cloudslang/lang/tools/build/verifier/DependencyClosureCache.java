@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.tools.build.verifier;
+
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Transitive dependencies of every model of a build.
+ * <p>
+ * The closures are computed once, in topological order of the strongly connected components of the dependency
+ * graph, so the closure of a model is built from the already computed closures of its dependencies instead of
+ * walking the graph again for every model. Models on a dependency cycle share the closure of their cycle.
+ * Dependencies that are not part of the models are part of the closures but are not followed.
+ */
+public class DependencyClosureCache {
+
+    private final Map<String, Executable> models;
+
+    private final Map<String, Set<String>> closures = new HashMap<>();
+
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final Map<String, Integer> lowLinks = new HashMap<>();
+    private final Deque<String> stack = new ArrayDeque<>();
+    private final Set<String> onStack = new HashSet<>();
+
+    public DependencyClosureCache(Map<String, Executable> models) {
+        this.models = models;
+        for (String modelName : models.keySet()) {
+            if (!indexes.containsKey(modelName)) {
+                computeClosures(modelName);
+            }
+        }
+        indexes.clear();
+        lowLinks.clear();
+    }
+
+    /**
+     * @param modelName the unique name of a model
+     * @return the names of all the executables the model depends on, directly or transitively
+     */
+    public Set<String> getDependencies(String modelName) {
+        Set<String> closure = closures.get(modelName);
+        return closure == null ? Collections.<String>emptySet() : closure;
+    }
+
+    /**
+     * Tarjan's search from a model, with an explicit stack of the models being visited instead of recursion, so
+     * long dependency chains do not overflow the thread stack.
+     */
+    private void computeClosures(String rootName) {
+        Deque<Visit> visits = new ArrayDeque<>();
+        visits.push(startVisit(rootName));
+        while (!visits.isEmpty()) {
+            Visit visit = visits.peek();
+            if (visit.dependencies.hasNext()) {
+                String dependencyName = visit.dependencies.next();
+                if (!models.containsKey(dependencyName)) {
+                    continue;
+                }
+                if (!indexes.containsKey(dependencyName)) {
+                    visits.push(startVisit(dependencyName));
+                } else if (onStack.contains(dependencyName)) {
+                    lowLinks.put(visit.modelName, Math.min(lowLinks.get(visit.modelName),
+                            indexes.get(dependencyName)));
+                }
+                continue;
+            }
+
+            visits.pop();
+            String modelName = visit.modelName;
+            if (lowLinks.get(modelName).equals(indexes.get(modelName))) {
+                completeComponent(modelName);
+            }
+            Visit parent = visits.peek();
+            if (parent != null) {
+                lowLinks.put(parent.modelName, Math.min(lowLinks.get(parent.modelName), lowLinks.get(modelName)));
+            }
+        }
+    }
+
+    private Visit startVisit(String modelName) {
+        int index = indexes.size();
+        indexes.put(modelName, index);
+        lowLinks.put(modelName, index);
+        stack.push(modelName);
+        onStack.add(modelName);
+        return new Visit(modelName, getDirectDependencies(modelName).iterator());
+    }
+
+    private void completeComponent(String rootName) {
+        List<String> component = new ArrayList<>();
+        String member;
+        do {
+            member = stack.pop();
+            onStack.remove(member);
+            component.add(member);
+        } while (!member.equals(rootName));
+
+        // the closures of all the components this one depends on are already known
+        Set<String> closure = new HashSet<>();
+        for (String componentMember : component) {
+            for (String dependencyName : getDirectDependencies(componentMember)) {
+                closure.add(dependencyName);
+                Set<String> dependencyClosure = closures.get(dependencyName);
+                if (dependencyClosure != null) {
+                    closure.addAll(dependencyClosure);
+                }
+            }
+        }
+        Set<String> componentClosure = Collections.unmodifiableSet(closure);
+        for (String componentMember : component) {
+            closures.put(componentMember, componentClosure);
+        }
+    }
+
+    private Set<String> getDirectDependencies(String modelName) {
+        Set<String> dependencies = models.get(modelName).getExecutableDependencies();
+        return dependencies == null ? Collections.<String>emptySet() : dependencies;
+    }
+
+    private static class Visit {
+
+        private final String modelName;
+        private final Iterator<String> dependencies;
+
+        Visit(String modelName, Iterator<String> dependencies) {
+            this.modelName = modelName;
+            this.dependencies = dependencies;
+        }
+    }
+}
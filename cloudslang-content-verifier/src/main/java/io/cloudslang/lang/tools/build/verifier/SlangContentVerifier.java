@@ -18,6 +18,7 @@ import io.cloudslang.lang.compiler.modeller.model.Metadata;
 import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
 import io.cloudslang.lang.compiler.modeller.result.MetadataModellingResult;
 import io.cloudslang.lang.compiler.scorecompiler.ScoreCompiler;
+import io.cloudslang.lang.compiler.utils.ExecutorUtils;
 import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.logging.LoggingService;
 import io.cloudslang.lang.tools.build.validation.MetadataMissingException;
@@ -32,6 +33,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import org.apache.commons.lang.Validate;
 import org.apache.logging.log4j.Level;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -43,6 +47,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class SlangContentVerifier {
 
+    /**
+     * Number of threads used to pre-compile and validate the files of a directory.
+     * Not set by default, values lower than 2 keep the verification serial.
+     */
+    public static final String SLANG_VERIFIER_THREAD_COUNT = "slang.verifier.thread.count";
+
     @Autowired
     private SlangCompiler slangCompiler;
 
@@ -61,6 +71,19 @@ public class SlangContentVerifier {
     @Autowired
     private SlangCompilationService slangCompilationService;
 
+    private ExecutorService verificationExecutor;
+
+    @PostConstruct
+    public void initializeVerificationExecutor() {
+        verificationExecutor = ExecutorUtils.newExecutor(SLANG_VERIFIER_THREAD_COUNT, "slang-verifier-%d");
+    }
+
+    @PreDestroy
+    public void destroy() {
+        ExecutorUtils.shutdown(verificationExecutor);
+        verificationExecutor = null;
+    }
+
     public PreCompileResult createModelsAndValidate(String directoryPath, boolean shouldValidateDescription,
                                                     boolean shouldValidateCheckstyle) {
         Validate.notEmpty(directoryPath, "You must specify a path");
@@ -72,43 +95,16 @@ public class SlangContentVerifier {
         loggingService.logEvent(Level.INFO, slangFiles.size() + " .sl files were found");
         loggingService.logEvent(Level.INFO, "");
         Queue<RuntimeException> exceptions = new ArrayDeque<>();
-        String errorMessagePrefixMetadata = "";
-        for (File slangFile: slangFiles) {
-            Executable sourceModel = null;
-            try {
-                errorMessagePrefixMetadata = "Failed to extract metadata for file: \'" +
-                    slangFile.getAbsoluteFile() + "\'.\n";
-                String errorMessagePrefixCompilation = "Failed to compile file: \'" +
-                    slangFile.getAbsoluteFile() + "\'.\n";
-
-                Validate.isTrue(slangFile.isFile(), "file path \'" + slangFile.getAbsolutePath() +
-                        "\' must lead to a file");
-                SlangSource slangSource = SlangSource.fromFile(slangFile);
-
-                ExecutableModellingResult preCompileResult = slangCompiler.preCompileSource(slangSource);
-                sourceModel = preCompileResult.getExecutable();
-                exceptions.addAll(prependPrefix(preCompileResult.getErrors(), errorMessagePrefixCompilation));
-
-                MetadataModellingResult metadataResult = metadataExtractor
-                        .extractMetadataModellingResult(slangSource, shouldValidateCheckstyle);
-                Metadata sourceMetadata = metadataResult.getMetadata();
-                exceptions.addAll(prependPrefix(metadataResult.getErrors(), errorMessagePrefixMetadata));
-
-                if (sourceModel != null) {
-                    int size = exceptions.size();
-                    staticValidator.validateSlangFile(slangFile, sourceModel,
-                                    sourceMetadata, shouldValidateDescription, exceptions);
-                    if (size == exceptions.size()) {
-                        slangModels.put(getUniqueName(sourceModel), sourceModel);
-                    }
-                }
-            } catch (Exception e) {
-                String errorMessage = errorMessagePrefixMetadata + e.getMessage();
-                loggingService.logEvent(Level.ERROR, errorMessage);
-                exceptions.add(new RuntimeException(errorMessage, e));
-                if (e instanceof MetadataMissingException && sourceModel != null) {
-                    slangModels.put(getUniqueName(sourceModel), sourceModel);
-                }
+        // the results are merged in the order of the files, whatever the order they were verified in
+        for (SlangFileVerification verification :
+                verifySlangFiles(slangFiles, shouldValidateDescription, shouldValidateCheckstyle)) {
+            exceptions.addAll(verification.getExceptions());
+            if (verification.getErrorMessage() != null) {
+                loggingService.logEvent(Level.ERROR, verification.getErrorMessage());
+            }
+            Executable sourceModel = verification.getSourceModel();
+            if (sourceModel != null) {
+                slangModels.put(getUniqueName(sourceModel), sourceModel);
             }
         }
         if (slangFiles.size() != slangModels.size()) {
@@ -122,6 +118,56 @@ public class SlangContentVerifier {
         return preCompileResult;
     }
 
+    private List<SlangFileVerification> verifySlangFiles(Collection<File> slangFiles,
+                                                         boolean shouldValidateDescription,
+                                                         boolean shouldValidateCheckstyle) {
+        return ExecutorUtils.processAll(verificationExecutor, slangFiles, slangFile ->
+                verifySlangFile(slangFile, shouldValidateDescription, shouldValidateCheckstyle));
+    }
+
+    /**
+     * Reads the file once and produces its model, metadata and checkstyle results from the same source.
+     */
+    private SlangFileVerification verifySlangFile(File slangFile, boolean shouldValidateDescription,
+                                                  boolean shouldValidateCheckstyle) {
+        Queue<RuntimeException> exceptions = new ArrayDeque<>();
+        String errorMessagePrefixMetadata = "Failed to extract metadata for file: \'" +
+                slangFile.getAbsoluteFile() + "\'.\n";
+        Executable sourceModel = null;
+        try {
+            String errorMessagePrefixCompilation = "Failed to compile file: \'" +
+                    slangFile.getAbsoluteFile() + "\'.\n";
+
+            Validate.isTrue(slangFile.isFile(), "file path \'" + slangFile.getAbsolutePath() +
+                    "\' must lead to a file");
+            SlangSource slangSource = SlangSource.fromFile(slangFile);
+
+            ExecutableModellingResult preCompileResult = slangCompiler.preCompileSource(slangSource);
+            sourceModel = preCompileResult.getExecutable();
+            exceptions.addAll(prependPrefix(preCompileResult.getErrors(), errorMessagePrefixCompilation));
+
+            MetadataModellingResult metadataResult = metadataExtractor
+                    .extractMetadataModellingResult(slangSource, shouldValidateCheckstyle);
+            Metadata sourceMetadata = metadataResult.getMetadata();
+            exceptions.addAll(prependPrefix(metadataResult.getErrors(), errorMessagePrefixMetadata));
+
+            if (sourceModel != null) {
+                int size = exceptions.size();
+                staticValidator.validateSlangFile(slangFile, sourceModel,
+                        sourceMetadata, shouldValidateDescription, exceptions);
+                if (size == exceptions.size()) {
+                    return new SlangFileVerification(sourceModel, exceptions, null);
+                }
+            }
+            return new SlangFileVerification(null, exceptions, null);
+        } catch (Exception e) {
+            String errorMessage = errorMessagePrefixMetadata + e.getMessage();
+            exceptions.add(new RuntimeException(errorMessage, e));
+            boolean keepModel = e instanceof MetadataMissingException;
+            return new SlangFileVerification(keepModel ? sourceModel : null, exceptions, errorMessage);
+        }
+    }
+
     private Collection<RuntimeException> prependPrefix(Collection<RuntimeException> errors, String prefix) {
         List<RuntimeException> result = new ArrayList<>();
         for (RuntimeException ex : errors) {
@@ -135,6 +181,11 @@ public class SlangContentVerifier {
     }
 
     public CompileResult compileSlangModels(Map<String, Executable> slangModels) {
+        return compileSlangModels(slangModels, new DependencyClosureCache(slangModels));
+    }
+
+    public CompileResult compileSlangModels(Map<String, Executable> slangModels,
+                                            DependencyClosureCache dependencyClosureCache) {
         CompileResult compileResult = new CompileResult();
         Map<String, CompilationArtifact> compiledArtifacts = new HashMap<>();
         for (Map.Entry<String, Executable> slangModelEntry : slangModels.entrySet()) {
@@ -142,7 +193,8 @@ public class SlangContentVerifier {
             try {
                 CompilationArtifact compiledSource = compiledArtifacts.get(getUniqueName(slangModel));
                 if (compiledSource == null) {
-                    Set<Executable> dependenciesModels = getModelDependenciesRecursively(slangModels, slangModel);
+                    Set<Executable> dependenciesModels =
+                            getModelDependencies(slangModels, dependencyClosureCache, slangModelEntry.getKey());
                     compiledSource = scoreCompiler.compile(slangModel, dependenciesModels);
                     if (compiledSource != null) {
                         loggingService.logEvent(Level.INFO, "Compiled: \'" + slangModel.getNamespace() + "." +
@@ -165,23 +217,72 @@ public class SlangContentVerifier {
         return compileResult;
     }
 
-    private Set<Executable> getModelDependenciesRecursively(Map<String, Executable> slangModels,
-                                                            Executable slangModel) {
+    private Set<Executable> getModelDependencies(Map<String, Executable> slangModels,
+                                                 DependencyClosureCache dependencyClosureCache,
+                                                 String slangModelName) {
+        Set<String> dependencyNames = dependencyClosureCache.getDependencies(slangModelName);
         Set<Executable> dependenciesModels = new HashSet<>();
-        for (String dependencyName : slangModel.getExecutableDependencies()) {
+        for (String dependencyName : dependencyNames) {
             Executable dependency = slangModels.get(dependencyName);
             if (dependency == null) {
-                throw new RuntimeException("Failed compiling slang source: " + slangModel.getNamespace() + "." +
-                        slangModel.getName() + ". Missing dependency: " + dependencyName);
+                Executable dependant = findDependant(slangModels, slangModelName, dependencyNames, dependencyName);
+                throw new RuntimeException("Failed compiling slang source: " + dependant.getNamespace() + "." +
+                        dependant.getName() + ". Missing dependency: " + dependencyName);
             }
             dependenciesModels.add(dependency);
-            dependenciesModels.addAll(getModelDependenciesRecursively(slangModels, dependency));
         }
         return dependenciesModels;
     }
 
+    private Executable findDependant(Map<String, Executable> slangModels, String slangModelName,
+                                     Set<String> dependencyNames, String missingDependencyName) {
+        Executable slangModel = slangModels.get(slangModelName);
+        if (slangModel.getExecutableDependencies().contains(missingDependencyName)) {
+            return slangModel;
+        }
+        for (String dependencyName : dependencyNames) {
+            Executable dependency = slangModels.get(dependencyName);
+            if (dependency != null && dependency.getExecutableDependencies().contains(missingDependencyName)) {
+                return dependency;
+            }
+        }
+        return slangModel;
+    }
+
     private String getUniqueName(Executable sourceModel) {
         return sourceModel.getNamespace() + "." + sourceModel.getName();
     }
 
+    private static class SlangFileVerification {
+
+        private final Executable sourceModel;
+        private final Collection<RuntimeException> exceptions;
+        private final String errorMessage;
+
+        SlangFileVerification(Executable sourceModel, Collection<RuntimeException> exceptions,
+                              String errorMessage) {
+            this.sourceModel = sourceModel;
+            this.exceptions = exceptions;
+            this.errorMessage = errorMessage;
+        }
+
+        /**
+         * @return the model to add to the build, or null if the file did not produce a valid model
+         */
+        Executable getSourceModel() {
+            return sourceModel;
+        }
+
+        Collection<RuntimeException> getExceptions() {
+            return exceptions;
+        }
+
+        /**
+         * @return the message to log for a failure of the verification, or null if it did not fail
+         */
+        String getErrorMessage() {
+            return errorMessage;
+        }
+    }
+
 }
@@ -56,6 +56,7 @@ import io.cloudslang.lang.tools.build.tester.runconfiguration.strategy.ConflictR
 import io.cloudslang.lang.tools.build.tester.runconfiguration.strategy.DefaultResolutionStrategy;
 import io.cloudslang.lang.tools.build.validation.StaticValidator;
 import io.cloudslang.lang.tools.build.validation.StaticValidatorImpl;
+import io.cloudslang.lang.tools.build.verifier.DependencyClosureCache;
 import io.cloudslang.lang.tools.build.verifier.SlangContentVerifier;
 import io.cloudslang.score.api.ExecutionPlan;
 import org.apache.commons.collections.ListUtils;
@@ -215,7 +216,8 @@ public class SlangBuilderTest {
                     .runTestsParallel(eq(projectPath), anyMap(), anyMap(), any(ThreadSafeRunTestResults.class));
             doReturn(Maps.newHashMap()).when(slangTestRunner).createTestCases(anyString(), anySet());
 
-            slangBuilder.runTests(Maps.<String, Executable>newHashMap(), projectPath,
+            Map<String, Executable> contentSlangModels = Maps.newHashMap();
+            slangBuilder.runTests(contentSlangModels, new DependencyClosureCache(contentSlangModels), projectPath,
                     testPathString, suites, ALL_PARALLEL, buildMode, changedFiles);
             verify(slangTestRunner).runTestsParallel(eq(projectPath), anyMap(), anyMap(), eq(runTestsResults));
             verify(slangTestRunner, never())
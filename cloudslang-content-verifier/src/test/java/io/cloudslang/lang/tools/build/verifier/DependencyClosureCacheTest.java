@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.tools.build.verifier;
+
+import com.google.common.collect.Sets;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DependencyClosureCacheTest {
+
+    @Test
+    public void testDiamondDependencies() {
+        Map<String, Executable> models = new HashMap<>();
+        addModel(models, "a.top", "a.left", "a.right");
+        addModel(models, "a.left", "a.bottom");
+        addModel(models, "a.right", "a.bottom");
+        addModel(models, "a.bottom");
+
+        DependencyClosureCache dependencyClosureCache = new DependencyClosureCache(models);
+
+        assertEquals(Sets.newHashSet("a.left", "a.right", "a.bottom"), dependencyClosureCache.getDependencies("a.top"));
+        assertEquals(Sets.newHashSet("a.bottom"), dependencyClosureCache.getDependencies("a.left"));
+        assertTrue(dependencyClosureCache.getDependencies("a.bottom").isEmpty());
+    }
+
+    @Test
+    public void testCyclicDependencies() {
+        Map<String, Executable> models = new HashMap<>();
+        addModel(models, "a.parent", "a.child");
+        addModel(models, "a.child", "a.parent", "a.op");
+        addModel(models, "a.op");
+
+        DependencyClosureCache dependencyClosureCache = new DependencyClosureCache(models);
+
+        assertEquals(Sets.newHashSet("a.parent", "a.child", "a.op"),
+                dependencyClosureCache.getDependencies("a.parent"));
+        assertEquals(Sets.newHashSet("a.parent", "a.child", "a.op"),
+                dependencyClosureCache.getDependencies("a.child"));
+    }
+
+    @Test
+    public void testDependencyOutsideOfTheModelsIsNotFollowed() {
+        Map<String, Executable> models = new HashMap<>();
+        addModel(models, "a.flow", "a.missing_op", "a.op");
+        addModel(models, "a.op");
+
+        DependencyClosureCache dependencyClosureCache = new DependencyClosureCache(models);
+
+        assertEquals(Sets.newHashSet("a.missing_op", "a.op"), dependencyClosureCache.getDependencies("a.flow"));
+        assertTrue(dependencyClosureCache.getDependencies("a.missing_op").isEmpty());
+    }
+
+    @Test
+    public void testLongDependencyCycle() {
+        final int length = 100000;
+        Map<String, Executable> models = new HashMap<>();
+        for (int i = 0; i < length; i++) {
+            addModel(models, "a.flow" + i, "a.flow" + ((i + 1) % length));
+        }
+
+        DependencyClosureCache dependencyClosureCache = new DependencyClosureCache(models);
+
+        assertEquals(length, dependencyClosureCache.getDependencies("a.flow0").size());
+        assertEquals(length, dependencyClosureCache.getDependencies("a.flow" + (length / 2)).size());
+    }
+
+    private void addModel(Map<String, Executable> models, String name, String... dependencies) {
+        Executable executable = mock(Executable.class);
+        when(executable.getExecutableDependencies()).thenReturn(Sets.newHashSet(dependencies));
+        models.put(name, executable);
+    }
+}
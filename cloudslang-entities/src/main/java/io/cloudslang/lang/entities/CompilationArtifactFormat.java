@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.Validate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary format of a {@link CompilationArtifact}, so compiled flows and operations can be stored and run later
+ * without their sources.
+ * <p>
+ * An artifact is written as a small header (format marker, schema version, payload length and SHA-256 hash of the
+ * payload) followed by the payload: the deflated, serialized artifact with its execution plan, dependency plans,
+ * inputs and system properties. An artifact written with another schema version or whose payload does not match
+ * its hash is rejected, as is a payload longer than {@link #MAX_PAYLOAD_LENGTH}. The payload is deserialized with a
+ * {@link RestrictedObjectInputStream}, which only resolves the classes a compiled artifact is made of.
+ */
+public final class CompilationArtifactFormat {
+
+    static final int FORMAT_MARKER = 0x43534C41;
+
+    /**
+     * Changed whenever the serialized form of the artifact or of the models it holds changes incompatibly.
+     */
+    public static final int SCHEMA_VERSION = 1;
+
+    /**
+     * Longest payload accepted when reading an artifact, so a corrupted length cannot make the reader allocate
+     * an arbitrary amount of memory.
+     */
+    public static final int MAX_PAYLOAD_LENGTH = 256 * 1024 * 1024;
+
+    private static final int READ_CHUNK_LENGTH = 64 * 1024;
+
+    private CompilationArtifactFormat() {
+    }
+
+    /**
+     * @param compilationArtifact the artifact to write
+     * @param out                 the stream to write the artifact to, it is not closed
+     * @throws IOException if the artifact cannot be written
+     */
+    public static void write(CompilationArtifact compilationArtifact, OutputStream out) throws IOException {
+        Validate.notNull(compilationArtifact, "Compilation artifact cannot be null");
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        DeflaterOutputStream deflaterOut = new DeflaterOutputStream(payload);
+        ObjectOutputStream objectOut = new ObjectOutputStream(deflaterOut);
+        objectOut.writeObject(compilationArtifact);
+        objectOut.flush();
+        deflaterOut.finish();
+        byte[] payloadBytes = payload.toByteArray();
+
+        DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.writeInt(FORMAT_MARKER);
+        dataOut.writeInt(SCHEMA_VERSION);
+        dataOut.writeInt(payloadBytes.length);
+        dataOut.writeUTF(DigestUtils.sha256Hex(payloadBytes));
+        dataOut.write(payloadBytes);
+        dataOut.flush();
+    }
+
+    /**
+     * @param in the stream to read the artifact from, it is not closed
+     * @return the artifact
+     * @throws IOException if the artifact cannot be read, was written with another schema version or is corrupted
+     */
+    public static CompilationArtifact read(InputStream in) throws IOException {
+        DataInputStream dataIn = new DataInputStream(in);
+        if (dataIn.readInt() != FORMAT_MARKER) {
+            throw new IOException("Not a CloudSlang compilation artifact");
+        }
+        int schemaVersion = dataIn.readInt();
+        if (schemaVersion != SCHEMA_VERSION) {
+            throw new IOException("Compilation artifact schema version " + schemaVersion +
+                    " is not supported, expected version " + SCHEMA_VERSION);
+        }
+        int payloadLength = dataIn.readInt();
+        if (payloadLength < 0 || payloadLength > MAX_PAYLOAD_LENGTH) {
+            throw new IOException("Compilation artifact is corrupted");
+        }
+        String contentHash = dataIn.readUTF();
+        byte[] payloadBytes = readPayload(dataIn, payloadLength);
+        if (!DigestUtils.sha256Hex(payloadBytes).equals(contentHash)) {
+            throw new IOException("Compilation artifact content does not match its hash");
+        }
+
+        try {
+            return (CompilationArtifact) readObject(new InflaterInputStream(new ByteArrayInputStream(payloadBytes)));
+        } catch (ClassNotFoundException | ClassCastException ex) {
+            throw new IOException("Compilation artifact cannot be deserialized: " + ex.getMessage(), ex);
+        }
+    }
+
+    private static byte[] readPayload(DataInputStream dataIn, int payloadLength) throws IOException {
+        // read in chunks, so a truncated artifact fails before a buffer of the declared length is allocated
+        ByteArrayOutputStream payload = new ByteArrayOutputStream(Math.min(payloadLength, READ_CHUNK_LENGTH));
+        byte[] chunk = new byte[READ_CHUNK_LENGTH];
+        int remaining = payloadLength;
+        while (remaining > 0) {
+            int read = dataIn.read(chunk, 0, Math.min(remaining, chunk.length));
+            if (read < 0) {
+                throw new IOException("Compilation artifact is truncated");
+            }
+            payload.write(chunk, 0, read);
+            remaining -= read;
+        }
+        return payload.toByteArray();
+    }
+
+    private static Object readObject(InputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream objectIn = new RestrictedObjectInputStream(in,
+                CompilationArtifactFormat.class.getClassLoader());
+        return objectIn.readObject();
+    }
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * {@link ObjectInputStream} for the serialized forms of compiled CloudSlang models and plans.
+ * <p>
+ * Only CloudSlang and score classes, the JDK {@code java.lang} / {@code java.util} classes and arrays of those are
+ * resolved, any other class and every proxy class is rejected with an {@link InvalidClassException}.
+ */
+public class RestrictedObjectInputStream extends ObjectInputStream {
+
+    private static final String ALLOWED_PACKAGE_PREFIX = "io.cloudslang.";
+
+    private static final Set<String> ALLOWED_JDK_PACKAGES = new HashSet<>(Arrays.asList("java.lang", "java.util"));
+
+    private final ClassLoader classLoader;
+
+    /**
+     * @param in          the stream to read from
+     * @param classLoader the class loader to resolve the allowed classes with
+     * @throws IOException if the stream header cannot be read
+     */
+    public RestrictedObjectInputStream(InputStream in, ClassLoader classLoader) throws IOException {
+        super(in);
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+        throw new InvalidClassException("Proxy classes are not allowed in a compiled model");
+    }
+
+    @Override
+    protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+        if (!isAllowedClass(desc.getName())) {
+            throw new InvalidClassException(desc.getName(), "Class is not allowed in a compiled model");
+        }
+        try {
+            return Class.forName(desc.getName(), false, classLoader);
+        } catch (ClassNotFoundException ex) {
+            return super.resolveClass(desc);
+        }
+    }
+
+    static boolean isAllowedClass(String className) {
+        String componentName = className;
+        if (componentName.startsWith("[")) {
+            // array descriptor, e.g. [J or [Ljava.lang.String;
+            componentName = componentName.replaceFirst("^\\[+", "");
+            if (componentName.length() == 1) {
+                return true;
+            }
+            if (!componentName.startsWith("L") || !componentName.endsWith(";")) {
+                return false;
+            }
+            componentName = componentName.substring(1, componentName.length() - 1);
+        }
+        if (componentName.startsWith(ALLOWED_PACKAGE_PREFIX)) {
+            return true;
+        }
+        // only the JDK packages themselves, not java.lang.reflect, java.lang.invoke or java.util.logging
+        int packageEnd = componentName.lastIndexOf('.');
+        return packageEnd > 0 && ALLOWED_JDK_PACKAGES.contains(componentName.substring(0, packageEnd));
+    }
+}
@@ -24,7 +24,6 @@ public class Argument extends InOutParam {
     private static final long serialVersionUID = 5295602668405254562L;
     private boolean privateArgument;
     private Prompt prompt;
-    private boolean expression;
 
     public Argument(String name, Value value) {
         super(name, value);
@@ -84,12 +83,4 @@ public class Argument extends InOutParam {
     public Prompt getPrompt() {
         return prompt;
     }
-
-    public boolean isExpression() {
-        return expression;
-    }
-
-    public void setExpression(boolean expression) {
-        this.expression = expression;
-    }
 }
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities.bindings;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.io.Serializable;
+
+/**
+ * What the value of a binding needs to be resolved, found once when the binding is compiled so the runtime can
+ * resolve the trivial values without extracting and evaluating a Python expression.
+ */
+public final class BindingExpression implements Serializable {
+
+    private static final long serialVersionUID = 4193125071685522170L;
+
+    private static final BindingExpression LITERAL = new BindingExpression(Type.LITERAL, null);
+    private static final BindingExpression PYTHON = new BindingExpression(Type.PYTHON, null);
+
+    public enum Type {
+
+        /**
+         * a value without an expression, used as is
+         */
+        LITERAL,
+
+        /**
+         * <code>${variable}</code>
+         */
+        VARIABLE_REFERENCE,
+
+        /**
+         * <code>${get_sp('fully.qualified.name')}</code>
+         */
+        SYSTEM_PROPERTY,
+
+        /**
+         * any other expression, evaluated by Python
+         */
+        PYTHON
+    }
+
+    private final Type type;
+    private final String reference;
+
+    private BindingExpression(Type type, String reference) {
+        this.type = type;
+        this.reference = reference;
+    }
+
+    public static BindingExpression literal() {
+        return LITERAL;
+    }
+
+    public static BindingExpression python() {
+        return PYTHON;
+    }
+
+    public static BindingExpression variableReference(String variableName) {
+        return new BindingExpression(Type.VARIABLE_REFERENCE, variableName);
+    }
+
+    public static BindingExpression systemProperty(String fullyQualifiedName) {
+        return new BindingExpression(Type.SYSTEM_PROPERTY, fullyQualifiedName);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the name of the variable or of the system property, null for the other types
+     */
+    public String getReference() {
+        return reference;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("type", type)
+                .append("reference", reference)
+                .toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BindingExpression that = (BindingExpression) o;
+
+        return new EqualsBuilder()
+                .append(type, that.type)
+                .append(reference, that.reference)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(type)
+                .append(reference)
+                .toHashCode();
+    }
+}
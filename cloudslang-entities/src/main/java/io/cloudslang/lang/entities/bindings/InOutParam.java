@@ -11,6 +11,7 @@ package io.cloudslang.lang.entities.bindings;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.utils.ExpressionUtils;
 import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
@@ -31,6 +32,7 @@ public abstract class InOutParam implements Serializable {
     private Value value;
     private Set<ScriptFunction> functionDependencies;
     private Set<String> systemPropertyDependencies;
+    private BindingExpression valueExpression;
 
     public InOutParam(
             String name,
@@ -41,6 +43,8 @@ public abstract class InOutParam implements Serializable {
         this.value = value;
         this.functionDependencies = functionDependencies;
         this.systemPropertyDependencies = systemPropertyDependencies;
+        this.valueExpression = value != null && value.isSensitive() ? null :
+                ExpressionUtils.classifyExpression(value == null ? null : value.get());
     }
 
     public InOutParam(String name, Value value) {
@@ -74,6 +78,15 @@ public abstract class InOutParam implements Serializable {
         return systemPropertyDependencies;
     }
 
+    /**
+     * @return how the value is resolved, null when it was not classified (sensitive values, bindings read by
+     *     serialization libraries) and has to be resolved as an expression
+     */
+    @JsonIgnore
+    public BindingExpression getValueExpression() {
+        return valueExpression;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this)
@@ -9,9 +9,11 @@
  *******************************************************************************/
 package io.cloudslang.lang.entities.utils;
 
+import io.cloudslang.lang.entities.bindings.BindingExpression;
 import io.cloudslang.lang.entities.bindings.ScriptFunction;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -31,6 +33,7 @@ import static io.cloudslang.lang.entities.constants.Regex.CS_TO_UPPER_REGEX;
 import static io.cloudslang.lang.entities.constants.Regex.EXPRESSION_REGEX;
 import static io.cloudslang.lang.entities.constants.Regex.GET_REGEX;
 import static io.cloudslang.lang.entities.constants.Regex.GET_REGEX_WITH_DEFAULT;
+import static io.cloudslang.lang.entities.constants.Regex.NAMESPACE_CHARS;
 import static io.cloudslang.lang.entities.constants.Regex.SYSTEM_PROPERTY_REGEX_DOUBLE_QUOTE;
 import static io.cloudslang.lang.entities.constants.Regex.SYSTEM_PROPERTY_REGEX_SINGLE_QUOTE;
 import static io.cloudslang.lang.entities.constants.Regex.SYSTEM_PROPERTY_REGEX_WITHOUT_QUOTES;
@@ -70,6 +73,12 @@ public final class ExpressionUtils {
             Pattern.UNICODE_CHARACTER_CLASS);
     private static final Pattern CHECK_EMPTY_PATTERN = compile(CHECK_EMPTY_REGEX, Pattern.UNICODE_CHARACTER_CLASS);
 
+    private static final Pattern VARIABLE_REFERENCE_PATTERN = compile("[\\p{L}_]\\w*",
+            Pattern.UNICODE_CHARACTER_CLASS);
+    private static final Pattern SYSTEM_PROPERTY_REFERENCE_PATTERN =
+            compile("get_sp\\(\\s*(['\"])" + NAMESPACE_CHARS + "\\1\\s*\\)", Pattern.UNICODE_CHARACTER_CLASS);
+    private static final Set<String> PYTHON_CONSTANTS = new HashSet<>(Arrays.asList("None", "True", "False"));
+
     private static final Map<ScriptFunction, Pattern> patternsMap = new HashMap<>();
 
     private static final Pattern GET_SP_VAR_PATTERN = compile(GET_SP_VAR_REGEX, Pattern.UNICODE_CHARACTER_CLASS);
@@ -102,6 +111,25 @@ public final class ExpressionUtils {
         return expression;
     }
 
+    /**
+     * @param value the raw value of a binding
+     * @return how the value is resolved: as is, as a variable, as a system property or by Python
+     */
+    public static BindingExpression classifyExpression(Serializable value) {
+        String expression = extractExpression(value);
+        if (expression == null) {
+            return BindingExpression.literal();
+        }
+        if (VARIABLE_REFERENCE_PATTERN.matcher(expression).matches() && !PYTHON_CONSTANTS.contains(expression)) {
+            return BindingExpression.variableReference(expression);
+        }
+        Matcher systemPropertyMatcher = SYSTEM_PROPERTY_REFERENCE_PATTERN.matcher(expression);
+        if (systemPropertyMatcher.matches()) {
+            return BindingExpression.systemProperty(systemPropertyMatcher.group(2));
+        }
+        return BindingExpression.python();
+    }
+
     public static Set<String> extractSystemProperties(String expression) {
         Set<String> properties = matchFunction(SYSTEM_PROPERTY_PATTERN_SINGLE_QUOTE, expression, 1);
         properties.addAll(matchFunction(SYSTEM_PROPERTY_PATTERN_DOUBLE_QUOTE, expression, 1));
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities;
+
+import com.google.common.collect.Sets;
+import io.cloudslang.lang.entities.bindings.Input;
+import io.cloudslang.score.api.ExecutionPlan;
+import io.cloudslang.score.api.ExecutionStep;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class CompilationArtifactFormatTest {
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        ExecutionPlan executionPlan = createExecutionPlan("user.flows.flow");
+        Map<String, ExecutionPlan> dependencies = new HashMap<>();
+        dependencies.put("user.ops.op", createExecutionPlan("user.ops.op"));
+        List<Input> inputs = Collections.singletonList(new Input.InputBuilder("input1", "'value'").build());
+        CompilationArtifact compilationArtifact = new CompilationArtifact(executionPlan, dependencies, inputs,
+                Sets.newHashSet("user.props.prop1"));
+
+        CompilationArtifact readArtifact = CompilationArtifactFormat.read(
+                new ByteArrayInputStream(write(compilationArtifact)));
+
+        assertEquals("user.flows.flow", readArtifact.getExecutionPlan().getFlowUuid());
+        assertEquals(Collections.singleton("user.ops.op"), readArtifact.getDependencies().keySet());
+        assertEquals("user.ops.op", readArtifact.getDependencies().get("user.ops.op").getFlowUuid());
+        assertEquals(inputs, readArtifact.getInputs());
+        assertEquals(compilationArtifact.getSystemProperties(), readArtifact.getSystemProperties());
+    }
+
+    @Test
+    public void testOtherSchemaVersionIsRejected() throws IOException {
+        byte[] artifactBytes = write(createCompilationArtifact());
+        ByteBuffer.wrap(artifactBytes).putInt(4, CompilationArtifactFormat.SCHEMA_VERSION + 1);
+
+        IOException exception = assertThrows(IOException.class, () ->
+                CompilationArtifactFormat.read(new ByteArrayInputStream(artifactBytes)));
+        assertTrue(exception.getMessage().contains("schema version"));
+    }
+
+    @Test
+    public void testCorruptedContentIsRejected() throws IOException {
+        byte[] artifactBytes = write(createCompilationArtifact());
+        artifactBytes[artifactBytes.length - 1] ^= 1;
+
+        IOException exception = assertThrows(IOException.class, () ->
+                CompilationArtifactFormat.read(new ByteArrayInputStream(artifactBytes)));
+        assertEquals("Compilation artifact content does not match its hash", exception.getMessage());
+    }
+
+    @Test
+    public void testOtherContentIsRejected() {
+        IOException exception = assertThrows(IOException.class, () ->
+                CompilationArtifactFormat.read(new ByteArrayInputStream("namespace: user.ops".getBytes())));
+        assertEquals("Not a CloudSlang compilation artifact", exception.getMessage());
+    }
+
+    @Test
+    public void testTooLongPayloadIsRejected() throws IOException {
+        byte[] artifactBytes = write(createCompilationArtifact());
+        ByteBuffer.wrap(artifactBytes).putInt(8, CompilationArtifactFormat.MAX_PAYLOAD_LENGTH + 1);
+
+        IOException exception = assertThrows(IOException.class, () ->
+                CompilationArtifactFormat.read(new ByteArrayInputStream(artifactBytes)));
+        assertEquals("Compilation artifact is corrupted", exception.getMessage());
+    }
+
+    @Test
+    public void testTruncatedPayloadIsRejected() throws IOException {
+        byte[] artifactBytes = write(createCompilationArtifact());
+        ByteBuffer.wrap(artifactBytes).putInt(8, CompilationArtifactFormat.MAX_PAYLOAD_LENGTH);
+
+        IOException exception = assertThrows(IOException.class, () ->
+                CompilationArtifactFormat.read(new ByteArrayInputStream(artifactBytes)));
+        assertEquals("Compilation artifact is truncated", exception.getMessage());
+    }
+
+    @Test
+    public void testOtherClassIsRejected() throws IOException {
+        ExecutionPlan executionPlan = createExecutionPlan("user.flows.flow");
+        ExecutionStep executionStep = new ExecutionStep(1L);
+        executionStep.setActionData(Collections.singletonMap("location", URI.create("http://localhost")));
+        executionPlan.addStep(executionStep);
+        byte[] artifactBytes = write(new CompilationArtifact(executionPlan, new HashMap<String, ExecutionPlan>(),
+                Collections.<Input>emptyList(), Collections.<String>emptySet()));
+
+        IOException exception = assertThrows(IOException.class, () ->
+                CompilationArtifactFormat.read(new ByteArrayInputStream(artifactBytes)));
+        assertTrue(exception instanceof InvalidClassException);
+        assertTrue(exception.getMessage().contains("java.net.URI"));
+    }
+
+    private CompilationArtifact createCompilationArtifact() {
+        return new CompilationArtifact(createExecutionPlan("user.flows.flow"),
+                new HashMap<String, ExecutionPlan>(), Collections.<Input>emptyList(), Collections.<String>emptySet());
+    }
+
+    private ExecutionPlan createExecutionPlan(String flowUuid) {
+        ExecutionPlan executionPlan = new ExecutionPlan();
+        executionPlan.setFlowUuid(flowUuid);
+        executionPlan.setBeginStep(1L);
+        return executionPlan;
+    }
+
+    private byte[] write(CompilationArtifact compilationArtifact) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CompilationArtifactFormat.write(compilationArtifact, out);
+        return out.toByteArray();
+    }
+}
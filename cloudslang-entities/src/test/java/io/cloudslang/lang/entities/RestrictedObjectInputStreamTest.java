@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities;
+
+import io.cloudslang.score.api.ExecutionPlan;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RestrictedObjectInputStreamTest {
+
+    @Test
+    public void testAllowedClasses() {
+        assertTrue(RestrictedObjectInputStream.isAllowedClass(CompilationArtifact.class.getName()));
+        assertTrue(RestrictedObjectInputStream.isAllowedClass(ExecutionPlan.class.getName()));
+        assertTrue(RestrictedObjectInputStream.isAllowedClass(HashMap.class.getName()));
+        assertTrue(RestrictedObjectInputStream.isAllowedClass(Long.class.getName()));
+        assertTrue(RestrictedObjectInputStream.isAllowedClass(String[].class.getName()));
+        assertTrue(RestrictedObjectInputStream.isAllowedClass(long[][].class.getName()));
+        assertFalse(RestrictedObjectInputStream.isAllowedClass("java.lang.reflect.Proxy"));
+        assertFalse(RestrictedObjectInputStream.isAllowedClass("java.lang.invoke.SerializedLambda"));
+        assertFalse(RestrictedObjectInputStream.isAllowedClass("org.apache.commons.collections.map.LazyMap"));
+        assertFalse(RestrictedObjectInputStream.isAllowedClass("[Lorg.springframework.beans.factory.ObjectFactory;"));
+    }
+
+    @Test
+    public void testAllowedObjectIsRead() throws IOException, ClassNotFoundException {
+        HashMap<String, Long> map = new HashMap<>();
+        map.put("key", 1L);
+
+        assertEquals(map, read(serialize(map)));
+    }
+
+    @Test(expected = InvalidClassException.class)
+    public void testProxyIsRejected() throws IOException, ClassNotFoundException {
+        Object proxy = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Serializable.class},
+                new SerializableHandler());
+
+        read(serialize(proxy));
+    }
+
+    private byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOut = new ObjectOutputStream(bytes)) {
+            objectOut.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private Object read(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream objectIn = new RestrictedObjectInputStream(new ByteArrayInputStream(bytes),
+                getClass().getClassLoader())) {
+            return objectIn.readObject();
+        }
+    }
+
+    private static class SerializableHandler implements InvocationHandler, Serializable {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            return null;
+        }
+    }
+}
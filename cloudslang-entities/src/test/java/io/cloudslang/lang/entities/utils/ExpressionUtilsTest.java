@@ -10,6 +10,7 @@
 package io.cloudslang.lang.entities.utils;
 
 import com.google.common.collect.Sets;
+import io.cloudslang.lang.entities.bindings.BindingExpression;
 
 import java.util.Collections;
 import java.util.Set;
@@ -17,6 +18,7 @@ import java.util.Set;
 import junit.framework.Assert;
 import org.junit.Test;
 
+import static io.cloudslang.lang.entities.utils.ExpressionUtils.classifyExpression;
 import static io.cloudslang.lang.entities.utils.ExpressionUtils.extractExpression;
 import static io.cloudslang.lang.entities.utils.ExpressionUtils.extractSystemProperties;
 import static io.cloudslang.lang.entities.utils.ExpressionUtils.matchGetFunction;
@@ -185,4 +187,32 @@ public class ExpressionUtilsTest {
         Assert.assertTrue(matchGetFunction("exec(get(get(var, default_expr), default_expr))"));
     }
 
+    @Test
+    public void testClassifyLiteral() throws Exception {
+        Assert.assertEquals(BindingExpression.literal(), classifyExpression("abc"));
+        Assert.assertEquals(BindingExpression.literal(), classifyExpression(5));
+        Assert.assertEquals(BindingExpression.literal(), classifyExpression(null));
+    }
+
+    @Test
+    public void testClassifyVariableReference() throws Exception {
+        Assert.assertEquals(BindingExpression.variableReference("host_name"), classifyExpression("${ host_name }"));
+        Assert.assertEquals(BindingExpression.python(), classifyExpression("${True}"));
+        Assert.assertEquals(BindingExpression.python(), classifyExpression("${host.name}"));
+    }
+
+    @Test
+    public void testClassifySystemProperty() throws Exception {
+        Assert.assertEquals(BindingExpression.systemProperty("a.b.c.key"),
+                classifyExpression("${get_sp('a.b.c.key')}"));
+        Assert.assertEquals(BindingExpression.systemProperty("a.b-c"), classifyExpression("${get_sp( \"a.b-c\" )}"));
+        Assert.assertEquals(BindingExpression.python(), classifyExpression("${get_sp('a.b.c.key', 'default')}"));
+        Assert.assertEquals(BindingExpression.python(), classifyExpression("${get_sp('a.b.c.key\")}"));
+    }
+
+    @Test
+    public void testClassifyPython() throws Exception {
+        Assert.assertEquals(BindingExpression.python(), classifyExpression("${var + 'abc'}"));
+        Assert.assertEquals(BindingExpression.python(), classifyExpression("${get('var')}"));
+    }
 }
@@ -11,6 +11,9 @@ package io.cloudslang.lang.runtime.bindings;
 
 import io.cloudslang.lang.entities.LoopStatement;
 import io.cloudslang.lang.entities.MapLoopStatement;
+import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.BindingExpression;
+import io.cloudslang.lang.entities.bindings.InOutParam;
 import io.cloudslang.lang.entities.bindings.prompt.Prompt;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
@@ -105,6 +108,92 @@ public class AbstractBinding {
         return values;
     }
 
+    /**
+     * @return the expression of the binding value, null when the value is not an expression
+     */
+    protected static String getExpressionToEvaluate(InOutParam binding) {
+        BindingExpression valueExpression = binding.getValueExpression();
+        if (valueExpression != null) {
+            switch (valueExpression.getType()) {
+                case LITERAL:
+                    return null;
+                case VARIABLE_REFERENCE:
+                    return valueExpression.getReference();
+                default:
+                    break;
+            }
+        }
+        Value rawValue = binding.getValue();
+        return extractExpression(rawValue == null ? null : rawValue.get());
+    }
+
+    /**
+     * Resolves a variable reference or a system property in Java, the way Python would evaluate it.
+     *
+     * @param valueExpression  how the binding value is resolved, may be null
+     * @param systemProperties the system properties of the execution
+     * @param contexts         the contexts to look the variable up in, the first one that has it wins
+     * @return the value, or empty when the expression has to be evaluated by Python
+     */
+    @SafeVarargs
+    protected static Optional<Value> tryResolveDirectly(BindingExpression valueExpression,
+                                                        Set<SystemProperty> systemProperties,
+                                                        Map<String, ? extends Value>... contexts) {
+        if (valueExpression == null) {
+            return Optional.empty();
+        }
+        String reference = valueExpression.getReference();
+        switch (valueExpression.getType()) {
+            case VARIABLE_REFERENCE:
+                for (Map<String, ? extends Value> context : contexts) {
+                    if (context != null && context.containsKey(reference)) {
+                        return copyScalarValue(context.get(reference));
+                    }
+                }
+                // a missing variable fails the same way as in Python
+                return Optional.empty();
+            case SYSTEM_PROPERTY:
+                if (systemProperties == null) {
+                    return Optional.empty();
+                }
+                for (SystemProperty systemProperty : systemProperties) {
+                    if (reference.equals(systemProperty.getFullyQualifiedName())) {
+                        return copyScalarValue(systemProperty.getValue());
+                    }
+                }
+                return Optional.of(ValueFactory.create(null));
+            default:
+                return Optional.empty();
+        }
+    }
+
+    /**
+     * Only values that Python gives back unchanged are copied, the others are evaluated as before.
+     */
+    private static Optional<Value> copyScalarValue(Value value) {
+        Serializable content = value == null ? null : value.get();
+        if (content instanceof String || content instanceof Boolean || content instanceof Integer) {
+            return Optional.of(ValueFactory.create(content, value.isSensitive()));
+        }
+        return Optional.empty();
+    }
+
+    protected Optional<Value> tryEvaluateExpression(InOutParam binding,
+                                                    EvaluationContextHolder evaluationContextHolder) {
+        String expressionToEvaluate = getExpressionToEvaluate(binding);
+        if (expressionToEvaluate == null) {
+            return Optional.empty();
+        }
+        Optional<Value> directValue = evaluationContextHolder.tryResolveDirectly(binding.getValueExpression());
+        if (directValue.isPresent()) {
+            return directValue;
+        }
+        return Optional.of(scriptEvaluator.evalExpr(expressionToEvaluate,
+                evaluationContextHolder.createEvaluationContext(),
+                evaluationContextHolder.getSystemProperties(),
+                evaluationContextHolder.getFunctionDependencies()));
+    }
+
     protected Optional<Value> tryEvaluateExpression(Serializable expression,
                                                     EvaluationContextHolder evaluationContextHolder) {
         String expressionToEvaluate = extractExpression(expression);
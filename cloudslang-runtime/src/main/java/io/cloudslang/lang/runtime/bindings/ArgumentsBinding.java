@@ -16,7 +16,7 @@ import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.runtime.steps.ReadOnlyContextAccessor;
 import org.springframework.stereotype.Component;
 
-import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -50,24 +50,39 @@ public class ArgumentsBinding extends AbstractBinding {
             List<Argument> arguments,
             ReadOnlyContextAccessor contextAccessor,
             Set<SystemProperty> systemProperties) {
+        return bindArguments(arguments, contextAccessor, systemProperties, new ArrayList<>());
+    }
+
+    /**
+     * Binds the arguments and adds the ones whose value was evaluated as an expression to
+     * {@code expressionArguments}. The arguments themselves are shared between executions and are not modified.
+     */
+    public Map<String, Value> bindArguments(
+            List<Argument> arguments,
+            ReadOnlyContextAccessor contextAccessor,
+            Set<SystemProperty> systemProperties,
+            List<Argument> expressionArguments) {
         Map<String, Value> resultContext = new HashMap<>();
 
         //we do not want to change original context map
         Map<String, Value> srcContext = contextAccessor.getMergedContexts();
 
         for (Argument argument : arguments) {
-            bindArgument(argument, srcContext, systemProperties, resultContext);
+            if (bindArgument(argument, srcContext, systemProperties, resultContext)) {
+                expressionArguments.add(argument);
+            }
         }
 
         return resultContext;
     }
 
-    private void bindArgument(
+    private boolean bindArgument(
             Argument argument,
             Map<String, ? extends Value> srcContext,
             Set<SystemProperty> systemProperties,
             Map<String, Value> targetContext) {
         Value inputValue;
+        boolean expression = false;
         String inputName = argument.getName();
         String errorMessagePrefix = "Error binding step input: '" + inputName;
 
@@ -83,16 +98,12 @@ public class ArgumentsBinding extends AbstractBinding {
                             argument.getFunctionDependencies());
 
             if (argument.isPrivateArgument()) {
-                Value rawValue = argument.getValue();
-
-                Serializable expression = rawValue == null ? null : rawValue.get();
-
-                Optional<Value> value = tryEvaluateExpression(expression, evaluationContextHolder);
+                Optional<Value> value = tryEvaluateExpression(argument, evaluationContextHolder);
                 if (value.isPresent()) {
                     inputValue = value.get();
-                    argument.setExpression(true);
+                    expression = true;
                 } else {
-                    inputValue = rawValue;
+                    inputValue = argument.getValue();
                 }
             }
 
@@ -106,6 +117,7 @@ public class ArgumentsBinding extends AbstractBinding {
         }
         validateStringValue(errorMessagePrefix, inputValue);
         targetContext.put(inputName, inputValue);
+        return expression;
     }
 
 
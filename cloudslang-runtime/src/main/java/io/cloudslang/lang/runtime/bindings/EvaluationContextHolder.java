@@ -10,14 +10,18 @@
 package io.cloudslang.lang.runtime.bindings;
 
 import io.cloudslang.lang.entities.SystemProperty;
+import io.cloudslang.lang.entities.bindings.BindingExpression;
 import io.cloudslang.lang.entities.bindings.ScriptFunction;
 import io.cloudslang.lang.entities.bindings.values.Value;
 
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
+import static java.util.Collections.singletonMap;
+
 //param object for expression evaluation
 final class EvaluationContextHolder {
     private final Map<String, ? extends Value> srcContext;
@@ -58,6 +62,15 @@ final class EvaluationContextHolder {
         return evaluationContext;
     }
 
+    /**
+     * @return the value resolved in Java from the same variables the evaluation context has, or empty when the
+     *     expression has to be evaluated by Python
+     */
+    public Optional<Value> tryResolveDirectly(BindingExpression valueExpression) {
+        return AbstractBinding.tryResolveDirectly(valueExpression, systemProperties,
+                targetContext, singletonMap(inputName, inputValue), srcContext);
+    }
+
     public EvaluationContextHolder overrideInputValue(Value value) {
         return new EvaluationContextHolder(srcContext,
                 targetContext,
@@ -24,7 +24,6 @@ import io.cloudslang.lang.entities.bindings.Input;
 import io.cloudslang.lang.entities.bindings.prompt.Prompt;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
-import io.cloudslang.lang.entities.utils.ExpressionUtils;
 import org.apache.commons.lang.Validate;
 import org.springframework.stereotype.Component;
 
@@ -32,6 +31,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import static java.util.Collections.emptyMap;
@@ -158,8 +158,12 @@ public class InputsBinding extends AbstractBinding {
 
         if (isEmpty(value)) {
             Value rawValue = input.getValue();
-            String expressionToEvaluate = ExpressionUtils.extractExpression(rawValue == null ? null : rawValue.get());
-            if (expressionToEvaluate != null) {
+            String expressionToEvaluate = getExpressionToEvaluate(input);
+            Optional<Value> directValue = expressionToEvaluate == null ? Optional.empty() :
+                    tryResolveDirectly(input.getValueExpression(), systemProperties, targetContext, context);
+            if (directValue.isPresent()) {
+                value = ValueFactory.create(directValue.get(), sensitive);
+            } else if (expressionToEvaluate != null) {
                 // we do not want to change original context map
                 Map<String, Value> scriptContext = new HashMap<>(context);
                 if (context.containsKey(inputName)) {
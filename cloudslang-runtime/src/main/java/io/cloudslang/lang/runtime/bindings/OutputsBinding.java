@@ -21,8 +21,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import static io.cloudslang.lang.entities.utils.ExpressionUtils.extractExpression;
-
 /**
  * Date: 11/7/2014
  *
@@ -45,14 +43,15 @@ public class OutputsBinding extends AbstractBinding {
                 String errorMessagePrefix = "Binding output: '" + output.getName() + " failed";
                 Value rawValue = output.getValue();
                 Value valueToAssign = rawValue;
-                String expressionToEvaluate = extractExpression(rawValue == null ? null : rawValue.get());
+                String expressionToEvaluate = getExpressionToEvaluate(output);
                 if (expressionToEvaluate != null) {
                     // initialize with null value if key does not exist
                     context.put(outputKey, context.get(outputKey));
                     try {
                         //evaluate expression
-                        Value value = scriptEvaluator.evalExpr(expressionToEvaluate, context,
-                                systemProperties, output.getFunctionDependencies());
+                        Value value = tryResolveDirectly(output.getValueExpression(), systemProperties, context)
+                                .orElseGet(() -> scriptEvaluator.evalExpr(expressionToEvaluate, context,
+                                        systemProperties, output.getFunctionDependencies()));
                         valueToAssign = ValueFactory.create(value, rawValue != null && rawValue.isSensitive());
                     } catch (Exception exc) {
                         throw new RuntimeException(errorMessagePrefix + "',\n\t" + exc.getMessage(), exc);
@@ -14,7 +14,6 @@ import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.Result;
 import io.cloudslang.lang.entities.bindings.values.Value;
-import io.cloudslang.lang.entities.utils.ExpressionUtils;
 import io.cloudslang.lang.entities.utils.MapUtils;
 import io.cloudslang.lang.entities.utils.ResultUtils;
 import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
@@ -90,7 +89,7 @@ public class ResultsBinding {
 
             Serializable rawValue = result.getValue().get();
             if (rawValue instanceof String) {
-                String expression = ExpressionUtils.extractExpression(rawValue);
+                String expression = AbstractBinding.getExpressionToEvaluate(result);
                 if (expression == null) {
                     throw new RuntimeException(
                             "Error resolving the result. The expression: '" + rawValue + "' is not valid." +
@@ -98,11 +97,13 @@ public class ResultsBinding {
                                     " expression " + ScoreLangConstants.EXPRESSION_END_DELIMITER);
                 }
 
-                Map<String, Value> scriptContext = MapUtils.mergeMaps(inputs, context);
-
                 try {
-                    Value expressionResult = scriptEvaluator.evalExpr(expression, scriptContext, systemProperties,
-                            result.getFunctionDependencies());
+                    Value expressionResult = AbstractBinding.tryResolveDirectly(result.getValueExpression(),
+                            systemProperties, context, inputs)
+                            .filter(value -> value.get() instanceof Boolean)
+                            .orElseGet(() -> scriptEvaluator.evalExpr(expression,
+                                    MapUtils.mergeMaps(inputs, context), systemProperties,
+                                    result.getFunctionDependencies()));
                     Boolean evaluatedResult;
                     if (expressionResult.get() instanceof Integer) {
                         evaluatedResult = (Integer) expressionResult.get() != 0;
@@ -45,6 +45,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -134,9 +135,10 @@ public class StepExecutionData extends AbstractExecutionData {
             ReadOnlyContextAccessor contextAccessor = new ReadOnlyContextAccessor(
                     flowVariables,
                     flowContext.getImmutableViewOfMagicVariables());
+            List<Argument> expressionArguments = new ArrayList<>();
             Map<String, Value> boundInputs = argumentsBinding
                     .bindArguments(stepInputs, contextAccessor,
-                            runEnv.getSystemProperties());
+                            runEnv.getSystemProperties(), expressionArguments);
 
             sendEndBindingArgumentsEvent(
                     stepInputs,
@@ -147,8 +149,7 @@ public class StepExecutionData extends AbstractExecutionData {
                     nodeName,
                     flowVariables
             );
-            runEnv.setModifiedArguments(stepInputs.stream().filter(Argument::isExpression)
-                    .collect(Collectors.toList()));
+            runEnv.setModifiedArguments(expressionArguments);
             updateCallArgumentsAndPushContextToStack(
                     runEnv,
                     flowContext,
@@ -22,6 +22,7 @@ import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
 import io.cloudslang.lang.runtime.services.ScriptsService;
+import io.cloudslang.lang.runtime.steps.ReadOnlyContextAccessor;
 import io.cloudslang.runtime.api.python.PythonRuntimeService;
 import io.cloudslang.runtime.impl.python.PythonExecutionCachedEngine;
 import io.cloudslang.runtime.impl.python.PythonExecutionEngine;
@@ -42,6 +43,7 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -123,6 +125,23 @@ public class ArgumentsBindingTest {
         Assert.assertEquals("value", result.get("argument1").get());
     }
 
+    @Test
+    public void testExpressionArgumentsAreCollected() {
+        Argument expressionArgument = new Argument("argument1", ValueFactory.create("${ 'value' }"));
+        Argument fromContextArgument = new Argument("argument2");
+        List<Argument> arguments = Arrays.asList(expressionArgument, fromContextArgument);
+        Map<String, Value> context = new HashMap<>();
+        context.put("argument2", ValueFactory.create("value2"));
+
+        List<Argument> expressionArguments = new ArrayList<>();
+        Map<String, Value> result = argumentsBinding.bindArguments(arguments,
+                new ReadOnlyContextAccessor(context), EMPTY_SET, expressionArguments);
+
+        Assert.assertEquals("value", result.get("argument1").get());
+        Assert.assertEquals("value2", result.get("argument2").get());
+        Assert.assertEquals(Collections.singletonList(expressionArgument), expressionArguments);
+    }
+
     @Ignore("Remove when types are supported")
     @Test
     public void testDefaultValueInt() {
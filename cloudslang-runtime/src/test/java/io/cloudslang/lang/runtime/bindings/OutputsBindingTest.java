@@ -15,6 +15,7 @@ import io.cloudslang.dependency.impl.services.DependencyServiceImpl;
 import io.cloudslang.dependency.impl.services.MavenConfigImpl;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
@@ -48,6 +49,13 @@ import java.util.Set;
 import java.util.concurrent.Semaphore;
 
 import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.anySetOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 /**
  * Date: 11/7/2014
@@ -68,6 +76,9 @@ public class OutputsBindingTest {
     @Autowired
     private OutputsBinding outputsBinding;
 
+    @Autowired
+    private ScriptEvaluator scriptEvaluator;
+
     @Test(timeout = DEFAULT_TIMEOUT)
     public void testOperationEmptyOutputs() {
         Map<String, Value> operationContext = new HashMap<>();
@@ -199,6 +210,28 @@ public class OutputsBindingTest {
         Assert.assertEquals("Binding results are not as expected", expectedOutputs, result);
     }
 
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void testVariableAndSystemPropertyOutputsAreResolvedWithoutPython() {
+        reset(scriptEvaluator);
+        Map<String, Value> operationContext = prepareOperationContext();
+        Map<String, Value> actionReturnValues = prepareActionReturnValues();
+        List<Output> outputs = Arrays.asList(createNoExpressionOutput("host1"),
+                createExpressionOutput("port_number", "${port}"),
+                createExpressionOutput("proxy", "${ get_sp('a.b.proxy') }"));
+        Set<SystemProperty> systemProperties = Collections.singleton(new SystemProperty("a.b", "proxy", "proxy1"));
+
+        final Map<String, Value> result = outputsBinding.bindOutputs(
+                new ReadOnlyContextAccessor(operationContext, actionReturnValues), systemProperties, outputs);
+
+        Map<String, Value> expectedOutputs = new HashMap<>();
+        expectedOutputs.put("host1", ValueFactory.create("valueHost1"));
+        expectedOutputs.put("port_number", ValueFactory.create(9999));
+        expectedOutputs.put("proxy", ValueFactory.create("proxy1"));
+        Assert.assertEquals("Binding results are not as expected", expectedOutputs, result);
+        verify(scriptEvaluator, never()).evalExpr(anyString(), anyMapOf(String.class, Value.class),
+                anySetOf(SystemProperty.class), anySetOf(ScriptFunction.class));
+    }
+
     private Map<String, Value> prepareOperationContext() {
         Map<String, Value> operationContext = new HashMap<>();
         operationContext.put("operationContextKey1", ValueFactory.create("opContextValue1"));
@@ -235,7 +268,7 @@ public class OutputsBindingTest {
 
         @Bean
         public ScriptEvaluator scriptEvaluator() {
-            return new ScriptEvaluator();
+            return spy(new ScriptEvaluator());
         }
 
         @Bean
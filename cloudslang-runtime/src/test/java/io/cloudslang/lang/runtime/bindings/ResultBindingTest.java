@@ -17,6 +17,7 @@ import io.cloudslang.dependency.impl.services.MavenConfigImpl;
 import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.Result;
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.runtime.bindings.scripts.ScriptEvaluator;
@@ -45,6 +46,13 @@ import java.util.Set;
 import java.util.concurrent.Semaphore;
 
 import static java.util.Arrays.asList;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.anySetOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 /**
  * User: stoneo
@@ -64,6 +72,9 @@ public class ResultBindingTest {
     @Autowired
     private ResultsBinding resultsBinding;
 
+    @Autowired
+    private ScriptEvaluator scriptEvaluator;
+
     @Test
     public void testPrimitiveBooleanFirstResult() throws Exception {
         List<Result> results = asList(
@@ -104,6 +115,24 @@ public class ResultBindingTest {
         Assert.assertEquals(ScoreLangConstants.FAILURE_RESULT, result);
     }
 
+    @Test
+    public void testBooleanVariableResultIsResolvedWithoutPython() throws Exception {
+        reset(scriptEvaluator);
+        List<Result> results = asList(
+                createResult(ScoreLangConstants.SUCCESS_RESULT, ValueFactory.create("${ deployed }")),
+                createResult(ScoreLangConstants.FAILURE_RESULT, ValueFactory.create(true)));
+        HashMap<String, Value> context = new HashMap<>();
+        context.put("deployed", ValueFactory.create(false));
+        HashMap<String, Value> inputs = new HashMap<>();
+        inputs.put("deployed", ValueFactory.create(true));
+
+        String result = resultsBinding.resolveResult(inputs, context, EMPTY_SET, results, null);
+
+        Assert.assertEquals(ScoreLangConstants.FAILURE_RESULT, result);
+        verify(scriptEvaluator, never()).evalExpr(anyString(), anyMapOf(String.class, Value.class),
+                anySetOf(SystemProperty.class), anySetOf(ScriptFunction.class));
+    }
+
     @Test
     public void testBindInputFirstResult() throws Exception {
         List<Result> results = asList(
@@ -212,7 +241,7 @@ public class ResultBindingTest {
 
         @Bean
         public ScriptEvaluator scriptEvaluator() {
-            return new ScriptEvaluator();
+            return spy(new ScriptEvaluator());
         }
 
         @Bean